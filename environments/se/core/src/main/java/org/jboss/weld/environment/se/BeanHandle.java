@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se;
+
+import java.util.function.Supplier;
+
+import jakarta.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.inject.WeldInstance;
+
+/**
+ * A prebound handle for a bean with a given required type and qualifiers, obtained via {@link WeldContainer#handle(Class, java.lang.annotation.Annotation...)}.
+ * The bean is resolved when the handle is created. The handle is thread-safe and is meant to be stored and reused, e.g. if the container is used as a service
+ * locator on a hot path:
+ *
+ * <pre>
+ * BeanHandle&lt;Foo&gt; foo = container.handle(Foo.class);
+ * ...
+ * foo.get().ping();
+ * </pre>
+ *
+ * <p>
+ * If the bean has a normal scope, the client proxy is obtained once and every invocation of {@link #get()} returns the same reference. Otherwise, a new
+ * contextual reference is obtained every time, just like with {@link jakarta.enterprise.inject.Instance#get()}, and {@link #destroy(Object)} should be used
+ * to destroy a dependent instance which is no longer needed.
+ * </p>
+ *
+ * <p>
+ * A handle is invalidated when the container is shut down.
+ * </p>
+ *
+ * @param <T> the required type
+ * @see WeldContainer#handle(Class, java.lang.annotation.Annotation...)
+ */
+public final class BeanHandle<T> implements Supplier<T> {
+
+    private final WeldContainer container;
+
+    private final WeldInstance<T> instance;
+
+    private final Bean<T> bean;
+
+    // null if the contextual reference is not a client proxy
+    private final T clientProxy;
+
+    BeanHandle(WeldContainer container, WeldInstance<T> instance, Bean<T> bean, boolean proxyRequired) {
+        this.container = container;
+        this.instance = instance;
+        this.bean = bean;
+        this.clientProxy = proxyRequired ? instance.get() : null;
+    }
+
+    /**
+     *
+     * @return the contextual reference
+     * @throws IllegalStateException if the container is already shut down
+     */
+    @Override
+    public T get() {
+        container.checkHandleValid();
+        T proxy = clientProxy;
+        return proxy != null ? proxy : instance.get();
+    }
+
+    /**
+     * Destroys the given contextual reference obtained from this handle.
+     *
+     * @param reference
+     * @see jakarta.enterprise.inject.Instance#destroy(Object)
+     */
+    public void destroy(T reference) {
+        container.checkHandleValid();
+        instance.destroy(reference);
+    }
+
+    /**
+     *
+     * @return the resolved bean
+     */
+    public Bean<T> getBean() {
+        return bean;
+    }
+
+    /**
+     *
+     * @return <code>true</code> if the container the handle was obtained from is not shut down yet, <code>false</code> otherwise
+     */
+    public boolean isValid() {
+        return container.isHandleValid();
+    }
+
+    @Override
+    public String toString() {
+        return "BeanHandle for " + bean;
+    }
+
+}
@@ -16,9 +16,13 @@
  */
 package org.jboss.weld.environment.se;
 
+import java.lang.annotation.Annotation;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
 import jakarta.enterprise.context.BeforeDestroyed;
 import jakarta.enterprise.context.Destroyed;
@@ -30,24 +34,30 @@ import jakarta.enterprise.inject.Any;
 import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.Vetoed;
 import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.util.TypeLiteral;
 
 import org.jboss.weld.AbstractCDI;
 import org.jboss.weld.Container;
 import org.jboss.weld.ContainerState;
 import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.bean.proxy.ProxyWarmup;
 import org.jboss.weld.bootstrap.api.Bootstrap;
 import org.jboss.weld.bootstrap.api.Environment;
 import org.jboss.weld.bootstrap.api.Singleton;
 import org.jboss.weld.bootstrap.api.SingletonProvider;
 import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
 import org.jboss.weld.bootstrap.spi.Deployment;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.contexts.ContextSnapshot;
 import org.jboss.weld.environment.ContainerInstance;
 import org.jboss.weld.environment.deployment.WeldDeployment;
 import org.jboss.weld.environment.se.events.ContainerBeforeShutdown;
 import org.jboss.weld.environment.se.events.ContainerInitialized;
 import org.jboss.weld.environment.se.events.ContainerShutdown;
 import org.jboss.weld.environment.se.logging.WeldSELogger;
+import org.jboss.weld.environment.se.threading.ContextPropagatingExecutor;
 import org.jboss.weld.events.WeldEvent;
 import org.jboss.weld.inject.WeldInstance;
 import org.jboss.weld.manager.BeanManagerImpl;
@@ -216,6 +226,9 @@ public class WeldContainer extends AbstractCDI<Object> implements AutoCloseable,
 
     private volatile BeanManagerImpl beanManager;
 
+    // Set once the shutdown is initiated, invalidates all the bean handles
+    private volatile boolean shutdownInitiated;
+
     /**
      *
      * @param id
@@ -277,6 +290,81 @@ public class WeldContainer extends AbstractCDI<Object> implements AutoCloseable,
         return event;
     }
 
+    /**
+     * Returns a handle for the bean with the given required type and qualifiers. The bean is resolved once, subsequent invocations of
+     * {@link BeanHandle#get()} do not perform any lookup. For example:
+     *
+     * <code>
+     * BeanHandle&lt;Foo&gt; foo = weldContainer.handle(Foo.class);
+     * foo.get().ping();
+     * </code>
+     *
+     * @param type the required type
+     * @param qualifiers the required qualifiers
+     * @return the handle
+     * @throws jakarta.enterprise.inject.UnsatisfiedResolutionException if there is no bean with the given required type and qualifiers
+     * @throws jakarta.enterprise.inject.AmbiguousResolutionException if there is more than one bean with the given required type and qualifiers
+     * @see BeanHandle
+     */
+    public <T> BeanHandle<T> handle(Class<T> type, Annotation... qualifiers) {
+        checkState();
+        return createHandle(getInstance().select(type, qualifiers));
+    }
+
+    /**
+     * Returns a handle for the bean with the given required type and qualifiers.
+     *
+     * @param type the required type
+     * @param qualifiers the required qualifiers
+     * @return the handle
+     * @see #handle(Class, Annotation...)
+     */
+    public <T> BeanHandle<T> handle(TypeLiteral<T> type, Annotation... qualifiers) {
+        checkState();
+        return createHandle(getInstance().select(type, qualifiers));
+    }
+
+    private <T> BeanHandle<T> createHandle(WeldInstance<T> instance) {
+        // Throws an exception if the bean is unsatisfied or ambiguous
+        Bean<T> bean = instance.getHandle().getBean();
+        return new BeanHandle<>(this, instance, bean, beanManager().isProxyRequired(bean));
+    }
+
+    /**
+     * Captures the request, session and conversation contexts active on the current thread. The snapshot may be activated on another thread, e.g. by a task
+     * submitted to an executor:
+     *
+     * <code>
+     * ContextSnapshot snapshot = weldContainer.captureContexts();
+     * executor.submit(snapshot.wrap(() -&gt; requestScopedBean.ping()));
+     * </code>
+     *
+     * @return the snapshot
+     * @see ContextSnapshot
+     */
+    public ContextSnapshot captureContexts() {
+        checkState();
+        return ContextSnapshot.capture(beanManager());
+    }
+
+    /**
+     * Returns an executor which propagates the request, session and conversation contexts active on the submitting thread to the submitted tasks. For
+     * example:
+     *
+     * <code>
+     * Executor executor = weldContainer.propagateContexts(ForkJoinPool.commonPool());
+     * CompletableFuture.supplyAsync(() -&gt; requestScopedBean.load(), executor).thenApplyAsync(requestScopedBean::transform, executor);
+     * </code>
+     *
+     * @param executor the executor which executes the tasks
+     * @return the context propagating executor
+     * @see #captureContexts()
+     */
+    public Executor propagateContexts(Executor executor) {
+        checkState();
+        return new ContextPropagatingExecutor(beanManager(), executor);
+    }
+
     /**
      * Weld containers must have a unique identifier assigned when there are multiple Weld instances running at once.
      *
@@ -294,6 +382,22 @@ public class WeldContainer extends AbstractCDI<Object> implements AutoCloseable,
         return new BeanManagerProxy(beanManager());
     }
 
+    /**
+     * If {@link ConfigurationKey#PROXY_PREGENERATION} is enabled the proxy classes are generated in the background after the container is initialized. The
+     * returned stage may be used to wait for the warm-up, e.g. before the application starts to accept requests:
+     *
+     * <code>
+     * weldContainer.proxyWarmup().toCompletableFuture().join();
+     * </code>
+     *
+     * @return the stage completed once the background generation finishes, a completed stage if the proxy classes are not generated in the background
+     */
+    public CompletionStage<Void> proxyWarmup() {
+        checkIsRunning();
+        ProxyWarmup proxyWarmup = beanManager().getServices().get(ProxyWarmup.class);
+        return proxyWarmup != null ? proxyWarmup.getCompletion() : CompletableFuture.completedFuture(null);
+    }
+
     /**
      * Shutdown the container.
      *
@@ -310,6 +414,7 @@ public class WeldContainer extends AbstractCDI<Object> implements AutoCloseable,
             // followed up by BeforeDestroyed for app scope
             beanManager().getEvent().select(ContainerBeforeShutdown.class, BeforeDestroyed.Literal.APPLICATION).fire(new ContainerBeforeShutdown(id));
         } finally {
+            shutdownInitiated = true;
             discard(id);
             // Destroy all the dependent beans correctly
             creationalContext.release();
@@ -369,6 +474,16 @@ public class WeldContainer extends AbstractCDI<Object> implements AutoCloseable,
         checkIsRunning();
     }
 
+    boolean isHandleValid() {
+        return !shutdownInitiated;
+    }
+
+    void checkHandleValid() {
+        if (shutdownInitiated) {
+            throw WeldSELogger.LOG.weldContainerAlreadyShutDown(id);
+        }
+    }
+
     private void checkDeploymentValidated() {
         ContainerState state = Container.instance(id).getState();
         if (state.compareTo(ContainerState.VALIDATED) < 0) {
@@ -27,10 +27,13 @@ import jakarta.inject.Singleton;
 
 import org.jboss.weld.bean.builtin.BeanManagerProxy;
 import org.jboss.weld.bootstrap.events.AbstractContainerEvent;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.environment.se.beans.ParametersFactory;
 import org.jboss.weld.environment.se.contexts.ThreadContext;
 import org.jboss.weld.environment.se.contexts.activators.ActivateThreadScopeInterceptor;
 import org.jboss.weld.environment.se.threading.RunnableDecorator;
+import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.annotated.VetoedSuppressedAnnotatedType;
 
 /**
@@ -58,9 +61,11 @@ public class WeldSEBeanRegistrant implements Extension {
             return;
         }
 
-        final String contextId = BeanManagerProxy.unwrap(manager).getContextId();
+        final BeanManagerImpl beanManager = BeanManagerProxy.unwrap(manager);
+        final String contextId = beanManager.getContextId();
 
-        this.threadContext = new ThreadContext(contextId);
+        this.threadContext = new ThreadContext(contextId,
+                beanManager.getServices().get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.CONTEXT_THREAD_BEAN_STORE_REUSE));
         event.addContext(threadContext);
 
         // Register WeldContainer as a singleton
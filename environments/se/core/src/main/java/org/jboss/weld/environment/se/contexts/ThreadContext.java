@@ -18,22 +18,44 @@
 package org.jboss.weld.environment.se.contexts;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 
 import org.jboss.weld.bootstrap.api.helpers.RegistrySingletonProvider;
+import org.jboss.weld.config.ConfigurationKey;
 import org.jboss.weld.contexts.AbstractUnboundContext;
 import org.jboss.weld.contexts.beanstore.HashMapBeanStore;
 
 /**
  * The thread context. Works with @ThreadScoped beans, maintaining a separate
  * context for each thread.
+ * <p>
+ * If {@link ConfigurationKey#CONTEXT_THREAD_BEAN_STORE_REUSE} is enabled, the bean store of a platform thread is not discarded when the context is
+ * destroyed. Instead, the instances are destroyed and the empty bean store is reused by the next activation on the same thread, which suits pooled worker
+ * threads running many short tasks. A virtual thread is not pooled and so it always gets a new, minimal bean store.
+ * </p>
  *
  * @author Nicklas Karlsson
  * @author Peter Royle
  */
 public class ThreadContext extends AbstractUnboundContext {
 
-    public ThreadContext(String contextId) {
+    private static final int VIRTUAL_THREAD_BEAN_STORE_CAPACITY = 2;
+
+    // Thread.isVirtual() is only available on JDK 21+
+    private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+    // null if bean stores are not reused
+    private final ThreadLocal<HashMapBeanStore> recycledBeanStore;
+
+    public ThreadContext(String contextId, boolean reuseBeanStore) {
         super(contextId, false);
+        this.recycledBeanStore = reuseBeanStore ? new ThreadLocal<>() : null;
+    }
+
+    public ThreadContext(String contextId) {
+        this(contextId, false);
     }
 
     public ThreadContext() {
@@ -48,7 +70,43 @@ public class ThreadContext extends AbstractUnboundContext {
     @Override
     public void activate() {
         super.activate();
-        setBeanStore(new HashMapBeanStore());
+        setBeanStore(newBeanStore());
+    }
+
+    private HashMapBeanStore newBeanStore() {
+        if (recycledBeanStore == null) {
+            return new HashMapBeanStore();
+        }
+        if (isVirtual(Thread.currentThread())) {
+            // Virtual threads are not pooled - a thread local cache would only retain memory
+            return new HashMapBeanStore(VIRTUAL_THREAD_BEAN_STORE_CAPACITY);
+        }
+        HashMapBeanStore beanStore = recycledBeanStore.get();
+        // A bean store still holding instances belongs to a context which was deactivated without being destroyed
+        if (beanStore == null || !beanStore.delegate().isEmpty()) {
+            beanStore = new HashMapBeanStore();
+            recycledBeanStore.set(beanStore);
+        }
+        return beanStore;
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle findIsVirtual() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
     }
 
 }
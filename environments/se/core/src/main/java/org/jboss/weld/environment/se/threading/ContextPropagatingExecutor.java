@@ -0,0 +1,54 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.threading;
+
+import java.util.concurrent.Executor;
+
+import org.jboss.weld.contexts.ContextSnapshot;
+import org.jboss.weld.manager.BeanManagerImpl;
+
+/**
+ * An {@link Executor} which captures the request, session and conversation contexts active on the submitting thread and activates them while the task is
+ * executed. The contexts are captured for every submitted task, i.e. a task which submits another task, e.g. a stage of a
+ * {@link java.util.concurrent.CompletableFuture} pipeline, propagates the same contexts further.
+ *
+ * @see ContextSnapshot
+ * @see org.jboss.weld.environment.se.WeldContainer#propagateContexts(Executor)
+ */
+public final class ContextPropagatingExecutor implements Executor {
+
+    private final BeanManagerImpl beanManager;
+
+    private final Executor delegate;
+
+    public ContextPropagatingExecutor(BeanManagerImpl beanManager, Executor delegate) {
+        this.beanManager = beanManager;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        ContextSnapshot snapshot = ContextSnapshot.capture(beanManager);
+        delegate.execute(snapshot.isEmpty() ? command : snapshot.wrap(command));
+    }
+
+    @Override
+    public String toString() {
+        return "ContextPropagatingExecutor [delegate=" + delegate + "]";
+    }
+
+}
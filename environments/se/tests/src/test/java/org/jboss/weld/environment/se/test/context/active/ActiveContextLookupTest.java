@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.context.active;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.context.control.RequestContextController;
+import jakarta.enterprise.inject.spi.BeanManager;
+
+import org.jboss.arquillian.container.se.api.ClassPath;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.context.bound.BoundRequestContext;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests the lookup of the context active on the current thread, see {@link org.jboss.weld.contexts.ActiveContexts}.
+ */
+@RunWith(Arquillian.class)
+public class ActiveContextLookupTest {
+
+    @Deployment
+    public static Archive<?> createTestArchive() {
+        return ClassPath.builder().add(ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(ActiveContextLookupTest.class))
+                .addPackage(ActiveContextLookupTest.class.getPackage())).build();
+    }
+
+    @Test
+    public void testActivation() throws InterruptedException {
+        try (WeldContainer container = new Weld().initialize()) {
+            BeanManager beanManager = container.getBeanManager();
+            RequestContextController controller = container.select(RequestContextController.class).get();
+            Assert.assertFalse(beanManager.isContextActive(RequestScoped.class));
+            Assert.assertTrue(beanManager.isContextActive(ApplicationScoped.class));
+            controller.activate();
+            try {
+                Assert.assertTrue(beanManager.isContextActive(RequestScoped.class));
+                Assert.assertTrue(beanManager.getContext(RequestScoped.class).isActive());
+                RequestData data = container.select(RequestData.class).get();
+                data.setValue("foo");
+                Assert.assertEquals("foo", data.getValue());
+                // Not active on another thread
+                AtomicBoolean active = new AtomicBoolean(true);
+                Thread thread = new Thread(() -> active.set(beanManager.isContextActive(RequestScoped.class)));
+                thread.start();
+                thread.join();
+                Assert.assertFalse(active.get());
+            } finally {
+                controller.deactivate();
+            }
+            Assert.assertFalse(beanManager.isContextActive(RequestScoped.class));
+        }
+    }
+
+    @Test
+    public void testDuplicateActiveContexts() {
+        try (WeldContainer container = new Weld().initialize()) {
+            BeanManager beanManager = container.getBeanManager();
+            RequestContextController controller = container.select(RequestContextController.class).get();
+            BoundRequestContext boundRequestContext = container.select(BoundRequestContext.class).get();
+            Map<String, Object> storage = new HashMap<>();
+            controller.activate();
+            try {
+                boundRequestContext.associate(storage);
+                boundRequestContext.activate();
+                try {
+                    beanManager.getContext(RequestScoped.class);
+                    Assert.fail();
+                } catch (IllegalStateException expected) {
+                }
+                boundRequestContext.invalidate();
+                boundRequestContext.deactivate();
+                boundRequestContext.dissociate(storage);
+                // Only the unbound request context is active now
+                Assert.assertTrue(beanManager.getContext(RequestScoped.class).isActive());
+            } finally {
+                controller.deactivate();
+            }
+            Assert.assertFalse(beanManager.isContextActive(RequestScoped.class));
+        }
+    }
+
+}
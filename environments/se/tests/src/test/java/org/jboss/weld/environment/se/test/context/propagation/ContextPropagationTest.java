@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.context.propagation;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.context.control.RequestContextController;
+
+import org.jboss.arquillian.container.se.api.ClassPath;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.contexts.ContextSnapshot;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests that the request context activated on the current thread is propagated to tasks executed by another thread.
+ */
+@RunWith(Arquillian.class)
+public class ContextPropagationTest {
+
+    @Deployment
+    public static Archive<?> createTestArchive() {
+        return ClassPath.builder().add(ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(ContextPropagationTest.class))
+                .addPackage(ContextPropagationTest.class.getPackage())).build();
+    }
+
+    @Test
+    public void testSnapshotWrap() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (WeldContainer container = new Weld().initialize()) {
+            RequestContextController controller = container.select(RequestContextController.class).get();
+            RequestData data = container.select(RequestData.class).get();
+            controller.activate();
+            try {
+                data.setValue("foo");
+                ContextSnapshot snapshot = container.captureContexts();
+                Assert.assertFalse(snapshot.isEmpty());
+                Assert.assertEquals("foo", executor.submit(snapshot.wrap(data::getValue)).get());
+                // The snapshot is not active on the executor thread anymore
+                Assert.assertFalse(executor.submit(() -> container.getBeanManager().isContextActive(RequestScoped.class)).get());
+            } finally {
+                controller.deactivate();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testPropagatingExecutor() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try (WeldContainer container = new Weld().initialize()) {
+            Executor executor = container.propagateContexts(executorService);
+            RequestContextController controller = container.select(RequestContextController.class).get();
+            RequestData data = container.select(RequestData.class).get();
+            controller.activate();
+            try {
+                data.setValue("foo");
+                String result = CompletableFuture.supplyAsync(data::getValue, executor).thenApplyAsync(value -> {
+                    data.setValue(value + "bar");
+                    return data.getValue();
+                }, executor).get();
+                Assert.assertEquals("foobar", result);
+                Assert.assertEquals("foobar", data.getValue());
+            } finally {
+                controller.deactivate();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testTaskRunAfterContextDestroyed() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (WeldContainer container = new Weld().initialize()) {
+            RequestContextController controller = container.select(RequestContextController.class).get();
+            RequestData data = container.select(RequestData.class).get();
+            ContextSnapshot snapshot;
+            controller.activate();
+            try {
+                data.setValue("foo");
+                snapshot = container.captureContexts();
+            } finally {
+                controller.deactivate();
+            }
+            Future<String> result = executor.submit(snapshot.wrap(data::getValue));
+            try {
+                result.get();
+                Assert.fail();
+            } catch (ExecutionException expected) {
+                Assert.assertTrue(expected.getCause() instanceof ContextNotActiveException);
+            }
+            // The failed activation does not leave any state behind
+            Assert.assertFalse(executor.submit(() -> container.getBeanManager().isContextActive(RequestScoped.class)).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testInstanceCreatedAfterContextDestroyed() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (WeldContainer container = new Weld().initialize()) {
+            RequestContextController controller = container.select(RequestContextController.class).get();
+            LateRequestData data = container.select(LateRequestData.class).get();
+            LateRequestData.DESTROYED.set(0);
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch destroyed = new CountDownLatch(1);
+            Future<String> result;
+            controller.activate();
+            try {
+                result = executor.submit(container.captureContexts().wrap(() -> {
+                    started.countDown();
+                    destroyed.await();
+                    return data.getValue();
+                }));
+                Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+            } finally {
+                controller.deactivate();
+            }
+            // The task is still running, the instance it creates now must not outlive the context
+            destroyed.countDown();
+            try {
+                result.get();
+                Assert.fail();
+            } catch (ExecutionException expected) {
+                Assert.assertTrue(expected.getCause() instanceof ContextNotActiveException);
+            }
+            Assert.assertEquals(1, LateRequestData.DESTROYED.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testNothingToPropagate() {
+        try (WeldContainer container = new Weld().initialize()) {
+            Assert.assertTrue(container.captureContexts().isEmpty());
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.context.threadScope;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jboss.arquillian.container.se.api.ClassPath;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.contexts.beanstore.BeanStore;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.environment.se.contexts.ThreadContext;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests that a reused bean store of the thread context does not leak @ThreadScoped instances between activations.
+ */
+@RunWith(Arquillian.class)
+public class ThreadScopeBeanStoreReuseTest {
+
+    @Deployment
+    public static Archive<?> createTestArchive() {
+        return ClassPath.builder()
+                .add(ShrinkWrap.create(BeanArchive.class)
+                        .addClasses(ThreadScopeBeanStoreReuseTest.class, Bar.class, Counter.class)).build();
+    }
+
+    @Test
+    public void testInstancesDestroyedBetweenActivations() {
+        try (WeldContainer container = new Weld().property(ConfigurationKey.CONTEXT_THREAD_BEAN_STORE_REUSE.get(), true).initialize()) {
+            Bar bar = container.select(Bar.class).get();
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals(2, bar.doubleIncrement());
+            }
+        }
+    }
+
+    @Test
+    public void testBeanStoreReused() {
+        try (WeldContainer container = new Weld().initialize()) {
+            InspectableThreadContext context = new InspectableThreadContext(container.getId(), true);
+            BeanStore beanStore = activateAndDestroy(context);
+            Assert.assertSame(beanStore, activateAndDestroy(context));
+            // Bean stores are not reused unless enabled
+            context = new InspectableThreadContext(container.getId(), false);
+            Assert.assertNotSame(activateAndDestroy(context), activateAndDestroy(context));
+        }
+    }
+
+    @Test
+    public void testPooledThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (WeldContainer container = new Weld().property(ConfigurationKey.CONTEXT_THREAD_BEAN_STORE_REUSE.get(), true).initialize()) {
+            Bar bar = container.select(Bar.class).get();
+            for (int i = 0; i < 100; i++) {
+                Future<Integer> result = executor.submit(bar::doubleIncrement);
+                Assert.assertEquals(Integer.valueOf(2), result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static BeanStore activateAndDestroy(InspectableThreadContext context) {
+        context.activate();
+        try {
+            return context.getBeanStore();
+        } finally {
+            context.invalidate();
+            context.deactivate();
+        }
+    }
+
+    static class InspectableThreadContext extends ThreadContext {
+
+        InspectableThreadContext(String contextId, boolean reuseBeanStore) {
+            super(contextId, reuseBeanStore);
+        }
+
+        @Override
+        protected BeanStore getBeanStore() {
+            return super.getBeanStore();
+        }
+
+    }
+
+}
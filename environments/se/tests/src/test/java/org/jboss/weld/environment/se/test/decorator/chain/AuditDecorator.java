@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.decorator.chain;
+
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+@Priority(2)
+@Decorator
+public class AuditDecorator implements Repository<String> {
+
+    static volatile Class<?> delegateClass;
+
+    @Inject
+    @Delegate
+    Repository<String> delegate;
+
+    @Override
+    public String find(long id) {
+        ChainRecorder.record("audit");
+        return delegate.find(id);
+    }
+
+    @Override
+    public void save(long id, String entity) {
+        ChainRecorder.record("audit");
+        delegateClass = delegate.getClass();
+        delegate.save(id, entity);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.decorator.chain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.util.TypeLiteral;
+
+import org.jboss.arquillian.container.se.api.ClassPath;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.bean.proxy.DecoratorChainProxyFactory;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests that the delegates of a decorator chain are instances of the classes generated by {@link DecoratorChainProxyFactory} and that only the methods
+ * implemented by a decorator are routed to the decorator, also if the proxy classes are generated lazily or in the background.
+ */
+@RunWith(Arquillian.class)
+public class DecoratorChainTest {
+
+    @SuppressWarnings("serial")
+    static final TypeLiteral<Repository<String>> REPOSITORY = new TypeLiteral<Repository<String>>() {
+    };
+
+    @Deployment
+    public static Archive<?> createTestArchive() {
+        return ClassPath.builder().add(ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(DecoratorChainTest.class))
+                .addPackage(DecoratorChainTest.class.getPackage())).build();
+    }
+
+    @Test
+    public void testDecoratorChain() {
+        try (WeldContainer container = new Weld().initialize()) {
+            assertDecoratorChain(container);
+        }
+    }
+
+    @Test
+    public void testDecoratorChainLazyGeneration() {
+        try (WeldContainer container = new Weld().property(ConfigurationKey.PROXY_LAZY_GENERATION.get(), true).initialize()) {
+            assertDecoratorChain(container);
+        }
+    }
+
+    @Test
+    public void testDecoratorChainPregeneration() throws Exception {
+        try (WeldContainer container = new Weld().property(ConfigurationKey.PROXY_PREGENERATION.get(), true).initialize()) {
+            container.proxyWarmup().toCompletableFuture().get(10, TimeUnit.SECONDS);
+            assertDecoratorChain(container);
+        }
+    }
+
+    @Test
+    public void testProxyWarmupCompletedIfNotEnabled() {
+        try (WeldContainer container = new Weld().initialize()) {
+            assertTrue(container.proxyWarmup().toCompletableFuture().isDone());
+        }
+    }
+
+    private static void assertDecoratorChain(WeldContainer container) {
+        Repository<String> repository = container.select(REPOSITORY).get();
+        ChainRecorder.getAndReset();
+
+        repository.save(1, "foo");
+        assertEquals(Arrays.asList("uppercase", "audit", "repository"), ChainRecorder.getAndReset());
+        // UppercaseDecorator does not decorate find()
+        assertEquals("FOO", repository.find(1));
+        assertEquals(Arrays.asList("audit", "repository"), ChainRecorder.getAndReset());
+        // AuditDecorator.size() does not record
+        assertEquals(1, repository.size());
+        assertEquals(Collections.singletonList("repository"), ChainRecorder.getAndReset());
+
+        String outerDelegate = UppercaseDecorator.delegateClass.getName();
+        String innerDelegate = AuditDecorator.delegateClass.getName();
+        assertTrue(outerDelegate, outerDelegate.contains(DecoratorChainProxyFactory.PROXY_SUFFIX));
+        assertFalse(outerDelegate, outerDelegate.endsWith("$Target"));
+        assertTrue(innerDelegate, innerDelegate.contains(DecoratorChainProxyFactory.PROXY_SUFFIX));
+        assertTrue(innerDelegate, innerDelegate.endsWith("$Target"));
+
+        // not a method of the decorated type
+        container.select(StringRepository.class).get().clear();
+        assertEquals(0, repository.size());
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.decorator.chain;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class StringRepository implements Repository<String> {
+
+    private final Map<Long, String> entities = new ConcurrentHashMap<>();
+
+    @Override
+    public String find(long id) {
+        ChainRecorder.record("repository");
+        return entities.get(id);
+    }
+
+    @Override
+    public void save(long id, String entity) {
+        ChainRecorder.record("repository");
+        entities.put(id, entity);
+    }
+
+    @Override
+    public int size() {
+        ChainRecorder.record("repository");
+        return entities.size();
+    }
+
+    // not a method of the decorated type
+    public void clear() {
+        entities.clear();
+    }
+
+}
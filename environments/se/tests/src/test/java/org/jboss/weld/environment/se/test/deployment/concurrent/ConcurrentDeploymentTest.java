@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.deployment.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.jboss.arquillian.container.se.api.ClassPath;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Several bean archives deployed concurrently. The classes of all the archives are processed in a single work queue but each class must still be processed
+ * with the enablement and visibility of its own bean archive.
+ */
+@RunWith(Arquillian.class)
+public class ConcurrentDeploymentTest {
+
+    @Deployment
+    public static Archive<?> createTestArchive() {
+        JavaArchive common = ShrinkWrap.create(JavaArchive.class).addClasses(ConcurrentDeploymentTest.class, CountingInterceptor.class, Counted.class,
+                Widget.class, Ping.class);
+        JavaArchive bda1 = ShrinkWrap.create(BeanArchive.class).addClass(Alpha.class);
+        JavaArchive bda2 = ShrinkWrap.create(BeanArchive.class).intercept(CountingInterceptor.class).addClass(Bravo.class);
+        JavaArchive bda3 = ShrinkWrap.create(BeanArchive.class).addClass(Charlie.class);
+        return ClassPath.builder().add(common, bda1, bda2, bda3).build();
+    }
+
+    @Test
+    public void testBeanArchivesDeployedConcurrently() {
+        try (WeldContainer container = new Weld().initialize()) {
+            assertNotNull(BeanManagerProxy.unwrap(container.getBeanManager()).getServices().get(ExecutorServices.class));
+
+            // producer declared in another bean archive
+            assertEquals("alpha", container.select(Bravo.class).get().ping());
+
+            // the interceptor is only enabled in the archive of Bravo
+            CountingInterceptor.INVOCATIONS.clear();
+            assertEquals("alpha", container.select(Alpha.class).get().ping());
+            container.select(Bravo.class).get().ping();
+            assertEquals(Arrays.asList("Bravo"), CountingInterceptor.INVOCATIONS);
+
+            // observers of all the bean archives are registered
+            Ping ping = new Ping();
+            container.event().select(Ping.class).fire(ping);
+            assertEquals(new HashSet<>(Arrays.asList("alpha", "charlie")), new HashSet<>(ping.getReceivers()));
+            assertEquals(2, ping.getReceivers().size());
+        }
+    }
+
+}
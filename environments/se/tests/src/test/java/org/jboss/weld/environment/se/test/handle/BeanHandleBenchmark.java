@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.handle;
+
+import org.jboss.arquillian.container.se.api.ClassPath;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.environment.se.BeanHandle;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Compares a lookup via a {@link BeanHandle} with a lookup via {@link WeldContainer#select(Class, java.lang.annotation.Annotation...)}. Not part of the
+ * default test run - run with <code>mvn test -Dbenchmark -Dtest=BeanHandleBenchmark</code>.
+ */
+@RunWith(Arquillian.class)
+public class BeanHandleBenchmark {
+
+    private static final int ITERATIONS = 1_000_000;
+
+    private static final int ROUNDS = 5;
+
+    @Deployment
+    public static Archive<?> createTestArchive() {
+        return ClassPath.builder().add(ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(BeanHandleBenchmark.class))
+                .addPackage(BeanHandleBenchmark.class.getPackage())).build();
+    }
+
+    @Test
+    public void testHandleBenchmark() {
+        try (WeldContainer container = new Weld().initialize()) {
+            BeanHandle<Counter> handle = container.handle(Counter.class);
+            // Warm up
+            measureHandle(handle);
+            measureSelect(container);
+            for (int i = 0; i < ROUNDS; i++) {
+                System.out.printf("BeanHandle get(): %d ns per lookup, WeldContainer select().get(): %d ns per lookup%n", measureHandle(handle),
+                        measureSelect(container));
+            }
+        }
+    }
+
+    private static long measureHandle(BeanHandle<Counter> handle) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            handle.get().increment();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private static long measureSelect(WeldContainer container) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            container.select(Counter.class).get().increment();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.handle;
+
+import jakarta.enterprise.inject.UnsatisfiedResolutionException;
+
+import org.jboss.arquillian.container.se.api.ClassPath;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.environment.se.BeanHandle;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.proxy.WeldClientProxy;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests {@link WeldContainer#handle(Class, java.lang.annotation.Annotation...)}.
+ *
+ * @see BeanHandleBenchmark
+ */
+@RunWith(Arquillian.class)
+public class BeanHandleTest {
+
+    @Deployment
+    public static Archive<?> createTestArchive() {
+        return ClassPath.builder().add(ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(BeanHandleTest.class))
+                .addPackage(BeanHandleTest.class.getPackage())).build();
+    }
+
+    @Test
+    public void testNormalScopedHandle() {
+        try (WeldContainer container = new Weld().initialize()) {
+            BeanHandle<Counter> handle = container.handle(Counter.class);
+            Assert.assertEquals(Counter.class, handle.getBean().getBeanClass());
+            Counter counter = handle.get();
+            Assert.assertTrue(counter instanceof WeldClientProxy);
+            Assert.assertSame(counter, handle.get());
+            Assert.assertEquals(1, counter.increment());
+            Assert.assertEquals(2, container.select(Counter.class).get().increment());
+        }
+    }
+
+    @Test
+    public void testDependentHandle() {
+        try (WeldContainer container = new Weld().initialize()) {
+            BeanHandle<Worker> handle = container.handle(Worker.class);
+            Worker worker = handle.get();
+            Assert.assertNotSame(worker, handle.get());
+            handle.destroy(worker);
+        }
+    }
+
+    @Test(expected = UnsatisfiedResolutionException.class)
+    public void testUnsatisfiedHandle() {
+        try (WeldContainer container = new Weld().initialize()) {
+            container.handle(BeanHandleTest.class);
+        }
+    }
+
+    @Test
+    public void testHandleInvalidatedOnShutdown() {
+        BeanHandle<Counter> handle;
+        try (WeldContainer container = new Weld().initialize()) {
+            handle = container.handle(Counter.class);
+            Assert.assertTrue(handle.isValid());
+        }
+        Assert.assertFalse(handle.isValid());
+        try {
+            handle.get();
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+}
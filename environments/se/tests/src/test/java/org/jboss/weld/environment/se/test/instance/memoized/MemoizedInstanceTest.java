@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.instance.memoized;
+
+import jakarta.enterprise.inject.Default;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.util.AnnotationLiteral;
+
+import org.jboss.arquillian.container.se.api.ClassPath;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.proxy.WeldClientProxy;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests that {@link Instance#select(Class, java.lang.annotation.Annotation...)} and {@link Instance#get()} reuse the memoized results.
+ */
+@RunWith(Arquillian.class)
+public class MemoizedInstanceTest {
+
+    @Deployment
+    public static Archive<?> createTestArchive() {
+        return ClassPath.builder().add(ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(MemoizedInstanceTest.class))
+                .addPackage(MemoizedInstanceTest.class.getPackage())).build();
+    }
+
+    @Test
+    public void testSelectCached() {
+        try (WeldContainer container = new Weld().initialize()) {
+            Instance<Object> instance = container.getBeanManager().createInstance();
+            Instance<Sensor> sensors = instance.select(Sensor.class, Fast.Literal.INSTANCE);
+            Assert.assertSame(sensors, instance.select(Sensor.class, Fast.Literal.INSTANCE));
+            Assert.assertNotSame(sensors, instance.select(Sensor.class));
+            // Anonymous literals are not cached
+            @SuppressWarnings("serial")
+            Instance<Sensor> anonymous = instance.select(Sensor.class, new AnnotationLiteral<Fast>() {
+            });
+            Assert.assertNotSame(anonymous, instance.select(Sensor.class, new AnnotationLiteral<Fast>() {
+            }));
+            Assert.assertTrue(anonymous.isResolvable());
+        }
+    }
+
+    @Test
+    public void testNormalScopedGet() {
+        try (WeldContainer container = new Weld().initialize()) {
+            Instance<Sensor> sensors = container.getBeanManager().createInstance().select(Sensor.class, Fast.Literal.INSTANCE);
+            Sensor sensor = sensors.get();
+            Assert.assertTrue(sensor instanceof WeldClientProxy);
+            Assert.assertSame(sensor, sensors.get());
+            Assert.assertEquals(1, sensor.read());
+            Assert.assertEquals(2, sensors.get().read());
+        }
+    }
+
+    @Test
+    public void testDependentGet() {
+        try (WeldContainer container = new Weld().initialize()) {
+            Instance<Probe> probes = container.getBeanManager().createInstance().select(Probe.class);
+            Probe probe = probes.get();
+            Assert.assertNotSame(probe, probes.get());
+            probes.destroy(probe);
+        }
+    }
+
+    @Test
+    public void testResolutionMemoized() {
+        try (WeldContainer container = new Weld().initialize()) {
+            Instance<Object> instance = container.getBeanManager().createInstance();
+            Instance<Sensor> sensors = instance.select(Sensor.class, Fast.Literal.INSTANCE);
+            Bean<Sensor> bean = sensors.getHandle().getBean();
+            // The same bean is resolved by subsequent lookups and by another select() with the same type and qualifiers
+            Assert.assertSame(bean, sensors.getHandle().getBean());
+            Assert.assertSame(bean, instance.select(Sensor.class, Fast.Literal.INSTANCE).getHandle().getBean());
+            Assert.assertSame(sensors.get(), sensors.getHandle().get());
+            // A different selection is resolved again
+            Instance<Probe> probes = instance.select(Probe.class);
+            Bean<Probe> probeBean = probes.getHandle().getBean();
+            Assert.assertEquals(Probe.class, probeBean.getBeanClass());
+            Assert.assertNotSame(bean, probeBean);
+            Assert.assertTrue(instance.select(Sensor.class, Default.Literal.INSTANCE).isUnsatisfied());
+            // Instance<Object> with no qualifiers resolves all the beans on first use
+            Assert.assertTrue(instance.isAmbiguous());
+            Assert.assertFalse(instance.isResolvable());
+        }
+    }
+
+}
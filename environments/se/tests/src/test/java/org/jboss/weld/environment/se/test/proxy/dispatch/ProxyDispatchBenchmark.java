@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.proxy.dispatch;
+
+import org.jboss.arquillian.container.se.api.ClassPath;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.environment.se.test.proxy.dispatch.ProxyDispatchTest.DecoratedLiteral;
+import org.jboss.weld.environment.se.test.proxy.dispatch.ProxyDispatchTest.InterceptedLiteral;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Prints the average time of an invocation forwarded by a client proxy, a proxy created by {@link jakarta.enterprise.inject.spi.InterceptionFactory} and
+ * a decorated bean, compared to a plain invocation. Not part of the default test run - run with
+ * <code>mvn test -Dbenchmark -Dtest=ProxyDispatchBenchmark</code>.
+ */
+@RunWith(Arquillian.class)
+public class ProxyDispatchBenchmark {
+
+    private static final int ITERATIONS = 1_000_000;
+
+    private static final int ROUNDS = 5;
+
+    @Deployment
+    public static Archive<?> createTestArchive() {
+        return ClassPath.builder().add(ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(ProxyDispatchBenchmark.class))
+                .addPackage(ProxyDispatchBenchmark.class.getPackage())).build();
+    }
+
+    @Test
+    public void testDispatchBenchmark() {
+        try (WeldContainer container = new Weld().initialize()) {
+            Counter plain = new PlainCounter();
+            Counter clientProxy = container.select(Counter.class).get();
+            Counter interceptedProxy = container.select(Counter.class, InterceptedLiteral.INSTANCE).get();
+            Counter decorated = container.select(Counter.class, DecoratedLiteral.INSTANCE).get();
+            // Warm up
+            measure(plain);
+            measure(clientProxy);
+            measure(interceptedProxy);
+            measure(decorated);
+            for (int i = 0; i < ROUNDS; i++) {
+                System.out.printf("Proxy dispatch - plain: %d ns, client proxy: %d ns, intercepted proxy: %d ns, decorated: %d ns per invocation%n",
+                        measure(plain), measure(clientProxy), measure(interceptedProxy), measure(decorated));
+            }
+        }
+    }
+
+    private static long measure(Counter counter) {
+        long result = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            result = counter.add(1, result);
+        }
+        long time = System.nanoTime() - start;
+        Assert.assertEquals(ITERATIONS, result);
+        return time / ITERATIONS;
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.proxy.dispatch;
+
+import jakarta.enterprise.util.AnnotationLiteral;
+
+import org.jboss.arquillian.container.se.api.ClassPath;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.proxy.WeldClientProxy;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests the invocations forwarded by client proxies, proxies created by {@link jakarta.enterprise.inject.spi.InterceptionFactory} and abstract decorator
+ * subclasses, with the delegate injected into a private field and into an initializer method. The arguments, the result and the exceptions must be
+ * passed through unchanged.
+ *
+ * @see ProxyDispatchBenchmark
+ */
+@RunWith(Arquillian.class)
+public class ProxyDispatchTest {
+
+    @SuppressWarnings("serial")
+    static final class InterceptedLiteral extends AnnotationLiteral<Intercepted> implements Intercepted {
+        static final InterceptedLiteral INSTANCE = new InterceptedLiteral();
+    }
+
+    @SuppressWarnings("serial")
+    static final class DecoratedLiteral extends AnnotationLiteral<Decorated> implements Decorated {
+        static final DecoratedLiteral INSTANCE = new DecoratedLiteral();
+    }
+
+    @Deployment
+    public static Archive<?> createTestArchive() {
+        return ClassPath.builder().add(ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(ProxyDispatchTest.class))
+                .addPackage(ProxyDispatchTest.class.getPackage())).build();
+    }
+
+    @Test
+    public void testClientProxy() {
+        try (WeldContainer container = new Weld().initialize()) {
+            Counter counter = container.select(Counter.class).get();
+            Assert.assertTrue(counter instanceof WeldClientProxy);
+            assertForwarded(counter);
+            // the bean instance must not escape the client proxy
+            Assert.assertSame(counter, counter.self());
+        }
+    }
+
+    @Test
+    public void testInterceptedProxy() {
+        try (WeldContainer container = new Weld().initialize()) {
+            Counter counter = container.select(Counter.class, InterceptedLiteral.INSTANCE).get();
+            int invocations = MonitoredInterceptor.invocations;
+            assertForwarded(counter);
+            Assert.assertEquals(invocations + 1, MonitoredInterceptor.invocations);
+        }
+    }
+
+    @Test
+    public void testDecoratorSubclass() {
+        try (WeldContainer container = new Weld().initialize()) {
+            Counter counter = container.select(Counter.class, DecoratedLiteral.INSTANCE).get();
+            int failures = CounterDecorator.failures;
+            int initializerFailures = InitializerCounterDecorator.failures;
+            assertForwarded(counter);
+            Assert.assertEquals(failures + 1, CounterDecorator.failures);
+            Assert.assertEquals(initializerFailures + 1, InitializerCounterDecorator.failures);
+        }
+    }
+
+    private static void assertForwarded(Counter counter) {
+        Assert.assertEquals(Long.MAX_VALUE, counter.add(1, Long.MAX_VALUE - 1));
+        try {
+            counter.fail("foo");
+            Assert.fail();
+        } catch (CounterException expected) {
+            // the exception must not be wrapped
+            Assert.assertEquals("foo", expected.getMessage());
+        }
+    }
+
+}
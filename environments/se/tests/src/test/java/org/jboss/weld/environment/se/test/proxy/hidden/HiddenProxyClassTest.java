@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.proxy.hidden;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+
+import org.jboss.arquillian.container.se.api.ClassPath;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests that client proxies are defined as hidden classes if {@link ConfigurationKey#PROXY_HIDDEN_CLASSES} is enabled and found again without a class loader
+ * lookup.
+ */
+@RunWith(Arquillian.class)
+public class HiddenProxyClassTest {
+
+    @Deployment
+    public static Archive<?> createTestArchive() {
+        return ClassPath.builder().add(ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(HiddenProxyClassTest.class))
+                .addPackage(HiddenProxyClassTest.class.getPackage())).build();
+    }
+
+    @Test
+    public void testHiddenClientProxy() throws Exception {
+        Method isHidden = getIsHiddenMethod();
+        Class<?> proxyClass;
+        try (WeldContainer container = new Weld().property(ConfigurationKey.PROXY_HIDDEN_CLASSES.get(), true).initialize()) {
+            Counter counter = container.select(Counter.class).get();
+            proxyClass = counter.getClass();
+            assertTrue(proxyClass.getName(), (Boolean) isHidden.invoke(proxyClass));
+            assertEquals(1, counter.increment());
+            assertEquals(2, container.select(Counter.class).get().increment());
+            assertSame(proxyClass, container.select(Counter.class).get().getClass());
+        }
+        // a new container generates a new hidden class
+        try (WeldContainer container = new Weld().property(ConfigurationKey.PROXY_HIDDEN_CLASSES.get(), true).initialize()) {
+            Counter counter = container.select(Counter.class).get();
+            assertTrue((Boolean) isHidden.invoke(counter.getClass()));
+            assertEquals(1, counter.increment());
+        }
+    }
+
+    @Test
+    public void testRegularClientProxy() throws Exception {
+        Method isHidden = getIsHiddenMethod();
+        try (WeldContainer container = new Weld().initialize()) {
+            Counter counter = container.select(Counter.class).get();
+            assertFalse((Boolean) isHidden.invoke(counter.getClass()));
+            assertEquals(1, counter.increment());
+        }
+    }
+
+    private static Method getIsHiddenMethod() {
+        Method isHidden = null;
+        try {
+            isHidden = Class.class.getMethod("isHidden");
+        } catch (NoSuchMethodException e) {
+            // JDK 11 - 14
+        }
+        Assume.assumeTrue(isHidden != null);
+        return isHidden;
+    }
+
+}
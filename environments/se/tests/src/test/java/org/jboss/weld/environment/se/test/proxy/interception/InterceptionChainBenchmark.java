@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.proxy.interception;
+
+import org.jboss.arquillian.container.se.api.ClassPath;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Compares an invocation of an intercepted subclass, which looks up the interception chain by its method index, with an invocation of an
+ * {@link jakarta.enterprise.inject.spi.InterceptionFactory} proxy of the same class, which looks up the chain by the {@link java.lang.reflect.Method}. Both
+ * invoke the same interceptor. Not part of the default test run - run with <code>mvn test -Dbenchmark -Dtest=InterceptionChainBenchmark</code>.
+ */
+@RunWith(Arquillian.class)
+public class InterceptionChainBenchmark {
+
+    private static final int ITERATIONS = 1_000_000;
+
+    private static final int ROUNDS = 5;
+
+    @Deployment
+    public static Archive<?> createTestArchive() {
+        return ClassPath.builder().add(ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(InterceptionChainBenchmark.class))
+                .addPackage(InterceptionChainBenchmark.class.getPackage())).build();
+    }
+
+    @Test
+    public void testInterceptionBenchmark() {
+        try (WeldContainer container = new Weld().initialize()) {
+            Calculator indexed = container.select(Calculator.class).get();
+            Calculator unindexed = container.select(Calculator.class, Unindexed.Literal.INSTANCE).get();
+            // Warm up
+            measure(indexed);
+            measure(unindexed);
+            for (int i = 0; i < ROUNDS; i++) {
+                System.out.printf("Method index: %d ns per invocation, Method lookup: %d ns per invocation%n", measure(indexed), measure(unindexed));
+            }
+        }
+    }
+
+    private static long measure(Calculator calculator) {
+        long result = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            result = calculator.add(1, result);
+        }
+        long time = System.nanoTime() - start;
+        Assert.assertEquals(ITERATIONS, result);
+        return time / ITERATIONS;
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.proxy.interception;
+
+import jakarta.enterprise.inject.Instance;
+
+import org.jboss.arquillian.container.se.api.ClassPath;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests that the interception chains looked up by the method index of an intercepted subclass belong to the invoked method.
+ */
+@RunWith(Arquillian.class)
+public class InterceptionChainTest {
+
+    @Deployment
+    public static Archive<?> createTestArchive() {
+        return ClassPath.builder().add(ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(InterceptionChainTest.class))
+                .addPackage(InterceptionChainTest.class.getPackage())).build();
+    }
+
+    @Test
+    public void testAroundInvokeChains() {
+        try (WeldContainer container = new Weld().initialize()) {
+            Calculator calculator = container.select(Calculator.class).get();
+            // Invoke each method twice - the second invocation uses the cached chain
+            for (int i = 0; i < 2; i++) {
+                Assert.assertEquals(3, calculator.add(1, 2));
+                Assert.assertEquals("add2", TracedInterceptor.lastInvoked);
+                Assert.assertEquals(6, calculator.add(1, 2, 3));
+                Assert.assertEquals("add3", TracedInterceptor.lastInvoked);
+                Assert.assertEquals(-1, calculator.negate(1));
+                Assert.assertEquals("negate1", TracedInterceptor.lastInvoked);
+                Assert.assertEquals("Calculator", calculator.describe());
+                Assert.assertEquals("describe0", TracedInterceptor.lastInvoked);
+            }
+        }
+    }
+
+    @Test
+    public void testLifecycleCallbackChains() {
+        try (WeldContainer container = new Weld().initialize()) {
+            Instance<Calculator> instance = container.select(Calculator.class);
+            int postConstructed = TracedInterceptor.postConstructed;
+            int preDestroyed = TracedInterceptor.preDestroyed;
+            Calculator calculator1 = instance.get();
+            Calculator calculator2 = instance.get();
+            Assert.assertEquals(postConstructed + 2, TracedInterceptor.postConstructed);
+            instance.destroy(calculator1);
+            instance.destroy(calculator2);
+            Assert.assertEquals(preDestroyed + 2, TracedInterceptor.preDestroyed);
+        }
+    }
+
+}
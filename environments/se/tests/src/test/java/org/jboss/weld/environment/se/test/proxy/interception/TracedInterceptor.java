@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.proxy.interception;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+@Priority(1)
+@Traced
+@Interceptor
+public class TracedInterceptor {
+
+    static volatile String lastInvoked;
+
+    static volatile int postConstructed;
+
+    static volatile int preDestroyed;
+
+    @AroundInvoke
+    public Object trace(InvocationContext ctx) throws Exception {
+        lastInvoked = ctx.getMethod().getName() + ctx.getMethod().getParameterCount();
+        return ctx.proceed();
+    }
+
+    @PostConstruct
+    public void postConstruct(InvocationContext ctx) throws Exception {
+        postConstructed++;
+        ctx.proceed();
+    }
+
+    @PreDestroy
+    public void preDestroy(InvocationContext ctx) throws Exception {
+        preDestroyed++;
+        ctx.proceed();
+    }
+
+}
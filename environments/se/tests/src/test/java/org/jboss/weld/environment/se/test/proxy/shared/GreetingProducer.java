@@ -0,0 +1,47 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.proxy.shared;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.Produces;
+
+@Dependent
+public class GreetingProducer {
+
+    @Produces
+    @ApplicationScoped
+    @Language("en")
+    Greeting english() {
+        return name -> "Hello " + name;
+    }
+
+    @Produces
+    @ApplicationScoped
+    @Language("cs")
+    Greeting czech() {
+        return name -> "Ahoj " + name;
+    }
+
+    @Produces
+    @ApplicationScoped
+    @Language("de")
+    Greeting german() {
+        return name -> "Hallo " + name;
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.proxy.shared;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.jboss.arquillian.container.se.api.ClassPath;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests that client proxies of beans with the same proxy shape share the proxy class while the bean-specific state is kept in the proxy instances.
+ */
+@RunWith(Arquillian.class)
+public class SharedProxyClassTest {
+
+    @Deployment
+    public static Archive<?> createTestArchive() {
+        return ClassPath.builder().add(ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(SharedProxyClassTest.class))
+                .addPackage(SharedProxyClassTest.class.getPackage())).build();
+    }
+
+    @Test
+    public void testClientProxyClassShared() {
+        try (WeldContainer container = new Weld().initialize()) {
+            Greeting english = container.select(Greeting.class, new Language.Literal("en")).get();
+            Greeting czech = container.select(Greeting.class, new Language.Literal("cs")).get();
+            Greeting german = container.select(Greeting.class, new Language.Literal("de")).get();
+            assertNotSame(english, czech);
+            assertSame(english.getClass(), czech.getClass());
+            assertSame(english.getClass(), german.getClass());
+            assertEquals("Hello Kim", english.greet("Kim"));
+            assertEquals("Ahoj Kim", czech.greet("Kim"));
+            assertEquals("Hallo Kim", german.greet("Kim"));
+        }
+    }
+
+}
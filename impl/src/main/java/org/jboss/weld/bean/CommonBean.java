@@ -16,10 +16,17 @@
  */
 package org.jboss.weld.bean;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Set;
+
 import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.BeanAttributes;
 
+import org.jboss.weld.bean.attributes.ImmutableBeanAttributes;
+import org.jboss.weld.resources.SharedObjectCache;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.jboss.weld.util.Bindings;
 import org.jboss.weld.util.bean.ForwardingBeanAttributes;
 import org.jboss.weld.util.reflection.Reflections;
 
@@ -75,6 +82,33 @@ public abstract class CommonBean<T> extends ForwardingBeanAttributes<T> implemen
         this.attributes = attributes;
     }
 
+    /**
+     * Replaces the sets held by the bean attributes with the shared immutable instances. Beans whose attributes were provided or modified by an extension
+     * during bootstrap do not share the sets otherwise.
+     *
+     * @param cache
+     * @return <code>true</code> if the attributes were replaced, <code>false</code> otherwise
+     */
+    public boolean compactAttributes(SharedObjectCache cache) {
+        BeanAttributes<T> attributes = this.attributes;
+        if (!(attributes instanceof ImmutableBeanAttributes<?>)) {
+            // the attributes might be computed dynamically
+            return false;
+        }
+        Set<Type> types = cache.getSharedSet(attributes.getTypes());
+        // beans with the default qualifiers share a constant which is not held by the cache
+        Set<Annotation> qualifiers = Bindings.DEFAULT_QUALIFIERS.equals(attributes.getQualifiers()) ? Bindings.DEFAULT_QUALIFIERS
+                : cache.getSharedSet(attributes.getQualifiers());
+        Set<Class<? extends Annotation>> stereotypes = cache.getSharedSet(attributes.getStereotypes());
+        if (types == attributes.getTypes() && qualifiers == attributes.getQualifiers() && stereotypes == attributes.getStereotypes()) {
+            return false;
+        }
+        // the scope is not changed and so the contextual instance strategy is still valid
+        this.attributes = new ImmutableBeanAttributes<T>(stereotypes, attributes.isAlternative(), attributes.getName(), qualifiers, types,
+                attributes.getScope());
+        return true;
+    }
+
     @Override
     public int hashCode() {
         return identifier.hashCode();
@@ -71,6 +71,16 @@ public final class ContextualInstance {
         return bean.getContextualInstanceStrategy().getIfExists(bean, manager);
     }
 
+    /**
+     *
+     * @param bean the given bean
+     * @return <code>true</code> if the contextual instances of the given bean may be cached until the current
+     *         {@link org.jboss.weld.contexts.cache.RequestScopedCache.Epoch} ends, <code>false</code> otherwise
+     */
+    public static boolean isRequestCached(Bean<?> bean) {
+        return getStrategy(bean).isRequestCached();
+    }
+
     private static <T> ContextualInstanceStrategy<T> getStrategy(Bean<T> bean) {
         if (bean instanceof RIBean<?>) {
             return ((RIBean<T>) bean).getContextualInstanceStrategy();
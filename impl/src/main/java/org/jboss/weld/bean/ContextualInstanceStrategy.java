@@ -80,6 +80,15 @@ public abstract class ContextualInstanceStrategy<T> {
 
     abstract void destroy(Bean<T> bean);
 
+    /**
+     *
+     * @return <code>true</code> if the contextual instances are cached until the current {@link RequestScopedCache.Epoch} ends, <code>false</code>
+     *         otherwise
+     */
+    boolean isRequestCached() {
+        return false;
+    }
+
     private static class DefaultContextualInstanceStrategy<T> extends ContextualInstanceStrategy<T> {
 
         static final ContextualInstanceStrategy<Object> INSTANCE = new DefaultContextualInstanceStrategy<Object>();
@@ -180,5 +189,10 @@ public abstract class ContextualInstanceStrategy<T> {
             }
             return cached;
         }
+
+        @Override
+        boolean isRequestCached() {
+            return true;
+        }
     }
 }
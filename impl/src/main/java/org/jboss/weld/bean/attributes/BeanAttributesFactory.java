@@ -41,7 +41,7 @@ import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.metadata.cache.MergedStereotypes;
 import org.jboss.weld.resources.SharedObjectCache;
 import org.jboss.weld.util.Beans;
-import org.jboss.weld.util.collections.ImmutableSet;
+import org.jboss.weld.util.Bindings;
 import org.jboss.weld.util.reflection.Formats;
 
 /**
@@ -51,8 +51,6 @@ import org.jboss.weld.util.reflection.Formats;
  */
 public class BeanAttributesFactory {
 
-    private static final Set<Annotation> DEFAULT_QUALIFIERS = ImmutableSet.of(Any.Literal.INSTANCE, Default.Literal.INSTANCE);
-
     private BeanAttributesFactory() {
     }
 
@@ -137,7 +135,7 @@ public class BeanAttributesFactory {
 
         protected void initQualifiers(Set<Annotation> qualifiers) {
             if (qualifiers.isEmpty()) {
-                this.qualifiers = DEFAULT_QUALIFIERS;
+                this.qualifiers = Bindings.DEFAULT_QUALIFIERS;
             } else {
                 Set<Annotation> normalizedQualifiers = new HashSet<Annotation>(qualifiers.size() + 2);
                 if (qualifiers.size() == 1) {
@@ -50,6 +50,7 @@ public abstract class AbstractDecorableBuiltInBean<T> extends AbstractBuiltInBea
     public T create(CreationalContext<T> creationalContext) {
         InjectionPoint ip = getInjectionPoint(cip);
         List<Decorator<?>> decorators = getDecorators(ip);
+        List<Class<T>> decoratorProxyClasses = getDecoratorProxyClasses(ip);
         T instance = newInstance(ip, creationalContext);
         if (decorators == null) {
             decorators = beanManager.resolveDecorators(Collections.singleton(ip.getType()), getQualifiers());
@@ -57,7 +58,7 @@ public abstract class AbstractDecorableBuiltInBean<T> extends AbstractBuiltInBea
         if (decorators.isEmpty()) {
             return instance;
         }
-        return Decorators.getOuterDelegate(this, instance, creationalContext, getProxyClass(), cip.peek(), getBeanManager(), decorators);
+        return Decorators.getOuterDelegate(this, instance, creationalContext, getProxyClass(), decoratorProxyClasses, cip.peek(), getBeanManager(), decorators);
     }
 
     protected abstract T newInstance(InjectionPoint ip, CreationalContext<T> creationalContext);
@@ -66,6 +67,15 @@ public abstract class AbstractDecorableBuiltInBean<T> extends AbstractBuiltInBea
 
     protected abstract Class<T> getProxyClass();
 
+    /**
+     *
+     * @param ip
+     * @return the delegate proxy classes generated for the decorators returned from {@link #getDecorators(InjectionPoint)} or <code>null</code>
+     */
+    protected List<Class<T>> getDecoratorProxyClasses(InjectionPoint ip) {
+        return null;
+    }
+
     protected InjectionPoint getInjectionPoint(CurrentInjectionPoint cip) {
         InjectionPoint ip = cip.peek();
         return EmptyInjectionPoint.INSTANCE.equals(ip) ? null : ip;
@@ -29,6 +29,7 @@ import org.jboss.weld.bean.proxy.ProxyFactory;
 import org.jboss.weld.injection.CurrentInjectionPoint;
 import org.jboss.weld.injection.EmptyInjectionPoint;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.util.ValueHolder;
 
 /**
  * The built-in bean for facade objects. Since special rules are applied for resolving facade beans, we need to resolve
@@ -40,7 +41,7 @@ import org.jboss.weld.manager.BeanManagerImpl;
  */
 public abstract class AbstractFacadeBean<T> extends AbstractDecorableBuiltInBean<T> {
 
-    private Class<T> proxyClass;
+    private ValueHolder<Class<T>> proxyClass;
 
     protected AbstractFacadeBean(BeanManagerImpl manager, Class<T> type) {
         super(manager, type);
@@ -53,12 +54,13 @@ public abstract class AbstractFacadeBean<T> extends AbstractDecorableBuiltInBean
 
     @Override
     protected Class<T> getProxyClass() {
-        return proxyClass;
+        return proxyClass.get();
     }
 
     @Override
     public void initializeAfterBeanDiscovery() {
-        this.proxyClass = new ProxyFactory<T>(getBeanManager().getContextId(), getType(), getTypes(), this).getProxyClass();
+        String contextId = getBeanManager().getContextId();
+        this.proxyClass = ProxyFactory.generate(contextId, this, () -> new ProxyFactory<T>(contextId, getType(), getTypes(), this).getProxyClass());
     }
 
     @Override
@@ -21,8 +21,10 @@ import java.util.List;
 import jakarta.enterprise.inject.spi.Decorator;
 import jakarta.enterprise.inject.spi.InjectionPoint;
 
+import org.jboss.weld.bean.proxy.DecoratorChainProxyFactory;
 import org.jboss.weld.bean.proxy.ProxyFactory;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.util.ValueHolder;
 
 /**
  * A decorated built-in bean for which, unlike {@link AbstractFacadeBean}, decorators only need to be resolved once.
@@ -34,7 +36,8 @@ import org.jboss.weld.manager.BeanManagerImpl;
 public abstract class AbstractStaticallyDecorableBuiltInBean<T> extends AbstractDecorableBuiltInBean<T> {
 
     private List<Decorator<?>> decorators;
-    private Class<T> proxyClass;
+    private ValueHolder<Class<T>> proxyClass;
+    private ValueHolder<List<Class<T>>> decoratorProxyClasses;
 
     protected AbstractStaticallyDecorableBuiltInBean(BeanManagerImpl beanManager, Class<T> type) {
         super(beanManager, type);
@@ -51,14 +54,22 @@ public abstract class AbstractStaticallyDecorableBuiltInBean<T> extends Abstract
             // this should never happen
             throw new IllegalStateException("No decorators were resolved for this bean at boot time however there are some now");
         }
-        return proxyClass;
+        return proxyClass.get();
+    }
+
+    @Override
+    protected List<Class<T>> getDecoratorProxyClasses(InjectionPoint ip) {
+        return decoratorProxyClasses != null ? decoratorProxyClasses.get() : null;
     }
 
     @Override
     public void initializeAfterBeanDiscovery() {
         this.decorators = beanManager.resolveDecorators(getTypes(), getQualifiers());
         if (!decorators.isEmpty()) {
-            this.proxyClass = new ProxyFactory<T>(getBeanManager().getContextId(), getType(), getTypes(), this).getProxyClass();
+            String contextId = getBeanManager().getContextId();
+            this.proxyClass = ProxyFactory.generate(contextId, this, () -> new ProxyFactory<T>(contextId, getType(), getTypes(), this).getProxyClass());
+            this.decoratorProxyClasses = ProxyFactory.generate(contextId, this,
+                    () -> DecoratorChainProxyFactory.<T> getProxyClasses(contextId, getType(), getTypes(), this, false, decorators));
         }
     }
 }
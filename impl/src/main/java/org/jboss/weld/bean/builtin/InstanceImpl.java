@@ -25,6 +25,7 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Set;
@@ -40,6 +41,7 @@ import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.InjectionPoint;
 import jakarta.enterprise.util.TypeLiteral;
 
+import org.jboss.weld.Container;
 import org.jboss.weld.bean.proxy.ProxyMethodHandler;
 import org.jboss.weld.bean.proxy.ProxyObject;
 import org.jboss.weld.contexts.WeldCreationalContext;
@@ -57,6 +59,8 @@ import org.jboss.weld.resolution.TypeSafeBeanResolver;
 import org.jboss.weld.util.AnnotationApiAbstraction;
 import org.jboss.weld.util.InjectionPoints;
 import org.jboss.weld.util.LazyValueHolder;
+import org.jboss.weld.util.cache.ComputingCache;
+import org.jboss.weld.util.cache.ComputingCacheBuilder;
 import org.jboss.weld.util.collections.WeldCollections;
 import org.jboss.weld.util.reflection.Formats;
 import org.jboss.weld.util.reflection.Reflections;
@@ -74,8 +78,20 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements W
 
     private static final long serialVersionUID = -376721889693284887L;
 
+    // The maximum number of child instances cached by select()
+    private static final long MAX_SELECTIONS = 32;
+
     private final transient Set<Bean<?>> allBeans;
     private final transient Bean<?> bean;
+    // Non-null bean and the contextual reference is a client proxy - the reference can be reused by get()
+    private final transient boolean proxyRequired;
+
+    // The beans of Instance<Object> with no qualifiers, resolved on demand
+    private transient volatile Set<Bean<?>> lazyBeans;
+    private transient volatile T clientProxy;
+    private transient volatile ComputingCache<Selection, InstanceImpl<?>> selections;
+    // Set once the bean set of the container may not change anymore, only then the results may be memoized
+    private transient volatile boolean deployed;
 
     private final transient CurrentInjectionPoint currentInjectionPoint;
     private final transient InjectionPoint ip;
@@ -101,6 +117,7 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements W
                 this.bean = null;
             }
         }
+        this.proxyRequired = bean != null && beanManager.isProxyRequired(bean);
 
         this.currentInjectionPoint = beanManager.getServices().getRequired(CurrentInjectionPoint.class);
         // Generate a correct injection point for the bean, we do this by taking the original injection point and adjusting the
@@ -111,6 +128,15 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements W
 
     public T get() {
         checkBeanResolved();
+        if (proxyRequired) {
+            // The client proxy of a given bean and type is always the same
+            T proxy = clientProxy;
+            if (proxy == null) {
+                proxy = getBeanInstance(bean);
+                clientProxy = proxy;
+            }
+            return proxy;
+        }
         return getBeanInstance(bean);
     }
 
@@ -161,6 +187,29 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements W
     }
 
     private <U extends T> WeldInstance<U> selectInstance(Type subtype, Annotation[] newQualifiers) {
+        // Qualifiers which are not top-level or static nested classes may hold a reference to an enclosing instance
+        if (isDeployed() && Reflections.isCacheable(newQualifiers)) {
+            return cast(getSelections().getValue(new Selection(subtype, newQualifiers)));
+        }
+        return newInstance(subtype, newQualifiers);
+    }
+
+    private ComputingCache<Selection, InstanceImpl<?>> getSelections() {
+        ComputingCache<Selection, InstanceImpl<?>> cache = selections;
+        if (cache == null) {
+            synchronized (this) {
+                cache = selections;
+                if (cache == null) {
+                    cache = ComputingCacheBuilder.newBuilder().setMaxSize(MAX_SELECTIONS)
+                            .build(selection -> newInstance(selection.subtype, selection.qualifiers));
+                    selections = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    private <U extends T> InstanceImpl<U> newInstance(Type subtype, Annotation[] newQualifiers) {
         InjectionPoint modifiedInjectionPoint = new FacadeInjectionPoint(getBeanManager(), getInjectionPoint(), Instance.class, subtype, getQualifiers(),
                 newQualifiers);
         return new InstanceImpl<U>(modifiedInjectionPoint, getCreationalContext(), getBeanManager());
@@ -270,7 +319,24 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements W
     }
 
     private Set<Bean<?>> allBeans() {
-        return allBeans == null ? resolveBeans() : allBeans;
+        if (allBeans != null) {
+            return allBeans;
+        }
+        Set<Bean<?>> beans = lazyBeans;
+        if (beans == null) {
+            beans = resolveBeans();
+            if (isDeployed()) {
+                lazyBeans = beans;
+            }
+        }
+        return beans;
+    }
+
+    private boolean isDeployed() {
+        if (!deployed) {
+            deployed = Container.available(getBeanManager().getContextId());
+        }
+        return deployed;
     }
 
     private Set<Bean<?>> resolveBeans() {
@@ -304,6 +370,40 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements W
 
     }
 
+    private static final class Selection {
+
+        private final Type subtype;
+
+        private final Annotation[] qualifiers;
+
+        private final int hashCode;
+
+        private Selection(Type subtype, Annotation[] qualifiers) {
+            this.subtype = subtype;
+            // The caller may reuse the array
+            this.qualifiers = qualifiers.length == 0 ? qualifiers : qualifiers.clone();
+            this.hashCode = 31 * subtype.hashCode() + Arrays.hashCode(qualifiers);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Selection)) {
+                return false;
+            }
+            Selection other = (Selection) obj;
+            return subtype.equals(other.subtype) && Arrays.equals(qualifiers, other.qualifiers);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
     abstract class BeanIterator<TYPE> implements Iterator<TYPE> {
 
         protected final Iterator<Bean<?>> delegate;
@@ -20,7 +20,6 @@ package org.jboss.weld.bean.proxy;
 import java.io.ObjectStreamException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Set;
@@ -57,9 +56,9 @@ public class ClientProxyFactory<T> extends ProxyFactory<T> {
     private static final String EMPTY_PARENTHESES = "()";
 
     /**
-     * It is possible although very unlikely that two different beans will end up with the same proxy class
-     * (generally this will only happen in test situations where weld is being started/stopped multiple times
-     * in the same class loader, such as during unit tests)
+     * Different beans end up with the same proxy class if their proxies have the same shape, i.e. the same proxied type and
+     * interfaces (see {@link ProxyFactory#getProxyName(String, Class, Set, Bean, boolean)}). This also happens in test situations
+     * where weld is being started/stopped multiple times in the same class loader, such as during unit tests.
      * <p/>
      * To avoid this causing serialization problems we explicitly set the bean id on creation, and store it in this
      * field.
@@ -73,7 +72,8 @@ public class ClientProxyFactory<T> extends ProxyFactory<T> {
     private volatile Field contextIdField;
 
     public ClientProxyFactory(String contextId, Class<?> proxiedBeanType, Set<? extends Type> typeClosure, Bean<?> bean) {
-        super(contextId, proxiedBeanType, typeClosure, bean);
+        // The bean identifier and the context id are held in instance fields, so the proxy class may be shared by all beans of the same shape
+        super(contextId, proxiedBeanType, typeClosure, getProxyName(contextId, proxiedBeanType, typeClosure, bean, true), bean);
         beanId = Container.instance(contextId).services().get(ContextualStore.class).putIfAbsent(bean);
     }
 
@@ -171,17 +171,7 @@ public class ClientProxyFactory<T> extends ProxyFactory<T> {
     @Override
     protected void createForwardingMethodBody(ClassMethod classMethod, final MethodInformation methodInfo, ClassMethod staticConstructor) {
         final Method method = methodInfo.getMethod();
-        // we can only use bytecode based invocation for some methods
-        // at the moment we restrict it solely to public methods with public
-        // return and parameter types
-        boolean bytecodeInvocationAllowed = Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(method.getReturnType().getModifiers());
-        for (Class<?> paramType : method.getParameterTypes()) {
-            if (!Modifier.isPublic(paramType.getModifiers())) {
-                bytecodeInvocationAllowed = false;
-                break;
-            }
-        }
-        if (!bytecodeInvocationAllowed) {
+        if (!isDirectDispatchAllowed(method)) {
             createInterceptorBody(classMethod, methodInfo, staticConstructor);
             return;
         }
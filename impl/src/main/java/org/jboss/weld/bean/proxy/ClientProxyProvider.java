@@ -215,6 +215,16 @@ public class ClientProxyProvider {
         BeanLogger.LOG.lookedUpClientProxy(proxy.getClass(), bean);
         return proxy;
     }
+
+    /**
+     * Creates the client proxy for the given bean unless already created. Unlike {@link #getClientProxy(Bean)} an unproxyable bean is not reported.
+     *
+     * @param bean
+     */
+    void initClientProxy(final Bean<?> bean) {
+        beanTypeClosureProxyPool.getValue(Reflections.<Bean<Object>> cast(bean));
+    }
+
     /**
      * Gets a client proxy for a bean
      * <p/>
@@ -51,6 +51,11 @@ public class CombinedInterceptorAndDecoratorStackMethodHandler implements StackA
 
     @Override
     public Object invoke(Stack stack, Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable {
+        return invoke(stack, self, thisMethod, proceed, args, NO_METHOD_INDEX);
+    }
+
+    @Override
+    public Object invoke(Stack stack, Object self, Method thisMethod, Method proceed, Object[] args, int methodIndex) throws Throwable {
         if (stack == null) {
             /*
              * This is a lifecycle callback invocation.
@@ -58,30 +63,35 @@ public class CombinedInterceptorAndDecoratorStackMethodHandler implements StackA
              * 2) Interception of methods called by lifecycle callbacks is suppressed
              */
             stack = InterceptionDecorationContext.getStack();
-            return invoke(stack, self, thisMethod, proceed, args, true, stack.startIfNotOnTop(this));
+            return invoke(stack, self, thisMethod, proceed, args, methodIndex, true, stack.startIfNotOnTop(this));
         } else {
             /*
              * This is an around-invoke interception
              * Interceptors are invoked as long as the current IDC is not suppressed.
              */
             boolean intercept = stack.startIfNotOnTop(this);
-            return invoke(stack, self, thisMethod, proceed, args, intercept, intercept);
+            return invoke(stack, self, thisMethod, proceed, args, methodIndex, intercept, intercept);
         }
     }
 
     public Object invoke(Stack stack, Object self, Method thisMethod, Method proceed, Object[] args, boolean intercept, boolean popStack) throws Throwable {
+        return invoke(stack, self, thisMethod, proceed, args, NO_METHOD_INDEX, intercept, popStack);
+    }
+
+    public Object invoke(Stack stack, Object self, Method thisMethod, Method proceed, Object[] args, int methodIndex, boolean intercept, boolean popStack)
+            throws Throwable {
         if (intercept) {
             try {
                 if (interceptorMethodHandler != null) {
                     if (proceed != null) {
                         if (outerDecorator == null) {
                             // use WeldSubclass.method$$super() as proceed
-                            return this.interceptorMethodHandler.invoke(stack, self, thisMethod, proceed, args);
+                            return this.interceptorMethodHandler.invoke(stack, self, thisMethod, proceed, args, methodIndex);
                         } else {
-                            return this.interceptorMethodHandler.invoke(stack, outerDecorator, thisMethod, thisMethod, args);
+                            return this.interceptorMethodHandler.invoke(stack, outerDecorator, thisMethod, thisMethod, args, methodIndex);
                         }
                     } else {
-                        return this.interceptorMethodHandler.invoke(stack, self, thisMethod, null, args);
+                        return this.interceptorMethodHandler.invoke(stack, self, thisMethod, null, args, methodIndex);
                     }
                 } else {
                     if (outerDecorator != null) {
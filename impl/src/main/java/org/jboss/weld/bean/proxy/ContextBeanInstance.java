@@ -29,12 +29,15 @@ import org.jboss.weld.Container;
 import org.jboss.weld.bean.ContextualInstance;
 import org.jboss.weld.contexts.CreationalContextImpl;
 import org.jboss.weld.contexts.WeldCreationalContext;
+import org.jboss.weld.contexts.cache.RequestScopedCache;
+import org.jboss.weld.contexts.cache.RequestScopedItem;
 import org.jboss.weld.injection.CurrentInjectionPoint;
 import org.jboss.weld.injection.EmptyInjectionPoint;
 import org.jboss.weld.injection.ThreadLocalStack.ThreadLocalStackReference;
 import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.logging.ContextLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.serialization.CompactSerialForm;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
 import org.jboss.weld.serialization.spi.ContextualStore;
 
@@ -60,6 +63,10 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
     private final transient Class<?> instanceType;
     private final transient BeanManagerImpl manager;
     private final transient CurrentInjectionPoint currentInjectionPoint;
+    // Whether the contextual instances may be cached for the lifetime of a RequestScopedCache epoch
+    private final transient boolean requestCached;
+    // The inline cache - the field is not volatile on purpose, a stale or foreign holder is detected by the epoch check
+    private transient CachedInstance<T> cachedInstance;
 
     private static final ThreadLocal<WeldCreationalContext<?>> currentCreationalContext = new ThreadLocal<WeldCreationalContext<?>>();
 
@@ -78,9 +85,32 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
         BeanLogger.LOG.createdContextInstance(bean, id);
         this.manager = Container.instance(contextId).deploymentManager();
         this.currentInjectionPoint = manager.getServices().get(CurrentInjectionPoint.class);
+        this.requestCached = ContextualInstance.isRequestCached(bean);
     }
 
     public T getInstance() {
+        if (requestCached) {
+            CachedInstance<T> cached = this.cachedInstance;
+            if (cached != null && cached.epoch.isCurrent()) {
+                return cached.instance;
+            }
+            // The holder of another thread is only replaced once its epoch has ended so that concurrent requests do not keep overwriting each other
+            // Obtain the epoch first so that an invalidation during the lookup is not missed
+            RequestScopedCache.Epoch epoch = cached == null || cached.epoch.hasEnded() ? RequestScopedCache.getCurrentEpoch() : null;
+            T instance = lookupInstance();
+            if (epoch != null && instance != null && epoch.isCurrent()) {
+                cached = new CachedInstance<T>(this, instance, epoch);
+                // The holder is released at the end of the epoch so that neither the instance nor the thread stay reachable from the proxy
+                if (RequestScopedCache.addItemIfActive(cached)) {
+                    this.cachedInstance = cached;
+                }
+            }
+            return instance;
+        }
+        return lookupInstance();
+    }
+
+    private T lookupInstance() {
         if (!Container.isSet(contextId)) {
             throw ContextLogger.LOG.contextualReferenceNotValidAfterShutdown(bean, contextId);
         }
@@ -114,6 +144,34 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
         return cast(instanceType);
     }
 
+    private static final class CachedInstance<T> implements RequestScopedItem {
+
+        private final ContextBeanInstance<T> owner;
+
+        private final T instance;
+
+        private final RequestScopedCache.Epoch epoch;
+
+        private CachedInstance(ContextBeanInstance<T> owner, T instance, RequestScopedCache.Epoch epoch) {
+            this.owner = owner;
+            this.instance = instance;
+            this.epoch = epoch;
+        }
+
+        @Override
+        public void invalidate() {
+            // Another holder may have replaced this one in the meantime
+            if (owner.cachedInstance == this) {
+                owner.cachedInstance = null;
+            }
+        }
+
+    }
+
+    private Object writeReplace() throws ObjectStreamException {
+        return CompactSerialForm.isEnabled(contextId) ? CompactSerialForm.contextBeanInstance(contextId, id) : this;
+    }
+
     private Object readResolve() throws ObjectStreamException {
         Bean<T> bean = Container.instance(contextId).services().get(ContextualStore.class).<Bean<T>, T>getContextual(id);
         return new ContextBeanInstance<T>(bean, id, contextId);
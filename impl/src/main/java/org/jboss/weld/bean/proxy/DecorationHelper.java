@@ -49,6 +49,9 @@ public class DecorationHelper<T> implements PrivilegedAction<T> {
 
     private final Class<T> proxyClassForDecorator;
 
+    // compiled delegate proxy classes, one per decorator
+    private final List<Class<T>> proxyClassesForDecorators;
+
     private final TargetBeanInstance targetBeanInstance;
 
     private T originalInstance;
@@ -65,12 +68,29 @@ public class DecorationHelper<T> implements PrivilegedAction<T> {
     List<Decorator<?>> decorators;
 
     public DecorationHelper(TargetBeanInstance originalInstance, Bean<?> bean, Class<T> proxyClassForDecorator, BeanManagerImpl beanManager, ContextualStore contextualStore, List<Decorator<?>> decorators) {
+        this(originalInstance, bean, proxyClassForDecorator, null, beanManager, contextualStore, decorators);
+    }
+
+    /**
+     *
+     * @param originalInstance
+     * @param bean
+     * @param proxyClassForDecorator the generic delegate proxy class
+     * @param proxyClassesForDecorators the delegate proxy classes generated for the given decorators, may be <code>null</code> or empty
+     * @param beanManager
+     * @param contextualStore
+     * @param decorators
+     * @see DecoratorChainProxyFactory
+     */
+    public DecorationHelper(TargetBeanInstance originalInstance, Bean<?> bean, Class<T> proxyClassForDecorator, List<Class<T>> proxyClassesForDecorators,
+            BeanManagerImpl beanManager, ContextualStore contextualStore, List<Decorator<?>> decorators) {
         this.originalInstance = Reflections.<T>cast(originalInstance.getInstance());
         this.targetBeanInstance = originalInstance;
         this.beanManager = beanManager;
         this.contextualStore = contextualStore;
         this.decorators = new LinkedList<Decorator<?>>(decorators);
         this.proxyClassForDecorator = proxyClassForDecorator;
+        this.proxyClassesForDecorators = proxyClassesForDecorators == null || proxyClassesForDecorators.isEmpty() ? null : proxyClassesForDecorators;
         this.bean = bean;
         this.instantiator = beanManager.getServices().get(ProxyInstantiator.class);
         counter = 0;
@@ -123,7 +143,7 @@ public class DecorationHelper<T> implements PrivilegedAction<T> {
     @Override
     public T run() {
         try {
-            return instantiator.newInstance(proxyClassForDecorator);
+            return instantiator.newInstance(proxyClassesForDecorators != null ? proxyClassesForDecorators.get(counter) : proxyClassForDecorator);
         } catch (InstantiationException e) {
             throw new DefinitionException(BeanLogger.LOG.proxyInstantiationFailed(this), e.getCause());
         } catch (IllegalAccessException e) {
@@ -0,0 +1,274 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean.proxy;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.Decorator;
+import jakarta.inject.Inject;
+
+import org.jboss.classfilewriter.ClassMethod;
+import org.jboss.classfilewriter.code.BranchEnd;
+import org.jboss.classfilewriter.code.CodeAttribute;
+import org.jboss.classfilewriter.util.DescriptorUtils;
+import org.jboss.weld.Container;
+import org.jboss.weld.annotated.runtime.InvokableAnnotatedMethod;
+import org.jboss.weld.bean.WeldDecorator;
+import org.jboss.weld.serialization.spi.ContextualStore;
+import org.jboss.weld.util.bytecode.MethodInformation;
+
+/**
+ * Generates the delegate proxy class of a single position in the decorator chain of a decorated bean. Unlike the generic delegate proxy, which resolves the
+ * decorator method through {@link DecoratorProxyMethodHandler} for every invocation, the class is generated for a particular decorator. The generated methods
+ * invoke the method implemented by the decorator on the decorator instance, or the method of the next delegate if the decorator does not decorate it, with
+ * typed bytecode.
+ * <p>
+ * The generated bytecode of a decorated method is equivalent to:
+ * </p>
+ *
+ * <code>
+ * Object target = DecoratorChainProxyFactory.getDecoratorInstance(methodHandler);
+ * if (target instanceof DecoratedType) {
+ *     return (RetType) ((DecoratedType) target).method(param1, param2);
+ * }
+ * return (RetType) methodHandler.invoke(this, method, null, new Object[] { param1, param2 });
+ * </code>
+ * <p>
+ * The method handler, i.e. the {@link DecoratorProxyMethodHandler} attached by {@link DecorationHelper}, is only used for methods which cannot be invoked with
+ * typed bytecode, e.g. methods with non-public parameter types.
+ * </p>
+ *
+ * @param <T>
+ * @see DecorationHelper
+ */
+public class DecoratorChainProxyFactory<T> extends ProxyFactory<T> {
+
+    public static final String PROXY_SUFFIX = "DecoratorChain";
+
+    private static final String TARGET_SUFFIX = "$Target";
+
+    private static final String GET_DECORATOR_INSTANCE_METHOD_NAME = "getDecoratorInstance";
+
+    private static final String GET_DELEGATE_INSTANCE_METHOD_NAME = "getDelegateInstance";
+
+    private static final String GET_INSTANCE_DESCRIPTOR = "(" + DescriptorUtils.makeDescriptor(MethodHandler.class) + ")" + LJAVA_LANG_OBJECT;
+
+    private final WeldDecorator<?> decorator;
+
+    // true if the next delegate is the bean instance
+    private final boolean last;
+
+    private final String suffix;
+
+    /**
+     *
+     * @param contextId
+     * @param proxiedBeanType
+     * @param typeClosure
+     * @param bean the decorated bean
+     * @param forceSuperClass
+     * @param decorator the decorator applied at the given position
+     * @param last <code>true</code> if the decorator is the innermost decorator of the chain, <code>false</code> otherwise
+     */
+    public DecoratorChainProxyFactory(String contextId, Class<?> proxiedBeanType, Set<? extends Type> typeClosure, Bean<?> bean, boolean forceSuperClass,
+            WeldDecorator<?> decorator, boolean last) {
+        super(contextId, proxiedBeanType, typeClosure, bean, forceSuperClass);
+        this.decorator = decorator;
+        this.last = last;
+        // The generated code only depends on the decorator and on whether the next delegate is the bean instance
+        int idHash = Container.instance(contextId).services().get(ContextualStore.class).putIfAbsent(decorator).hashCode();
+        this.suffix = PROXY_SUFFIX + "$" + Math.abs(idHash == Integer.MIN_VALUE ? 0 : idHash) + (last ? TARGET_SUFFIX : "");
+    }
+
+    /**
+     * Generates the delegate proxy classes for the given decorator chain.
+     *
+     * @param contextId
+     * @param proxiedBeanType
+     * @param typeClosure
+     * @param bean
+     * @param forceSuperClass
+     * @param decorators the decorators in the order of the chain
+     * @return the delegate proxy classes, one for each decorator, or an empty list if the chain cannot be compiled
+     */
+    public static <T> List<Class<T>> getProxyClasses(String contextId, Class<?> proxiedBeanType, Set<? extends Type> typeClosure, Bean<?> bean,
+            boolean forceSuperClass, List<Decorator<?>> decorators) {
+        List<Class<T>> proxyClasses = new ArrayList<>(decorators.size());
+        for (int i = 0; i < decorators.size(); i++) {
+            Decorator<?> decorator = decorators.get(i);
+            if (!(decorator instanceof WeldDecorator)) {
+                return Collections.emptyList();
+            }
+            proxyClasses.add(new DecoratorChainProxyFactory<T>(contextId, proxiedBeanType, typeClosure, bean, forceSuperClass, (WeldDecorator<?>) decorator,
+                    i == decorators.size() - 1).getProxyClass());
+        }
+        return proxyClasses;
+    }
+
+    @Override
+    protected String getProxyNameSuffix() {
+        return suffix;
+    }
+
+    @Override
+    protected void createForwardingMethodBody(ClassMethod classMethod, MethodInformation method, ClassMethod staticConstructor) {
+        createChainMethodBody(classMethod, method, staticConstructor);
+    }
+
+    @Override
+    protected void createSpecialMethodBody(ClassMethod classMethod, MethodInformation method, ClassMethod staticConstructor) {
+        createChainMethodBody(classMethod, method, staticConstructor);
+    }
+
+    private void createChainMethodBody(ClassMethod classMethod, MethodInformation method, ClassMethod staticConstructor) {
+        Method javaMethod = method.getMethod();
+        // Mirrors DecoratorProxyMethodHandler
+        InvokableAnnotatedMethod<?> decoratorMethod = javaMethod.isAnnotationPresent(Inject.class) ? null : decorator.getDecoratorMethod(javaMethod);
+        if (decoratorMethod != null) {
+            Method decoratedMethod = decoratorMethod.getJavaMember();
+            if (isInvocable(javaMethod, decoratedMethod)) {
+                createTypedInvocationBody(classMethod, method, decoratedMethod, GET_DECORATOR_INSTANCE_METHOD_NAME, false, staticConstructor);
+                return;
+            }
+        } else if (isInvocable(javaMethod, javaMethod)) {
+            // The bean instance returned from the last delegate is replaced with the proxy, the same way ProxyMethodHandler does
+            createTypedInvocationBody(classMethod, method, javaMethod, GET_DELEGATE_INSTANCE_METHOD_NAME, last, staticConstructor);
+            return;
+        }
+        createInterceptorBody(classMethod, method, staticConstructor);
+    }
+
+    /**
+     *
+     * @param method the proxied method
+     * @param targetMethod the method invoked on the target
+     * @return <code>true</code> if the target method may be invoked with the arguments of the proxied method from the proxy class
+     */
+    private boolean isInvocable(Method method, Method targetMethod) {
+        if (!isDirectDispatchAllowed(method) || !isDirectDispatchAllowed(targetMethod)
+                || !Modifier.isPublic(targetMethod.getDeclaringClass().getModifiers())) {
+            return false;
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Class<?>[] targetParameterTypes = targetMethod.getParameterTypes();
+        if (parameterTypes.length != targetParameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!isCompatible(targetParameterTypes[i], parameterTypes[i])) {
+                return false;
+            }
+        }
+        // The decorated type may declare a more generic return type, e.g. a type variable, the result is cast then
+        Class<?> returnType = method.getReturnType();
+        Class<?> targetReturnType = targetMethod.getReturnType();
+        return !(returnType.isPrimitive() || targetReturnType.isPrimitive()) || returnType.equals(targetReturnType);
+    }
+
+    private static boolean isCompatible(Class<?> to, Class<?> from) {
+        if (to.isPrimitive() || from.isPrimitive()) {
+            return to.equals(from);
+        }
+        return to.isAssignableFrom(from);
+    }
+
+    private void createTypedInvocationBody(ClassMethod classMethod, MethodInformation method, Method targetMethod, String targetProviderMethodName,
+            boolean returnProxyForTarget, ClassMethod staticConstructor) {
+        final CodeAttribute b = classMethod.getCodeAttribute();
+        String targetClass = targetMethod.getDeclaringClass().getName();
+        b.aload(0);
+        getMethodHandlerField(classMethod.getClassFile(), b);
+        b.invokestatic(DecoratorChainProxyFactory.class.getName(), targetProviderMethodName, GET_INSTANCE_DESCRIPTOR);
+        b.dup();
+        // the target may not implement the declaring class, e.g. an EJB reference
+        b.instanceofInstruction(targetClass);
+        final BranchEnd noTarget = b.ifeq();
+        b.checkcast(targetClass);
+
+        Class<?> returnType = method.getMethod().getReturnType();
+        boolean checkReturnedTarget = returnProxyForTarget && !returnType.isPrimitive() && isAssignableFromProxy(returnType);
+        if (checkReturnedTarget) {
+            b.dup();
+        }
+        b.loadMethodParameters();
+        if (targetMethod.getDeclaringClass().isInterface()) {
+            b.invokeinterface(targetClass, targetMethod.getName(), DescriptorUtils.methodDescriptor(targetMethod));
+        } else {
+            b.invokevirtual(targetClass, targetMethod.getName(), DescriptorUtils.methodDescriptor(targetMethod));
+        }
+        if (!returnType.equals(targetMethod.getReturnType())) {
+            b.checkcast(returnType);
+        }
+        if (checkReturnedTarget) {
+            // result, target on the stack
+            b.dupX1();
+            final BranchEnd returnsTarget = b.ifAcmpeq();
+            b.returnInstruction();
+            b.branchEnd(returnsTarget);
+            b.aload(0);
+            b.checkcast(returnType);
+        }
+        b.returnInstruction();
+
+        b.branchEnd(noTarget);
+        b.pop();
+        createInterceptorBody(classMethod, method, staticConstructor);
+    }
+
+    /**
+     * Called by the generated proxy methods.
+     *
+     * @param methodHandler
+     * @return the decorator instance or <code>null</code> if not available
+     */
+    public static Object getDecoratorInstance(MethodHandler methodHandler) {
+        DecoratorProxyMethodHandler decoratorMethodHandler = getDecoratorProxyMethodHandler(methodHandler);
+        return decoratorMethodHandler != null ? decoratorMethodHandler.getDecoratorInstance() : null;
+    }
+
+    /**
+     * Called by the generated proxy methods.
+     *
+     * @param methodHandler
+     * @return the next delegate or <code>null</code> if not available
+     */
+    public static Object getDelegateInstance(MethodHandler methodHandler) {
+        DecoratorProxyMethodHandler decoratorMethodHandler = getDecoratorProxyMethodHandler(methodHandler);
+        return decoratorMethodHandler != null ? decoratorMethodHandler.getTargetInstance() : null;
+    }
+
+    private static DecoratorProxyMethodHandler getDecoratorProxyMethodHandler(MethodHandler methodHandler) {
+        if (methodHandler instanceof ProxyMethodHandler) {
+            BeanInstance beanInstance = ((ProxyMethodHandler) methodHandler).getBeanInstance();
+            if (beanInstance instanceof TargetBeanInstance) {
+                MethodHandler interceptorsHandler = ((TargetBeanInstance) beanInstance).getInterceptorsHandler();
+                if (interceptorsHandler instanceof DecoratorProxyMethodHandler) {
+                    return (DecoratorProxyMethodHandler) interceptorsHandler;
+                }
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean.proxy;
+
+import jakarta.enterprise.inject.spi.Bean;
+
+/**
+ * The method handler of an abstract decorator subclass generated by {@link DecoratorProxyFactory}, set once the delegate is injected. Abstract methods
+ * declared by a type of the delegate are invoked on the delegate directly; the other abstract methods are still resolved and invoked reflectively by
+ * {@link ProxyMethodHandler}.
+ *
+ * @see DecoratorProxyFactory
+ */
+public class DecoratorDelegateMethodHandler extends ProxyMethodHandler implements DirectDispatchMethodHandler {
+
+    private static final long serialVersionUID = -2187654026513795213L;
+
+    public DecoratorDelegateMethodHandler(String contextId, Object delegate, Bean<?> bean) {
+        super(contextId, new TargetBeanInstance(delegate), bean);
+    }
+
+    @Override
+    public Object getDirectDispatchTarget(Class<?> declaringClass) {
+        Object delegate = getInstance();
+        return declaringClass.isInstance(delegate) ? delegate : null;
+    }
+
+}
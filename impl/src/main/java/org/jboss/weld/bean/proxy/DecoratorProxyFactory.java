@@ -46,6 +46,7 @@ import org.jboss.weld.util.bytecode.BytecodeUtils;
 import org.jboss.weld.util.bytecode.MethodInformation;
 import org.jboss.weld.util.bytecode.RuntimeMethodInformation;
 import org.jboss.weld.util.bytecode.StaticMethodInformation;
+import org.jboss.weld.util.reflection.Reflections;
 
 /**
  * This special proxy factory is mostly used for abstract decorators. When a
@@ -62,6 +63,7 @@ public class DecoratorProxyFactory<T> extends ProxyFactory<T> {
     private static final String INIT_MH_METHOD_NAME = "_initMH";
     private final WeldInjectionPointAttributes<?, ?> delegateInjectionPoint;
     private final Field delegateField;
+    private final Class<?> delegateType;
     private final TargetInstanceBytecodeMethodResolver targetInstanceBytecodeMethodResolver = new TargetInstanceBytecodeMethodResolver();
 
     public DecoratorProxyFactory(String contextId, Class<T> proxyType, WeldInjectionPointAttributes<?, ?> delegateInjectionPoint, Bean<?> bean) {
@@ -72,6 +74,7 @@ public class DecoratorProxyFactory<T> extends ProxyFactory<T> {
         } else {
             delegateField = null;
         }
+        this.delegateType = Reflections.getRawType(delegateInjectionPoint.getType());
     }
 
     /**
@@ -205,7 +208,12 @@ public class DecoratorProxyFactory<T> extends ProxyFactory<T> {
                 // method handler to call getTargetClass to get the correct class type to
                 // resolve the method with, and then resolves this method
 
-                invokeMethodHandler(classMethod, method, true, targetInstanceBytecodeMethodResolver, staticConstructor);
+                if (isDirectDispatchAllowed(method.getMethod()) && method.getMethod().getDeclaringClass().isAssignableFrom(delegateType)) {
+                    // the delegate is an instance of the declaring class, call the method directly once DecoratorDelegateMethodHandler is set
+                    createDirectDispatchMethodBody(classMethod, method, true, targetInstanceBytecodeMethodResolver, staticConstructor);
+                } else {
+                    invokeMethodHandler(classMethod, method, true, targetInstanceBytecodeMethodResolver, staticConstructor);
+                }
             } else {
                 // if the delegate is private we need to use the method handler
                 createInterceptorBody(classMethod, method, staticConstructor);
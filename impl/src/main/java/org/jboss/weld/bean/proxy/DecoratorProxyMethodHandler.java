@@ -45,6 +45,14 @@ public class DecoratorProxyMethodHandler extends TargetInstanceProxyMethodHandle
         this.decoratorInstance = decoratorInstance;
     }
 
+    /**
+     *
+     * @return the decorator instance
+     */
+    public Object getDecoratorInstance() {
+        return decoratorInstance.getInstance();
+    }
+
     /**
      * @param self    the proxy instance.
      * @param method  the overridden method declared in the super class or
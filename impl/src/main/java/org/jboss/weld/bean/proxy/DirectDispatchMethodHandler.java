@@ -0,0 +1,42 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean.proxy;
+
+/**
+ * A {@link MethodHandler} which is able to provide the object a proxied method should be invoked upon. Methods generated by
+ * {@link ProxyFactory#createDirectDispatchMethodBody(org.jboss.classfilewriter.ClassMethod, org.jboss.weld.util.bytecode.MethodInformation, boolean,
+ * org.jboss.classfilewriter.ClassMethod)} invoke public methods on such an object directly, i.e. with typed bytecode and without a
+ * {@link java.lang.reflect.Method} and boxed arguments. The {@link #invoke(Object, java.lang.reflect.Method, java.lang.reflect.Method, Object[])} method is
+ * only used if no target is available.
+ * <p>
+ * The default {@link ProxyFactory} always forwards to the method handler. Only factories whose handlers have no per-invocation semantics opt in, i.e.
+ * {@link InterceptedProxyFactory} and {@link DecoratorProxyFactory} for the abstract methods of a decorator.
+ * </p>
+ *
+ * @see ProxyFactory#getDirectDispatchTarget(MethodHandler, Class)
+ */
+public interface DirectDispatchMethodHandler extends MethodHandler {
+
+    /**
+     *
+     * @param declaringClass the class declaring the invoked method
+     * @return the object the method should be invoked upon or <code>null</code> if the invocation must be handled by the method handler
+     * @throws Throwable if the target cannot be obtained
+     */
+    Object getDirectDispatchTarget(Class<?> declaringClass) throws Throwable;
+
+}
@@ -177,6 +177,11 @@ public class InterceptedProxyFactory<T> extends ProxyFactory<T> {
     }
 
     private void createNotInterceptedMethod(ClassMethod classMethod, final MethodInformation methodInfo, Method method, ClassMethod staticConstructor) {
+        if (isDirectDispatchAllowed(method)) {
+            // invoke the method on the intercepted instance directly, the method handler does not replace the returned instance
+            createDirectDispatchMethodBody(classMethod, methodInfo, false, staticConstructor);
+            return;
+        }
         // we only care about default and intercepted methods now
         final CodeAttribute b = classMethod.getCodeAttribute();
 
@@ -27,7 +27,7 @@ import org.jboss.weld.logging.BeanLogger;
  *
  * @author Martin Kouba
  */
-public class InterceptedProxyMethodHandler extends CombinedInterceptorAndDecoratorStackMethodHandler {
+public class InterceptedProxyMethodHandler extends CombinedInterceptorAndDecoratorStackMethodHandler implements DirectDispatchMethodHandler {
 
     private static final long serialVersionUID = -4749313040369863855L;
 
@@ -56,9 +56,19 @@ public class InterceptedProxyMethodHandler extends CombinedInterceptorAndDecorat
         return result;
     }
 
+    @Override
+    public Object getDirectDispatchTarget(Class<?> declaringClass) {
+        return instance;
+    }
+
     @Override
     public Object invoke(Stack stack, Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable {
         return super.invoke(stack, instance, thisMethod, proceed, args);
     }
 
+    @Override
+    public Object invoke(Stack stack, Object self, Method thisMethod, Method proceed, Object[] args, int methodIndex) throws Throwable {
+        return super.invoke(stack, instance, thisMethod, proceed, args, methodIndex);
+    }
+
 }
@@ -69,6 +69,8 @@ public class InterceptedSubclassFactory<T> extends ProxyFactory<T> {
 
     static final String COMBINED_INTERCEPTOR_AND_DECORATOR_STACK_METHOD_HANDLER_CLASS_NAME = CombinedInterceptorAndDecoratorStackMethodHandler.class.getName();
     static final String[] INVOKE_METHOD_PARAMETERS = new String[] { makeDescriptor(Stack.class), LJAVA_LANG_OBJECT, LJAVA_LANG_REFLECT_METHOD, LJAVA_LANG_REFLECT_METHOD, "[" + LJAVA_LANG_OBJECT  };
+    static final String[] INDEXED_INVOKE_METHOD_PARAMETERS = new String[] { makeDescriptor(Stack.class), LJAVA_LANG_OBJECT, LJAVA_LANG_REFLECT_METHOD,
+            LJAVA_LANG_REFLECT_METHOD, "[" + LJAVA_LANG_OBJECT, BytecodeUtils.INT_CLASS_DESCRIPTOR };
 
     protected static final String PRIVATE_METHOD_HANDLER_FIELD_NAME = "privateMethodHandler";
 
@@ -78,6 +80,9 @@ public class InterceptedSubclassFactory<T> extends ProxyFactory<T> {
 
     private final Class<?> proxiedBeanType;
 
+    // The index passed to the method handler by the next generated method, see StackAwareMethodHandler#invoke(Stack, Object, Method, Method, Object[], int)
+    private int nextMethodIndex;
+
     public InterceptedSubclassFactory(String contextId, Class<?> proxiedBeanType, Set<? extends Type> typeClosure, Bean<?> bean, Set<MethodSignature> enhancedMethodSignatures, Set<MethodSignature> interceptedMethodSignatures) {
         this(contextId, proxiedBeanType, typeClosure, getProxyName(contextId, proxiedBeanType, typeClosure, bean), bean, enhancedMethodSignatures, interceptedMethodSignatures);
     }
@@ -496,9 +501,11 @@ public class InterceptedSubclassFactory<T> extends ProxyFactory<T> {
                 localVariableCount++;
             }
         }
+        // the index of the method within the subclass lets the handler find the interception chain without a map lookup
+        b.iconst(nextMethodIndex++);
         // now we have all our arguments on the stack
         // lets invoke the method
-        b.invokeinterface(StackAwareMethodHandler.class.getName(), INVOKE_METHOD_NAME, LJAVA_LANG_OBJECT, INVOKE_METHOD_PARAMETERS);
+        b.invokeinterface(StackAwareMethodHandler.class.getName(), INVOKE_METHOD_NAME, LJAVA_LANG_OBJECT, INDEXED_INVOKE_METHOD_PARAMETERS);
         if (addReturnInstruction) {
             // now we need to return the appropriate type
             if (methodInfo.getReturnType().equals(BytecodeUtils.VOID_CLASS_DESCRIPTOR)) {
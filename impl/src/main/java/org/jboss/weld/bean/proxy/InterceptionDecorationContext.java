@@ -17,12 +17,9 @@
 
 package org.jboss.weld.bean.proxy;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.EmptyStackException;
 
-import org.jboss.weld.contexts.cache.RequestScopedCache;
-import org.jboss.weld.contexts.cache.RequestScopedItem;
+import org.jboss.weld.injection.CallFrame;
 
 /**
  * A class that holds the interception (and decoration) contexts which are currently in progress.
@@ -34,30 +31,21 @@ import org.jboss.weld.contexts.cache.RequestScopedItem;
  * <p/>
  * Classes may create new interception contexts as necessary (e.g. allowing client proxies to create new interception
  * contexts in order to make circular references interceptable multiple times).
+ * <p/>
+ * The stack is a slot of the {@link CallFrame} of the current thread. It is looked up once per outermost invocation and then passed down the handler
+ * chain (see {@link StackAwareMethodHandler}).
  *
  * @author Marius Bogoevici
  */
 public class InterceptionDecorationContext {
-    private static ThreadLocal<Stack> interceptionContexts = new ThreadLocal<Stack>();
-
-    public static class Stack implements RequestScopedItem {
-        private boolean removeWhenEmpty;
-        private final Deque<CombinedInterceptorAndDecoratorStackMethodHandler> elements;
-        private final ThreadLocal<Stack> interceptionContexts;
-        private boolean valid;
-
-        private Stack(ThreadLocal<Stack> interceptionContexts) {
-            this.interceptionContexts = interceptionContexts;
-            this.elements = new ArrayDeque<CombinedInterceptorAndDecoratorStackMethodHandler>();
-            /*
-             * Setting / removing of a thread-local is much more expensive compared to get. Therefore,
-             * if RequestScopedCache is active we register the thread-local for removal at the end of the
-             * request. This yields possitive results only if the number of intercepted invocations is large.
-             * If it is not, the performance characteristics are similar to explicitly removing the thread-local
-             * once the stack gets empty.
-             */
-            this.removeWhenEmpty = !RequestScopedCache.addItemIfActive(this);
-            this.valid = true;
+
+    // the key of the stack within a CallFrame
+    private static final Object SLOT_KEY = new Object();
+
+    public static class Stack extends CallFrame.Slot<CombinedInterceptorAndDecoratorStackMethodHandler> {
+
+        private Stack(CallFrame frame) {
+            super(frame, SLOT_KEY);
         }
 
         /**
@@ -67,8 +55,7 @@ public class InterceptionDecorationContext {
          * @return true if the given context was pushed to the top of the stack, false if the given context was on top already
          */
         public boolean startIfNotOnTop(CombinedInterceptorAndDecoratorStackMethodHandler context) {
-            checkState();
-            if (elements.isEmpty() || peek() != context) {
+            if (isEmpty() || peek() != context) {
                 push(context);
                 return true;
             }
@@ -79,55 +66,9 @@ public class InterceptionDecorationContext {
             pop();
         }
 
-        private void push(CombinedInterceptorAndDecoratorStackMethodHandler item) {
-            checkState();
-            elements.addFirst(item);
-        }
-
-        public CombinedInterceptorAndDecoratorStackMethodHandler peek() {
-            checkState();
-            return elements.peekFirst();
-        }
-
-        private CombinedInterceptorAndDecoratorStackMethodHandler pop() {
-            checkState();
-            CombinedInterceptorAndDecoratorStackMethodHandler top = elements.removeFirst();
-            removeIfEmpty();
-            return top;
-        }
-
-        private void checkState() {
-            if (!valid) {
-                throw new IllegalStateException("This InterceptionDecorationContext is no longer valid.");
-            }
-        }
-
-        @Override
-        public void invalidate() {
-            /*
-             * This cached item is being invalidated.
-             * It does not necessarily mean that the request is being destroyed - it may just be the case that it is being flushed in the middle
-             * of a request (e.g. for AlterableContext.destroy()).
-             * Therefore, we cannot remove IDC now but we just set removeWhenEmpty flag and let it remove itself once the stack gets empty.
-             */
-            removeWhenEmpty = true;
-            removeIfEmpty();
-        }
-
-        private void removeIfEmpty() {
-            if (removeWhenEmpty && elements.isEmpty()) {
-                interceptionContexts.remove();
-                valid = false;
-            }
-        }
-
-        public int size() {
-            return elements.size();
-        }
-
         @Override
         public String toString() {
-            return "Stack [valid=" + valid + ", cached=" + !removeWhenEmpty + ", elements=" + elements + "]";
+            return "Stack [elements=" + super.toString() + "]";
         }
 
     }
@@ -141,7 +82,11 @@ public class InterceptionDecorationContext {
      * @throws EmptyStackException
      */
     public static CombinedInterceptorAndDecoratorStackMethodHandler peek() {
-        return peek(interceptionContexts.get());
+        Stack stack = getStackIfPresent();
+        if (stack == null || stack.isEmpty()) {
+            throw new EmptyStackException();
+        }
+        return stack.peek();
     }
 
     /**
@@ -149,7 +94,7 @@ public class InterceptionDecorationContext {
      * @return the current top of the stack or returns null if the stack is empty
      */
     public static CombinedInterceptorAndDecoratorStackMethodHandler peekIfNotEmpty() {
-        Stack stack = interceptionContexts.get();
+        Stack stack = getStackIfPresent();
         if (stack == null) {
             return null;
         }
@@ -160,32 +105,34 @@ public class InterceptionDecorationContext {
      * Indicates whether the stack is empty.
      */
     public static boolean empty() {
-        return empty(interceptionContexts.get());
+        Stack stack = getStackIfPresent();
+        return stack == null || stack.isEmpty();
     }
 
 
     public static void endInterceptorContext() {
-        pop(interceptionContexts.get());
+        Stack stack = getStackIfPresent();
+        if (stack == null) {
+            throw new EmptyStackException();
+        }
+        stack.end();
     }
 
     /**
      * This is called by client proxies. Calling a method on a client proxy means that we left the interception context of the calling bean. Therefore,
      * client proxies call this method to start a new interception context of the called (possibly intercepted) bean. If however there is not interception context
-     * at the time the proxy is called (meaning the caller is not intercepted), there is no need to create new interception context. This is an optimization as the
-     * first startInterceptorContext call is expensive.
+     * at the time the proxy is called (meaning the caller is not intercepted), there is no need to create new interception context. This is an optimization as
+     * no {@link CallFrame} is created in that case.
      *
      * If this method returns a non-null value, the caller of this method is required to call {@link Stack#end()} on the returned value.
      */
     public static Stack startIfNotEmpty() {
-        Stack stack = getStack();
-        if (!stack.elements.isEmpty()) {
+        Stack stack = getStackIfPresent();
+        if (stack != null && !stack.isEmpty()) {
             stack.push(CombinedInterceptorAndDecoratorStackMethodHandler.NULL_INSTANCE);
             return stack;
-        } else {
-            // if RequestScopedCache is not active, remove now to prevent ThreadLocal leak
-            stack.removeIfEmpty();
-            return null;
         }
+        return null;
     }
 
     /**
@@ -208,35 +155,16 @@ public class InterceptionDecorationContext {
      * @return
      */
     public static Stack getStack() {
-        Stack stack = interceptionContexts.get();
+        CallFrame frame = CallFrame.enter();
+        Stack stack = frame.getSlot(SLOT_KEY);
         if (stack == null) {
-            stack = new Stack(interceptionContexts);
-            interceptionContexts.set(stack);
+            stack = new Stack(frame);
         }
         return stack;
     }
 
-    private static CombinedInterceptorAndDecoratorStackMethodHandler pop(Stack stack) {
-        if (stack == null) {
-            throw new EmptyStackException();
-        } else {
-            return stack.pop();
-        }
-    }
-
-    private static CombinedInterceptorAndDecoratorStackMethodHandler peek(Stack stack) {
-        if (stack == null) {
-            throw new EmptyStackException();
-        } else {
-            return stack.peek();
-        }
-    }
-
-    private static boolean empty(Stack stack) {
-        if (stack == null) {
-            return true;
-        } else {
-            return stack.elements.isEmpty();
-        }
+    private static Stack getStackIfPresent() {
+        CallFrame frame = CallFrame.current();
+        return frame != null ? frame.<Stack> getSlot(SLOT_KEY) : null;
     }
 }
@@ -40,6 +40,8 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 
 import jakarta.enterprise.inject.spi.Bean;
 
@@ -54,6 +56,8 @@ import org.jboss.classfilewriter.util.DescriptorUtils;
 import org.jboss.weld.Container;
 import org.jboss.weld.bean.AbstractProducerBean;
 import org.jboss.weld.bean.builtin.AbstractBuiltInBean;
+import org.jboss.weld.bootstrap.api.ServiceRegistry;
+import org.jboss.weld.config.ConfigurationKey;
 import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.exceptions.DefinitionException;
 import org.jboss.weld.exceptions.WeldException;
@@ -64,11 +68,12 @@ import org.jboss.weld.proxy.WeldConstruct;
 import org.jboss.weld.security.GetDeclaredConstructorsAction;
 import org.jboss.weld.security.GetDeclaredMethodsAction;
 import org.jboss.weld.security.GetProtectionDomainAction;
-import org.jboss.weld.serialization.spi.BeanIdentifier;
 import org.jboss.weld.serialization.spi.ContextualStore;
 import org.jboss.weld.serialization.spi.ProxyServices;
+import org.jboss.weld.util.LazyValueHolder;
 import org.jboss.weld.util.Proxies;
 import org.jboss.weld.util.Proxies.TypeInfo;
+import org.jboss.weld.util.ValueHolder;
 import org.jboss.weld.util.bytecode.BytecodeUtils;
 import org.jboss.weld.util.bytecode.ConstructorUtils;
 import org.jboss.weld.util.bytecode.DeferredBytecode;
@@ -92,6 +97,8 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
 
     // Default proxy class name suffix
     public static final String PROXY_SUFFIX = "$Proxy$";
+    // distinguishes the names of shared proxy classes from the bean-specific ones
+    private static final String SHARED_PROXY_PREFIX = "Shared";
     // choose different package from what we have in tests to distinguish it clearly
     public static final String WELD_PROXY_PREFIX = "org.jboss.weld.generated.proxies";
     public static final String DEFAULT_PROXY_PACKAGE = WELD_PROXY_PREFIX + ".default";
@@ -107,6 +114,7 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
     protected static final String INIT_METHOD_NAME = "<init>";
     protected static final String INVOKE_METHOD_NAME = "invoke";
     protected static final String METHOD_HANDLER_FIELD_NAME = "methodHandler";
+    protected static final String GET_DIRECT_DISPATCH_TARGET_METHOD_NAME = "getDirectDispatchTarget";
     static final String JAVA = "java";
     static final String JAKARTA = "jakarta";
     static final String NO_PACKAGE = "the class package is null or empty";
@@ -189,13 +197,29 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
     }
 
     static String getProxyName(String contextId, Class<?> proxiedBeanType, Set<? extends Type> typeClosure, Bean<?> bean) {
+        return getProxyName(contextId, proxiedBeanType, typeClosure, bean, false);
+    }
+
+    /**
+     * If <code>shared</code> is set to <code>true</code> the name of an interface-only proxy identifies the shape of the proxy, i.e. the proxied type and the
+     * interfaces, instead of the bean. Structurally identical proxies of different beans then share a single proxy class per class loader, even across
+     * deployments. This is only safe if the generated class does not depend on the bean and any bean-specific state is held in instance fields.
+     *
+     * @param contextId
+     * @param proxiedBeanType
+     * @param typeClosure
+     * @param bean
+     * @param shared
+     * @return the name of the proxy class without the suffix
+     */
+    static String getProxyName(String contextId, Class<?> proxiedBeanType, Set<? extends Type> typeClosure, Bean<?> bean, boolean shared) {
         TypeInfo typeInfo = TypeInfo.of(typeClosure);
         final String className;
         ProxyNameHolder holder;
         if (typeInfo.getSuperClass() == Object.class) {
             final StringBuilder name = new StringBuilder();
             //interface only bean.
-            holder = createCompoundProxyName(contextId, bean, typeInfo, name);
+            holder = createCompoundProxyName(contextId, bean, proxiedBeanType, typeInfo, name, shared);
         } else {
             boolean typeModified = false;
             for (Class<?> iface : typeInfo.getInterfaces()) {
@@ -209,7 +233,7 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
                 //which can happen with some creative use of the SPI
                 //interface only bean.
                 StringBuilder name = new StringBuilder(typeInfo.getSuperClass().getSimpleName() + "$");
-                holder = createCompoundProxyName(contextId, bean, typeInfo, name);
+                holder = createCompoundProxyName(contextId, bean, proxiedBeanType, typeInfo, name, shared);
             } else {
                 holder = new ProxyNameHolder(null, typeInfo.getSuperClass().getSimpleName(), bean);
             }
@@ -241,7 +265,8 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
         return proxyPackage + '.' + getEnclosingPrefix(proxiedBeanType) + className;
     }
 
-    private static ProxyNameHolder createCompoundProxyName(String contextId, Bean<?> bean, TypeInfo typeInfo, StringBuilder name) {
+    private static ProxyNameHolder createCompoundProxyName(String contextId, Bean<?> bean, Class<?> proxiedBeanType, TypeInfo typeInfo, StringBuilder name,
+            boolean shared) {
         String className;
         String proxyPackage = null;
         // we need a sorted collection without repetition, hence LinkedHashSet
@@ -280,21 +305,60 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
         //append the hash code of the bean id to be sure
         // However, it is safe to share a proxy class for built-in beans of the same type (e.g. Event)
         if (bean != null && !(bean instanceof AbstractBuiltInBean)) {
-            final BeanIdentifier id = Container.instance(contextId).services().get(ContextualStore.class).putIfAbsent(bean);
-            int idHash = id.hashCode();
+            // a shared proxy is identified by the fully qualified names of the proxied types instead
+            int hash = shared ? getProxyShapeHash(proxiedBeanType, typeInfo) : Container.instance(contextId).services().get(ContextualStore.class)
+                    .putIfAbsent(bean).hashCode();
             // add a separator so that WeldDefaultProxyServices can determine the correct full class name by first occurrence of "$"
             name.append("$");
-            name.append(Math.abs(idHash == Integer.MIN_VALUE ? 0 : idHash));
+            if (shared) {
+                name.append(SHARED_PROXY_PREFIX);
+            }
+            name.append(Math.abs(hash == Integer.MIN_VALUE ? 0 : hash));
         }
         className = name.toString();
         return new ProxyNameHolder(proxyPackage, className, bean);
     }
 
+    private static int getProxyShapeHash(Class<?> proxiedBeanType, TypeInfo typeInfo) {
+        // the order of the interfaces depends on the iteration order of the type closure
+        Set<String> names = new TreeSet<>();
+        for (Class<?> type : typeInfo.getInterfaces()) {
+            names.add(type.getName());
+        }
+        StringBuilder shape = new StringBuilder(proxiedBeanType.getName()).append(';').append(typeInfo.getSuperClass().getName());
+        for (String name : names) {
+            shape.append(';').append(name);
+        }
+        return shape.toString().hashCode();
+    }
+
     private static String getEnclosingPrefix(Class<?> clazz) {
         Class<?> encl = clazz.getEnclosingClass();
         return encl == null ? "" : getEnclosingPrefix(encl) + encl.getSimpleName() + '$';
     }
 
+    /**
+     * Returns a holder of the value computed by the given generator, usually a proxy class. The value is computed immediately unless
+     * {@link ConfigurationKey#PROXY_LAZY_GENERATION} is enabled, in which case the bytecode is generated upon the first {@link ValueHolder#get()}. If
+     * {@link ConfigurationKey#PROXY_PREGENERATION} is enabled the holder is also computed by the {@link ProxyWarmup} task.
+     *
+     * @param contextId
+     * @param bean the bean the value belongs to
+     * @param generator
+     * @return the holder
+     */
+    public static <V> ValueHolder<V> generate(String contextId, Bean<?> bean, Supplier<V> generator) {
+        LazyValueHolder<V> holder = LazyValueHolder.forSupplier(generator);
+        ServiceRegistry services = Container.instance(contextId).services();
+        ProxyWarmup warmup = services.get(ProxyWarmup.class);
+        if (warmup != null) {
+            warmup.register(bean, holder);
+        } else if (!services.get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.PROXY_LAZY_GENERATION)) {
+            holder.get();
+        }
+        return holder;
+    }
+
     /**
      * Convenience method to set the underlying bean instance for a proxy.
      *
@@ -724,6 +788,129 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
         createInterceptorBody(classMethod, method, staticConstructor);
     }
 
+    /**
+     * We can only use bytecode based invocation for some methods. At the moment we restrict it solely to public methods with public return and
+     * parameter types.
+     *
+     * @param method
+     * @return <code>true</code> if the method may be invoked on the target instance with typed bytecode, <code>false</code> otherwise
+     */
+    protected boolean isDirectDispatchAllowed(Method method) {
+        if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(method.getReturnType().getModifiers())) {
+            return false;
+        }
+        for (Class<?> paramType : method.getParameterTypes()) {
+            if (!Modifier.isPublic(paramType.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates the given method on the proxy class where the implementation invokes the method on the target provided by a
+     * {@link DirectDispatchMethodHandler} and only falls back to the method handler if no target is available.
+     * <p/>
+     * the generated bytecode is equivalent to:
+     * <p/>
+     * <code>
+     * Object target = ProxyFactory.getDirectDispatchTarget(methodHandler, DeclaringClass.class);
+     * if (target != null) {
+     *     Object result = ((DeclaringClass) target).method(param1, param2);
+     *     return result == target ? this : result;
+     * }
+     * return (RetType) methodHandler.invoke(this, method, null, new Object[] { param1, param2 });
+     * </code>
+     *
+     * @param classMethod the class method
+     * @param method any JLR method
+     * @param returnProxyForTarget if set to true the proxy is returned instead of the target if the method returns the target and the return type
+     *        matches the proxy type
+     */
+    protected void createDirectDispatchMethodBody(ClassMethod classMethod, MethodInformation method, boolean returnProxyForTarget, ClassMethod staticConstructor) {
+        createDirectDispatchMethodBody(classMethod, method, returnProxyForTarget, DEFAULT_METHOD_RESOLVER, staticConstructor);
+    }
+
+    /**
+     * @param bytecodeMethodResolver The resolver that returns the method passed to the method handler if no target is available
+     * @see #createDirectDispatchMethodBody(ClassMethod, MethodInformation, boolean, ClassMethod)
+     */
+    protected void createDirectDispatchMethodBody(ClassMethod classMethod, MethodInformation method, boolean returnProxyForTarget,
+            BytecodeMethodResolver bytecodeMethodResolver, ClassMethod staticConstructor) {
+        final CodeAttribute b = classMethod.getCodeAttribute();
+        b.aload(0);
+        getMethodHandlerField(classMethod.getClassFile(), b);
+        b.loadClass(method.getDeclaringClass());
+        b.invokestatic(ProxyFactory.class.getName(), GET_DIRECT_DISPATCH_TARGET_METHOD_NAME,
+                "(" + DescriptorUtils.makeDescriptor(MethodHandler.class) + LJAVA_LANG_CLASS + ")" + LJAVA_LANG_OBJECT);
+        b.dup();
+        final BranchEnd noTarget = b.ifnull();
+        b.checkcast(method.getDeclaringClass());
+
+        Class<?> returnType = method.getMethod().getReturnType();
+        boolean checkReturnedTarget = returnProxyForTarget && !returnType.isPrimitive() && isAssignableFromProxy(returnType);
+        if (checkReturnedTarget) {
+            // we need to dup the target so we still have it to compare to the return value
+            b.dup();
+        }
+        b.loadMethodParameters();
+        if (method.getMethod().getDeclaringClass().isInterface()) {
+            b.invokeinterface(method.getDeclaringClass(), method.getName(), method.getDescriptor());
+        } else {
+            b.invokevirtual(method.getDeclaringClass(), method.getName(), method.getDescriptor());
+        }
+        if (checkReturnedTarget) {
+            // currently we have result, target on the stack
+            b.dupX1();
+            // now we have result, target, result
+            final BranchEnd returnsTarget = b.ifAcmpeq();
+            b.returnInstruction();
+            b.branchEnd(returnsTarget);
+            // the method returned the target, return the proxy instead to prevent the target escaping
+            b.aload(0);
+            b.checkcast(returnType.getName());
+        }
+        b.returnInstruction();
+
+        // no target available, remove the null from the stack and use the method handler
+        b.branchEnd(noTarget);
+        b.pop();
+        invokeMethodHandler(classMethod, method, true, bytecodeMethodResolver, staticConstructor);
+    }
+
+    /**
+     *
+     * @param type
+     * @return <code>true</code> if the proxy instance is assignable to the given type, <code>false</code> otherwise
+     */
+    protected boolean isAssignableFromProxy(Class<?> type) {
+        if (type.isAssignableFrom(getProxySuperclass())) {
+            return true;
+        }
+        for (Class<?> additionalInterface : additionalInterfaces) {
+            if (type.isAssignableFrom(additionalInterface)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Called by the generated proxy methods.
+     *
+     * @param methodHandler the method handler of the proxy
+     * @param declaringClass the class declaring the invoked method
+     * @return the object the method should be invoked upon or <code>null</code> if the invocation must be handled by the method handler
+     * @throws Throwable if the target cannot be obtained
+     * @see #createDirectDispatchMethodBody(ClassMethod, MethodInformation, boolean, ClassMethod)
+     */
+    public static Object getDirectDispatchTarget(MethodHandler methodHandler, Class<?> declaringClass) throws Throwable {
+        if (methodHandler instanceof DirectDispatchMethodHandler) {
+            return ((DirectDispatchMethodHandler) methodHandler).getDirectDispatchTarget(declaringClass);
+        }
+        return null;
+    }
+
     /**
      * Creates the given method on the proxy class where the implementation
      * forwards the call directly to the method handler.
@@ -97,7 +97,7 @@ public class ProxyMethodHandler implements MethodHandler, Serializable, Metadata
             }
         } else if (thisMethod.getName().equals("_initMH")) {
             BeanLogger.LOG.settingNewMethodHandler(args[0], self.getClass());
-            return new ProxyMethodHandler(contextId, new TargetBeanInstance(args[0]), getBean());
+            return new DecoratorDelegateMethodHandler(contextId, args[0], getBean());
         } else {
             if (beanInstance == null) {
                 throw BeanLogger.LOG.beanInstanceNotSetOnProxy(getBean());
@@ -123,6 +123,14 @@ public class ProxyMethodHandler implements MethodHandler, Serializable, Metadata
         return bean;
     }
 
+    /**
+     *
+     * @return the bean instance calls are forwarded to
+     */
+    public BeanInstance getBeanInstance() {
+        return beanInstance;
+    }
+
     /**
      * Returns the underlying instance.
      * @return the underlying instance
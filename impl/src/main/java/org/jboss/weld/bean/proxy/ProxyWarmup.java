@@ -0,0 +1,215 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean.proxy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.executor.DaemonThreadFactory;
+import org.jboss.weld.logging.BootstrapLogger;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.util.ValueHolder;
+
+/**
+ * Generates proxy classes in the background once the container is initialized. The deployment only registers the proxy classes which would normally be
+ * generated eagerly and the normal-scoped beans which need a client proxy. After {@link #start(ClientProxyProvider, Iterable, ExecutorServices)} a single low-priority
+ * task generates them, the beans resolved for the most injection points first.
+ * <p>
+ * Every item is generated at most once - a thread which needs a proxy class still being generated by the warm-up task only waits for that particular item
+ * (see {@link org.jboss.weld.util.LazyValueHolder} and {@link ClientProxyProvider}).
+ * </p>
+ *
+ * @see ConfigurationKey#PROXY_PREGENERATION
+ * @see ProxyFactory#generate(String, Bean, java.util.function.Supplier)
+ */
+public class ProxyWarmup implements Service {
+
+    private static final String THREAD_NAME_PREFIX = "weld-proxy-warmup-";
+
+    private final String contextId;
+
+    private final Map<Bean<?>, AtomicInteger> injectionCounts;
+
+    private final Map<Bean<?>, List<ValueHolder<?>>> holders;
+
+    private final CompletableFuture<Void> completion;
+
+    private volatile boolean cancelled;
+
+    private boolean started;
+
+    public ProxyWarmup(String contextId) {
+        this.contextId = contextId;
+        this.injectionCounts = new ConcurrentHashMap<>();
+        this.holders = new LinkedHashMap<>();
+        this.completion = new CompletableFuture<>();
+    }
+
+    /**
+     *
+     * @param configuration
+     * @return <code>true</code> if proxy classes should be generated in the background, <code>false</code> otherwise
+     */
+    public static boolean isEnabled(WeldConfiguration configuration) {
+        return configuration.getBooleanProperty(ConfigurationKey.PROXY_PREGENERATION);
+    }
+
+    /**
+     * Records an injection point resolved to the given bean during validation. The counts determine the order of generation.
+     *
+     * @param bean
+     */
+    public void injected(Bean<?> bean) {
+        injectionCounts.computeIfAbsent(bean, b -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /**
+     * Registers a holder of the proxy classes of the given bean. The holder is computed by the warm-up task unless a thread needs it earlier. Holders
+     * registered once the warm-up task is started, e.g. for beans added at runtime, are not tracked and are only computed on demand.
+     *
+     * @param bean
+     * @param holder
+     */
+    public synchronized void register(Bean<?> bean, ValueHolder<?> holder) {
+        if (started || cancelled) {
+            return;
+        }
+        holders.computeIfAbsent(bean, b -> new ArrayList<>(2)).add(holder);
+    }
+
+    /**
+     * Submits the warm-up task. If no executor is available a dedicated daemon thread is used.
+     *
+     * @param clientProxyProvider the provider of client proxies, may be null if no client proxies should be generated
+     * @param normalScopedBeans the beans which need a client proxy
+     * @param executor the executor, may be null
+     */
+    public void start(ClientProxyProvider clientProxyProvider, Iterable<Bean<?>> normalScopedBeans, ExecutorServices executor) {
+        final Map<Bean<?>, List<ValueHolder<?>>> pending;
+        synchronized (this) {
+            started = true;
+            pending = new LinkedHashMap<>(holders);
+            holders.clear();
+        }
+        Set<Bean<?>> clientProxyBeans = new HashSet<>();
+        List<Bean<?>> ordered = new ArrayList<>(pending.keySet());
+        if (clientProxyProvider != null) {
+            for (Bean<?> bean : normalScopedBeans) {
+                if (clientProxyBeans.add(bean) && !pending.containsKey(bean)) {
+                    ordered.add(bean);
+                }
+            }
+        }
+        // The sort is stable - beans with the same count keep the deployment order
+        ordered.sort(Comparator.comparingInt(this::getInjectionCount).reversed());
+        injectionCounts.clear();
+
+        Runnable task = () -> run(ordered, pending, clientProxyProvider, clientProxyBeans);
+        try {
+            if (executor != null) {
+                executor.getTaskExecutor().execute(task);
+            } else {
+                new DaemonThreadFactory(new ThreadGroup(DaemonThreadFactory.WELD_WORKERS), THREAD_NAME_PREFIX).newThread(task).start();
+            }
+        } catch (RuntimeException e) {
+            // E.g. a rejected task - the proxies are generated on demand
+            BootstrapLogger.LOG.debugv("Unable to start proxy warm-up in {0}: {1}", contextId, e);
+            completion.complete(null);
+        }
+    }
+
+    private void run(List<Bean<?>> beans, Map<Bean<?>, List<ValueHolder<?>>> pending, ClientProxyProvider clientProxyProvider,
+            Set<Bean<?>> clientProxyBeans) {
+        Thread thread = Thread.currentThread();
+        int priority = thread.getPriority();
+        thread.setPriority(Thread.MIN_PRIORITY);
+        long start = System.currentTimeMillis();
+        try {
+            for (Bean<?> bean : beans) {
+                if (cancelled) {
+                    break;
+                }
+                try {
+                    List<ValueHolder<?>> beanHolders = pending.get(bean);
+                    if (beanHolders != null) {
+                        for (ValueHolder<?> holder : beanHolders) {
+                            holder.get();
+                        }
+                    }
+                    if (clientProxyBeans.contains(bean)) {
+                        clientProxyProvider.initClientProxy(bean);
+                    }
+                } catch (RuntimeException | LinkageError e) {
+                    // Not fatal - the same problem is reported when the proxy is needed
+                    BootstrapLogger.LOG.debugv("Unable to pre-generate proxy classes for {0}: {1}", bean, e);
+                }
+            }
+            BootstrapLogger.LOG.debugv("Proxy warm-up of {0} beans in {1} finished in {2} ms", beans.size(), contextId, System.currentTimeMillis() - start);
+        } finally {
+            thread.setPriority(priority);
+            completion.complete(null);
+        }
+    }
+
+    private int getInjectionCount(Bean<?> bean) {
+        AtomicInteger count = injectionCounts.get(bean);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     *
+     * @return the stage completed once all the registered proxy classes are generated, or completed exceptionally with a
+     *         {@link java.util.concurrent.CancellationException} if the container is shut down before
+     */
+    public CompletionStage<Void> getCompletion() {
+        return completion.minimalCompletionStage();
+    }
+
+    /**
+     *
+     * @return <code>true</code> if the warm-up task finished, <code>false</code> otherwise
+     */
+    public boolean isComplete() {
+        return completion.isDone();
+    }
+
+    @Override
+    public void cleanup() {
+        cancelled = true;
+        synchronized (this) {
+            holders.clear();
+        }
+        injectionCounts.clear();
+        // Do not leave the dependent stages waiting for a task which is not going to finish its work
+        completion.cancel(false);
+    }
+
+}
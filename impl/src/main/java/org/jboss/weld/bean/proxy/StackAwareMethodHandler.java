@@ -28,6 +28,11 @@ import org.jboss.weld.bean.proxy.InterceptionDecorationContext.Stack;
  */
 public interface StackAwareMethodHandler extends MethodHandler {
 
+    /**
+     * The method index used if the index of the invoked method is not known.
+     */
+    int NO_METHOD_INDEX = -1;
+
     /**
      * Is called when a method is invoked on a proxy instance associated with this handler. This method must process that method invocation.
      *
@@ -42,4 +47,23 @@ public interface StackAwareMethodHandler extends MethodHandler {
      * @throws Throwable if the method invocation fails.
      */
     Object invoke(Stack stack, Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable;
+
+    /**
+     * Is called by an intercepted subclass when a method is invoked on a proxy instance associated with this handler. The method index is assigned to the
+     * method when the subclass is generated and is unique within the subclass. Implementations may use the index to look up per-method data without hashing
+     * the {@link Method}. However, the index is meaningless for other proxy classes and so the data should be checked against the invoked method.
+     *
+     * @param stack the current {@link InterceptionDecorationContext} stack
+     * @param self the proxy instance.
+     * @param thisMethod the overridden method declared in the super class or interface.
+     * @param proceed the forwarder method for invoking the overridden method. It is null if the overridden method is abstract or declared in the interface.
+     * @param args an array of objects containing the values of the arguments passed in the method invocation on the proxy instance.
+     * @param methodIndex the index of the method within the proxy class or {@link #NO_METHOD_INDEX}
+     * @return the resulting value of the method invocation.
+     * @throws Throwable if the method invocation fails.
+     * @see #invoke(Stack, Object, Method, Method, Object[])
+     */
+    default Object invoke(Stack stack, Object self, Method thisMethod, Method proceed, Object[] args, int methodIndex) throws Throwable {
+        return invoke(stack, self, thisMethod, proceed, args);
+    }
 }
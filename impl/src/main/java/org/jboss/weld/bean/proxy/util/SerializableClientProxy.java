@@ -24,6 +24,7 @@ import jakarta.enterprise.inject.spi.Bean;
 
 import org.jboss.weld.Container;
 import org.jboss.weld.logging.BeanLogger;
+import org.jboss.weld.serialization.CompactSerialForm;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
 import org.jboss.weld.serialization.spi.ContextualStore;
 
@@ -48,6 +49,10 @@ public class SerializableClientProxy implements Serializable {
         this.contextId = contextId;
     }
 
+    private Object writeReplace() throws ObjectStreamException {
+        return CompactSerialForm.isEnabled(contextId) ? CompactSerialForm.clientProxy(contextId, beanId) : this;
+    }
+
     /**
      * Always returns the original proxy object that was serialized.
      *
@@ -17,11 +17,16 @@
 
 package org.jboss.weld.bean.proxy.util;
 
+import org.jboss.weld.bean.proxy.InterceptedSubclassFactory;
 import org.jboss.weld.bean.proxy.ProxyFactory;
 import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.serialization.spi.ProxyServices;
 
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
 import java.security.ProtectionDomain;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -30,12 +35,35 @@ import java.util.concurrent.ConcurrentMap;
  * This class is a default implementation of ProxyServices that will only be loaded if no other implementation is detected.
  * It supports class defining and attempts to use {@link MethodHandles.Lookup} if possible making it JDK  11+ friendly.
  * For classes in signed JARs and classes from Java internal packages, we are forced to use custom class loader.
+ * <p>
+ * Optionally, proxies may be defined as hidden nestmate classes of the proxied class on JDK 15+. A hidden class cannot be found by name, therefore it is
+ * registered in a map kept by this service and the map is cleared when the container shuts down. A hidden proxy class may then be unloaded together with the
+ * container even though the class loader of the bean stays. Intercepted subclasses may be extended by other proxies and proxies of serializable classes may
+ * be deserialized by name, so these are always defined as regular classes.
+ * </p>
  */
 public class WeldDefaultProxyServices implements ProxyServices {
 
+    private static final String SUBCLASS_SUFFIX = "_$$_Weld" + InterceptedSubclassFactory.PROXY_SUFFIX;
+
     // a map of parent CL -> our CL serving as a cache
     private ConcurrentMap<ClassLoader, WeldProxyDeclaringCL> clMap = new ConcurrentHashMap<ClassLoader, WeldProxyDeclaringCL>();
 
+    // a map of the CL of the original class -> hidden classes by their binary name
+    private final ConcurrentMap<ClassLoader, ConcurrentMap<String, Class<?>>> hiddenClasses;
+
+    public WeldDefaultProxyServices() {
+        this(false);
+    }
+
+    /**
+     *
+     * @param useHiddenClasses if set to <code>true</code> the proxies are defined as hidden classes if possible
+     */
+    public WeldDefaultProxyServices(boolean useHiddenClasses) {
+        this.hiddenClasses = useHiddenClasses && HiddenClasses.isSupported() ? new ConcurrentHashMap<>() : null;
+    }
+
     @Override
     public Class<?> defineClass(Class<?> originalClass, String className, byte[] classBytes, int off, int len) throws ClassFormatError {
         return defineClass(originalClass, className, classBytes, off, len, null);
@@ -57,7 +85,7 @@ public class WeldDefaultProxyServices implements ProxyServices {
                 return defineWithClassLoader(className, classBytes, classBytes.length, originalLoader, protectionDomain);
             } else {
                 // these classes go into existing packages, we will use MethodHandles to define them
-                return defineWithMethodLookup(className, classBytes, originalClass, originalLoader);
+                return defineWithMethodLookup(className, classBytes, originalClass, originalLoader, hiddenClasses != null && isHiddenClassAllowed(className, originalClass));
             }
         } catch (RuntimeException e) {
             throw e;
@@ -77,6 +105,13 @@ public class WeldDefaultProxyServices implements ProxyServices {
                 throw BeanLogger.LOG.cannotDetermineClassLoader(classBinaryName, originalClass);
             }
         }
+        if (hiddenClasses != null) {
+            ConcurrentMap<String, Class<?>> classes = hiddenClasses.get(loader);
+            Class<?> hiddenClass = classes != null ? classes.get(classBinaryName) : null;
+            if (hiddenClass != null) {
+                return hiddenClass;
+            }
+        }
         if (clMap.containsKey(loader)) {
             loader = clMap.get(loader);
         }
@@ -86,6 +121,13 @@ public class WeldDefaultProxyServices implements ProxyServices {
     @Override
     public void cleanup() {
         clMap.clear();
+        if (hiddenClasses != null) {
+            hiddenClasses.clear();
+        }
+    }
+
+    private static boolean isHiddenClassAllowed(String className, Class<?> originalClass) {
+        return !className.endsWith(SUBCLASS_SUFFIX) && !Serializable.class.isAssignableFrom(originalClass);
     }
 
     /**
@@ -127,9 +169,10 @@ public class WeldDefaultProxyServices implements ProxyServices {
      * @param classBytes class bytes
      * @param originalClass the original class from which we derived this proxy; this is used to get {@Lookup} object
      * @param loader class loader that loaded the original class
+     * @param hidden whether to define a hidden class if possible
      * @return
      */
-    private Class<?> defineWithMethodLookup(String classToDefineName, byte[] classBytes, Class<?> originalClass, ClassLoader loader) {
+    private Class<?> defineWithMethodLookup(String classToDefineName, byte[] classBytes, Class<?> originalClass, ClassLoader loader, boolean hidden) {
         Module thisModule = WeldDefaultProxyServices.class.getModule();
         try {
             Class<?> lookupBaseClass;
@@ -146,12 +189,85 @@ public class WeldDefaultProxyServices implements ProxyServices {
                 thisModule.addReads(lookupClassModule);
             }
             MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(lookupBaseClass, MethodHandles.lookup());
+            if (hidden) {
+                Class<?> hiddenClass = defineHiddenClass(lookup, classToDefineName, classBytes, loader);
+                if (hiddenClass != null) {
+                    return hiddenClass;
+                }
+            }
             return lookup.defineClass(classBytes);
         } catch (IllegalAccessException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private Class<?> defineHiddenClass(MethodHandles.Lookup lookup, String className, byte[] classBytes, ClassLoader loader) {
+        ConcurrentMap<String, Class<?>> classes = hiddenClasses.computeIfAbsent(loader, l -> new ConcurrentHashMap<>());
+        Class<?> existing = classes.get(className);
+        if (existing != null) {
+            return existing;
+        }
+        Class<?> hiddenClass;
+        try {
+            hiddenClass = HiddenClasses.define(lookup, classBytes);
+        } catch (IllegalAccessException e) {
+            // e.g. the lookup does not have full privilege access because the original class is in a named module
+            BeanLogger.LOG.catchingDebug(e);
+            return null;
+        }
+        // another thread may have defined the same proxy in the meantime, the redundant class is simply discarded
+        existing = classes.putIfAbsent(className, hiddenClass);
+        return existing != null ? existing : hiddenClass;
+    }
+
+    /**
+     * Access to {@code MethodHandles.Lookup.defineHiddenClass()} which is not available on JDK 11.
+     */
+    private static final class HiddenClasses {
+
+        private static final MethodHandle DEFINE_HIDDEN_CLASS;
+
+        private static final Object NESTMATE_OPTIONS;
+
+        static {
+            MethodHandle defineHiddenClass = null;
+            Object options = null;
+            try {
+                Class<?> classOption = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+                options = Array.newInstance(classOption, 1);
+                for (Object option : classOption.getEnumConstants()) {
+                    if ("NESTMATE".equals(((Enum<?>) option).name())) {
+                        Array.set(options, 0, option);
+                    }
+                }
+                defineHiddenClass = MethodHandles.publicLookup().findVirtual(MethodHandles.Lookup.class, "defineHiddenClass",
+                        MethodType.methodType(MethodHandles.Lookup.class, byte[].class, boolean.class, options.getClass())).asFixedArity();
+            } catch (ReflectiveOperationException e) {
+                // JDK 11 - 14
+                defineHiddenClass = null;
+            }
+            DEFINE_HIDDEN_CLASS = defineHiddenClass;
+            NESTMATE_OPTIONS = options;
+        }
+
+        private HiddenClasses() {
+        }
+
+        static boolean isSupported() {
+            return DEFINE_HIDDEN_CLASS != null;
+        }
+
+        static Class<?> define(MethodHandles.Lookup lookup, byte[] classBytes) throws IllegalAccessException {
+            try {
+                return ((MethodHandles.Lookup) DEFINE_HIDDEN_CLASS.invoke(lookup, classBytes, false, NESTMATE_OPTIONS)).lookupClass();
+            } catch (IllegalAccessException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
     /**
      * A class loader that should only be used to load Weld-prefixed proxies meaning those that have non-existent packages.
      * This is a workaround for JMPS approach ({@code MethodHandles.Lookup}) not being able to fulfil this scenario.
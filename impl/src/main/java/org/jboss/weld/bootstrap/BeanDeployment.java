@@ -221,6 +221,16 @@ public class BeanDeployment {
     }
 
     public void createBeans(Environment environment) {
+        createBuiltInBeans(environment);
+        beanDeployer.createClassBeans();
+    }
+
+    /**
+     * Registers the built-in beans and prepares the environment for the creation of class beans.
+     *
+     * @param environment
+     */
+    void createBuiltInBeans(Environment environment) {
         getBeanManager().getServices().get(WeldModules.class).preBeanRegistration(this, environment);
 
         /*
@@ -253,7 +263,6 @@ public class BeanDeployment {
         if (beanDeploymentArchive.getBeansXml() != null && beanDeploymentArchive.getBeansXml().isTrimmed()) {
             beanDeployer.getEnvironment().trim();
         }
-        beanDeployer.createClassBeans();
     }
 
     public void deploySpecialized(Environment environment) {
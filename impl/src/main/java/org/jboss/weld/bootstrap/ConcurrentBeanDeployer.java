@@ -16,7 +16,11 @@
  */
 package org.jboss.weld.bootstrap;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import jakarta.enterprise.inject.spi.Bean;
 
@@ -60,27 +64,124 @@ public class ConcurrentBeanDeployer extends BeanDeployer {
 
     @Override
     public void createClassBeans() {
-        final SetMultimap<Class<?>, SlimAnnotatedType<?>> otherWeldClasses = SetMultimap.newConcurrentSetMultimap();
+        createClassBeans(executor, Collections.singletonList(this), null);
+    }
+
+    @Override
+    public void createProducersAndObservers() {
+        createProducersAndObservers(executor, Collections.singletonList(this), null);
+    }
 
-        executor.invokeAllAndCheckForExceptions(new IterativeWorkerTaskFactory<SlimAnnotatedTypeContext<?>>(getEnvironment().getAnnotatedTypes()) {
+    /**
+     * Creates the class beans of all the given deployers at once. The classes of all the bean archives are fed into a single queue shared by the workers so
+     * that a large bean archive does not leave the other workers idle. Each class is still processed by the deployer of its own bean archive, i.e. the
+     * visibility rules are not affected.
+     *
+     * @param executor
+     * @param deployers
+     * @param tracker the time spent in each bean archive is reported to the tracker, may be null
+     */
+    static void createClassBeans(ExecutorServices executor, List<ConcurrentBeanDeployer> deployers, Tracker tracker) {
+        List<DeploymentWork<SlimAnnotatedTypeContext<?>>> work = new ArrayList<>();
+        List<ArchiveTime> times = new ArrayList<>(deployers.size());
+        List<SetMultimap<Class<?>, SlimAnnotatedType<?>>> otherWeldClasses = new ArrayList<>(deployers.size());
+        for (ConcurrentBeanDeployer deployer : deployers) {
+            ArchiveTime time = new ArchiveTime(deployer);
+            SetMultimap<Class<?>, SlimAnnotatedType<?>> other = SetMultimap.newConcurrentSetMultimap();
+            times.add(time);
+            otherWeldClasses.add(other);
+            for (SlimAnnotatedTypeContext<?> ctx : deployer.getEnvironment().getAnnotatedTypes()) {
+                work.add(new DeploymentWork<>(deployer, ctx, time, other));
+            }
+        }
+        executor.invokeAllAndCheckForExceptions(new IterativeWorkerTaskFactory<DeploymentWork<SlimAnnotatedTypeContext<?>>>(work) {
             @Override
-            protected void doWork(SlimAnnotatedTypeContext<?> ctx) {
-                createClassBean(ctx.getAnnotatedType(), otherWeldClasses);
+            protected void doWork(DeploymentWork<SlimAnnotatedTypeContext<?>> item) {
+                long start = System.nanoTime();
+                item.deployer.createClassBean(item.item.getAnnotatedType(), item.otherWeldClasses);
+                item.time.add(System.nanoTime() - start);
             }
         });
-
         // create session beans
-        ejbSupport.createSessionBeans(getEnvironment(), otherWeldClasses, getManager());
+        for (int i = 0; i < deployers.size(); i++) {
+            ConcurrentBeanDeployer deployer = deployers.get(i);
+            deployer.ejbSupport.createSessionBeans(deployer.getEnvironment(), otherWeldClasses.get(i), deployer.getManager());
+        }
+        report(tracker, "createClassBeans", times);
     }
 
-    @Override
-    public void createProducersAndObservers() {
-        executor.invokeAllAndCheckForExceptions(new IterativeWorkerTaskFactory<AbstractClassBean<?>>(getEnvironment().getClassBeans()) {
+    /**
+     * Creates the observer methods, producers and disposers of all the given deployers at once.
+     *
+     * @param executor
+     * @param deployers
+     * @param tracker the time spent in each bean archive is reported to the tracker, may be null
+     * @see #createClassBeans(ExecutorServices, List, Tracker)
+     */
+    static void createProducersAndObservers(ExecutorServices executor, List<ConcurrentBeanDeployer> deployers, Tracker tracker) {
+        List<DeploymentWork<AbstractClassBean<?>>> work = new ArrayList<>();
+        List<ArchiveTime> times = new ArrayList<>(deployers.size());
+        for (ConcurrentBeanDeployer deployer : deployers) {
+            ArchiveTime time = new ArchiveTime(deployer);
+            times.add(time);
+            for (AbstractClassBean<?> bean : deployer.getEnvironment().getClassBeans()) {
+                work.add(new DeploymentWork<>(deployer, bean, time, null));
+            }
+        }
+        executor.invokeAllAndCheckForExceptions(new IterativeWorkerTaskFactory<DeploymentWork<AbstractClassBean<?>>>(work) {
             @Override
-            protected void doWork(AbstractClassBean<?> bean) {
-                createObserversProducersDisposers(bean);
+            protected void doWork(DeploymentWork<AbstractClassBean<?>> item) {
+                long start = System.nanoTime();
+                item.deployer.createObserversProducersDisposers(item.item);
+                item.time.add(System.nanoTime() - start);
             }
         });
+        report(tracker, "createProducersAndObservers", times);
+    }
+
+    private static void report(Tracker tracker, String operation, List<ArchiveTime> times) {
+        if (tracker == null) {
+            return;
+        }
+        for (ArchiveTime time : times) {
+            tracker.split(operation + " " + time.deployer.getManager().getId() + " (" + TimeUnit.NANOSECONDS.toMillis(time.sum()) + " ms of worker time)");
+        }
+    }
+
+    /**
+     * A unit of work of a specific bean deployer.
+     */
+    private static class DeploymentWork<T> {
+
+        private final ConcurrentBeanDeployer deployer;
+
+        private final T item;
+
+        private final ArchiveTime time;
+
+        private final SetMultimap<Class<?>, SlimAnnotatedType<?>> otherWeldClasses;
+
+        DeploymentWork(ConcurrentBeanDeployer deployer, T item, ArchiveTime time, SetMultimap<Class<?>, SlimAnnotatedType<?>> otherWeldClasses) {
+            this.deployer = deployer;
+            this.item = item;
+            this.time = time;
+            this.otherWeldClasses = otherWeldClasses;
+        }
+
+    }
+
+    /**
+     * The time spent by all the workers processing the bean archive of a specific deployer.
+     */
+    @SuppressWarnings("serial")
+    private static class ArchiveTime extends LongAdder {
+
+        private final ConcurrentBeanDeployer deployer;
+
+        ArchiveTime(ConcurrentBeanDeployer deployer) {
+            this.deployer = deployer;
+        }
+
     }
 
     @Override
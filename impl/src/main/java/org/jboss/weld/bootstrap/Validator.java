@@ -81,6 +81,7 @@ import org.jboss.weld.bean.builtin.AbstractBuiltInBean;
 import org.jboss.weld.bean.builtin.AbstractDecorableBuiltInBean;
 import org.jboss.weld.bean.builtin.ee.EEResourceProducerField;
 import org.jboss.weld.bean.interceptor.CdiInterceptorFactory;
+import org.jboss.weld.bean.proxy.ProxyWarmup;
 import org.jboss.weld.bootstrap.api.Service;
 import org.jboss.weld.bootstrap.spi.BeansXml;
 import org.jboss.weld.bootstrap.spi.Metadata;
@@ -391,6 +392,11 @@ public class Validator implements Service {
             if (bean != null && Beans.isPassivatingScope(bean, beanManager)) {
                 validateInjectionPointPassivationCapable(ij, resolvedBean, beanManager);
             }
+            ProxyWarmup proxyWarmup = beanManager.getServices().get(ProxyWarmup.class);
+            if (proxyWarmup != null) {
+                // Beans resolved for more injection points get their proxies generated first
+                proxyWarmup.injected(resolvedBean);
+            }
         }
 
         for (PlugableValidator validator : plugableValidators) {
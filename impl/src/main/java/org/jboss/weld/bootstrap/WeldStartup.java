@@ -20,9 +20,11 @@ import static org.jboss.weld.config.ConfigurationKey.ROLLING_UPGRADES_ID_DELIMIT
 
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -48,6 +50,7 @@ import org.jboss.weld.Container;
 import org.jboss.weld.ContainerState;
 import org.jboss.weld.annotated.slim.SlimAnnotatedTypeStore;
 import org.jboss.weld.annotated.slim.SlimAnnotatedTypeStoreImpl;
+import org.jboss.weld.bean.CommonBean;
 import org.jboss.weld.bean.DecoratorImpl;
 import org.jboss.weld.bean.InterceptorImpl;
 import org.jboss.weld.bean.RIBean;
@@ -57,6 +60,7 @@ import org.jboss.weld.bean.builtin.BeanManagerImplBean;
 import org.jboss.weld.bean.builtin.ContextBean;
 import org.jboss.weld.bean.proxy.ProtectionDomainCache;
 import org.jboss.weld.bean.proxy.ProxyInstantiator;
+import org.jboss.weld.bean.proxy.ProxyWarmup;
 import org.jboss.weld.bean.proxy.util.WeldDefaultProxyServices;
 import org.jboss.weld.bootstrap.api.Environment;
 import org.jboss.weld.bootstrap.api.Service;
@@ -214,7 +218,7 @@ public class WeldStartup {
 
         if (!registry.contains(ProxyServices.class)) {
             // add our own default impl that supports class defining
-            registry.add(ProxyServices.class, new WeldDefaultProxyServices());
+            registry.add(ProxyServices.class, new WeldDefaultProxyServices(configuration.getBooleanProperty(ConfigurationKey.PROXY_HIDDEN_CLASSES)));
         }
         if (!registry.contains(SecurityServices.class)) {
             registry.add(SecurityServices.class, NoopSecurityServices.INSTANCE);
@@ -325,6 +329,9 @@ public class WeldStartup {
         services.add(ProtectionDomainCache.class, new ProtectionDomainCache());
 
         services.add(ProxyInstantiator.class, ProxyInstantiator.Factory.create(configuration));
+        if (ProxyWarmup.isEnabled(configuration)) {
+            services.add(ProxyWarmup.class, new ProxyWarmup(contextId));
+        }
 
         services.add(ObserverNotifierFactory.class, DefaultObserverNotifierFactory.INSTANCE);
 
@@ -431,13 +438,27 @@ public class WeldStartup {
 
     public void deployBeans() {
         tracker.start(Tracker.OP_DEPLOY_BEANS);
-        for (BeanDeployment deployment : getBeanDeployments()) {
-            deployment.createBeans(environment);
-        }
-        // we must use separate loops, otherwise cyclic specialization would not work
-        for (BeanDeployment deployment : getBeanDeployments()) {
-            deployment.getBeanDeployer().processClassBeanAttributes();
-            deployment.getBeanDeployer().createProducersAndObservers();
+        final ExecutorServices executor = deploymentManager.getServices().get(ExecutorServices.class);
+        final List<ConcurrentBeanDeployer> deployers = executor != null ? getConcurrentBeanDeployers() : null;
+        if (deployers != null) {
+            // all the bean archives share a single work queue so that the workers are not idle while a large archive is processed
+            for (BeanDeployment deployment : getBeanDeployments()) {
+                deployment.createBuiltInBeans(environment);
+            }
+            ConcurrentBeanDeployer.createClassBeans(executor, deployers, tracker);
+            for (BeanDeployment deployment : getBeanDeployments()) {
+                deployment.getBeanDeployer().processClassBeanAttributes();
+            }
+            ConcurrentBeanDeployer.createProducersAndObservers(executor, deployers, tracker);
+        } else {
+            for (BeanDeployment deployment : getBeanDeployments()) {
+                deployment.createBeans(environment);
+            }
+            // we must use separate loops, otherwise cyclic specialization would not work
+            for (BeanDeployment deployment : getBeanDeployments()) {
+                deployment.getBeanDeployer().processClassBeanAttributes();
+                deployment.getBeanDeployer().createProducersAndObservers();
+            }
         }
         for (BeanDeployment deployment : getBeanDeployments()) {
             deployment.getBeanDeployer().processProducerAttributes();
@@ -482,6 +503,54 @@ public class WeldStartup {
         tracker.end();
     }
 
+    /**
+     * Rewrites the runtime metadata of the beans, decorators and interceptors into shared immutable structures so that the duplicates created during
+     * bootstrap can be garbage collected.
+     */
+    private void compactMetadata() {
+        SharedObjectCache cache = deploymentManager.getServices().get(SharedObjectCache.class);
+        if (cache == null) {
+            return;
+        }
+        int total = 0;
+        int compacted = 0;
+        for (BeanDeployment beanDeployment : getBeanDeployments()) {
+            BeanManagerImpl beanManager = beanDeployment.getBeanManager();
+            for (Iterable<? extends Bean<?>> beans : Arrays.<Iterable<? extends Bean<?>>> asList(beanManager.getBeans(), beanManager.getDecorators(),
+                    beanManager.getInterceptors())) {
+                for (Bean<?> bean : beans) {
+                    if (bean instanceof CommonBean<?>) {
+                        total++;
+                        if (((CommonBean<?>) bean).compactAttributes(cache)) {
+                            compacted++;
+                        }
+                    }
+                }
+            }
+        }
+        BootstrapLogger.LOG.debugv("Compacted the attributes of {0} out of {1} beans", compacted, total);
+    }
+
+    /**
+     * The work of all the bean archives can only be scheduled at once if there are more archives and all of them use the concurrent deployer.
+     *
+     * @return the deployers of all the bean archives or null if the work cannot be scheduled at once
+     */
+    private List<ConcurrentBeanDeployer> getConcurrentBeanDeployers() {
+        Collection<BeanDeployment> deployments = getBeanDeployments();
+        if (deployments.size() < 2) {
+            return null;
+        }
+        List<ConcurrentBeanDeployer> deployers = new ArrayList<>(deployments.size());
+        for (BeanDeployment deployment : deployments) {
+            if (!(deployment.getBeanDeployer() instanceof ConcurrentBeanDeployer)) {
+                return null;
+            }
+            deployers.add((ConcurrentBeanDeployer) deployment.getBeanDeployer());
+        }
+        return deployers;
+    }
+
     public void validateBeans() {
         BootstrapLogger.LOG.validatingBeans();
         tracker.start(Tracker.OP_VALIDATE_BEANS);
@@ -524,6 +593,8 @@ public class WeldStartup {
         // clear the TypeSafeResolvers, so data that is only used at startup
         // is not kept around using up memory
         flushCaches();
+        // must be performed before the shared object cache is cleared
+        compactMetadata();
         deploymentManager.getServices().cleanupAfterBoot();
         deploymentManager.cleanupAfterBoot();
         for (BeanDeployment beanDeployment : getBeanDeployments()) {
@@ -569,6 +640,21 @@ public class WeldStartup {
 
         getContainer().setState(ContainerState.INITIALIZED);
 
+        // generate the proxy classes in the background so that the container is available immediately
+        ProxyWarmup proxyWarmup = deploymentManager.getServices().get(ProxyWarmup.class);
+        if (proxyWarmup != null) {
+            Set<Bean<?>> normalScopedBeans = new LinkedHashSet<>();
+            for (BeanDeployment beanDeployment : getBeanDeployments()) {
+                BeanManagerImpl beanManager = beanDeployment.getBeanManager();
+                for (Bean<?> bean : beanManager.getBeans()) {
+                    if (beanManager.isNormalScope(bean.getScope())) {
+                        normalScopedBeans.add(bean);
+                    }
+                }
+            }
+            proxyWarmup.start(deploymentManager.getClientProxyProvider(), normalScopedBeans, deploymentManager.getServices().get(ExecutorServices.class));
+        }
+
         final BeanDeploymentModules modules = deploymentManager.getServices().get(BeanDeploymentModules.class);
         if (modules != null) {
             // fire @Initialized(ApplicationScoped.class) for non-web modules
@@ -174,6 +174,13 @@ public enum ConfigurationKey {
     @Description("This optimization is used to reduce the HTTP session replication overhead. However, the inconsistency detection mechanism may cause problems in some development environments.")
     BEAN_IDENTIFIER_INDEX_OPTIMIZATION("org.jboss.weld.serialization.beanIdentifierIndexOptimization", true),
 
+    /**
+     * If set to <code>true</code>, Weld-internal serializable objects (e.g. contextual instances stored in the HTTP session, client proxies or bean holders) are
+     * written in a compact wire format. All the nodes of a cluster must use the same setting.
+     */
+    @Description("If set to <code>true</code>, Weld-internal serializable objects (e.g. contextual instances stored in the HTTP session, client proxies or bean holders) are written in a compact wire format. All the nodes of a cluster must use the same setting.")
+    SERIALIZATION_COMPACT_FORMAT("org.jboss.weld.serialization.compactFormat", false),
+
     /**
      * This option is deprecated and has no function since Weld 5.1.0.Final.
      * It will be removed in upcoming versions.
@@ -222,6 +229,30 @@ public enum ConfigurationKey {
     @Description("Weld supports a non-standard workaround to be able to create proxies for Java types which declare non-private non-static final methods. A regular expression. If an unproxyable type matches this pattern, the type is considered proxyable and final methods are ignored.")
     PROXY_IGNORE_FINAL_METHODS("org.jboss.weld.proxy.ignoreFinalMethods", ""),
 
+    /**
+     * If set to <code>true</code>, the proxy classes which are normally generated during deployment (e.g. decorator delegate proxies or proxies of decorated
+     * built-in beans) are only generated when first needed. Proxyability is still validated during deployment, without generating bytecode.
+     */
+    @Description("If set to <code>true</code>, the proxy classes which are normally generated during deployment (e.g. decorator delegate proxies or proxies of decorated built-in beans) are only generated when first needed. Proxyability is still validated during deployment.")
+    PROXY_LAZY_GENERATION("org.jboss.weld.proxy.lazyGeneration", false),
+
+    /**
+     * If set to <code>true</code>, the proxy classes are generated by a low-priority background task once the container is initialized, i.e. the deployment
+     * does not wait for the bytecode generation. The beans resolved for the most injection points are processed first. This option implies
+     * {@link #PROXY_LAZY_GENERATION}.
+     */
+    @Description("If set to <code>true</code>, the proxy classes are generated by a low-priority background task once the container is initialized. The beans resolved for the most injection points are processed first. This option implies lazy proxy class generation.")
+    PROXY_PREGENERATION("org.jboss.weld.proxy.pregeneration", false),
+
+    /**
+     * If set to <code>true</code> and Weld runs on JDK 15 or newer, the default {@link org.jboss.weld.serialization.spi.ProxyServices} implementation defines
+     * proxy classes as hidden nestmate classes of the proxied class. Such classes may be unloaded once the container is shut down. Intercepted subclasses
+     * and proxies of serializable classes are always defined as regular classes. This option has no effect if the integrator provides its own
+     * {@link org.jboss.weld.serialization.spi.ProxyServices}.
+     */
+    @Description("If set to <code>true</code> and Weld runs on JDK 15 or newer, proxy classes are defined as hidden classes by the default ProxyServices implementation. Intercepted subclasses and proxies of serializable classes are always defined as regular classes.")
+    PROXY_HIDDEN_CLASSES("org.jboss.weld.proxy.hiddenClasses", false),
+
     /**
      *  Conversation timeout in milliseconds. Default value is 600 000 ms.
      */
@@ -334,6 +365,28 @@ public enum ConfigurationKey {
     @Description("If set to true then when a contextual reference for a @SessionScoped or @ConversationScoped bean is obtained from a context backed by an HTTP session the instance is set again using HttpSession.setAttribute(). This allows to trigger session replication in some application servers.")
     RESET_HTTP_SESSION_ATTR_ON_BEAN_ACCESS("org.jboss.weld.context.resetHttpSessionAttributeOnBeanAccess", false),
 
+    /**
+     * If set to <code>true</code>, request-scoped instances of an HTTP request context are kept in a compact array-based bean store stored as a single request
+     * attribute, instead of storing each instance as a separate request attribute.
+     */
+    @Description("If set to <code>true</code>, request-scoped instances of an HTTP request context are kept in a compact array-based bean store stored as a single request attribute, instead of storing each instance as a separate request attribute.")
+    CONTEXT_REQUEST_ARRAY_BEAN_STORE("org.jboss.weld.context.request.arrayBeanStore", false),
+
+    /**
+     * If set to <code>true</code>, an event fired within a transaction is delivered to the transactional observer methods only once even if an equal event
+     * with the same qualifiers is fired again within the same transaction. Only applies if all the transactional notifications of a transaction are batched
+     * (i.e. the transaction synchronization registry is available).
+     */
+    @Description("If set to <code>true</code>, an event fired within a transaction is delivered to the transactional observer methods only once even if an equal event with the same qualifiers is fired again within the same transaction.")
+    TRANSACTIONAL_OBSERVERS_COALESCE_EVENTS("org.jboss.weld.event.transactionalObservers.coalesceEvents", false),
+
+    /**
+     * If set to <code>true</code>, the bean store of the Weld SE thread context is reused by subsequent activations on the same platform thread. The
+     * <code>@ThreadScoped</code> instances are still destroyed when the context is invalidated and deactivated.
+     */
+    @Description("If set to <code>true</code>, the bean store of the Weld SE thread context is reused by subsequent activations on the same platform thread.")
+    CONTEXT_THREAD_BEAN_STORE_REUSE("org.jboss.weld.context.thread.beanStoreReuse", false),
+
     ;
 
     /**
@@ -16,6 +16,7 @@
  */
 package org.jboss.weld.contexts;
 
+import static org.jboss.weld.contexts.conversation.ConversationExpiryIndex.EXPIRY_INDEX_ATTRIBUTE_NAME;
 import static org.jboss.weld.contexts.conversation.ConversationIdGenerator.CONVERSATION_ID_GENERATOR_ATTRIBUTE_NAME;
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
@@ -29,6 +30,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -43,9 +45,11 @@ import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.context.ConversationContext;
 import org.jboss.weld.context.ManagedConversation;
 import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.contexts.beanstore.AttributeNameIndex;
 import org.jboss.weld.contexts.beanstore.BoundBeanStore;
 import org.jboss.weld.contexts.beanstore.ConversationNamingScheme;
 import org.jboss.weld.contexts.beanstore.NamingScheme;
+import org.jboss.weld.contexts.conversation.ConversationExpiryIndex;
 import org.jboss.weld.contexts.conversation.ConversationIdGenerator;
 import org.jboss.weld.contexts.conversation.ConversationImpl;
 import org.jboss.weld.event.FastEvent;
@@ -71,6 +75,9 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
 
     private static final String PARAMETER_NAME = "cid";
 
+    // The maximum number of expired conversations ended during a single invalidation, the rest is ended by subsequent requests
+    private static final int EXPIRED_CONVERSATIONS_BATCH_SIZE = 16;
+
     private final AtomicReference<String> parameterName;
     private final AtomicLong defaultTimeout;
     private final AtomicLong concurrentAccessTimeout;
@@ -176,6 +183,10 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
         if (conversationMap != null && (resetHttpSessionAttributeOnBeanAccess || getSessionAttribute(request, CONVERSATIONS_ATTRIBUTE_NAME, false) == null)) {
             setSessionAttribute(request, CONVERSATIONS_ATTRIBUTE_NAME, conversationMap, false);
         }
+        Object expiryIndex = getRequestAttribute(request, EXPIRY_INDEX_ATTRIBUTE_NAME);
+        if (expiryIndex != null && (resetHttpSessionAttributeOnBeanAccess || getSessionAttribute(request, EXPIRY_INDEX_ATTRIBUTE_NAME, false) == null)) {
+            setSessionAttribute(request, EXPIRY_INDEX_ATTRIBUTE_NAME, expiryIndex, false);
+        }
     }
 
     public void sessionCreated() {
@@ -233,6 +244,10 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
                         throw ConversationLogger.LOG.noConversationFoundToRestore(cid);
                     }
                     associateRequest(conversation);
+                } else if (conversation.isTransient()) {
+                    // The conversation was ended while we were waiting for the lock
+                    associateRequestWithNewConversation();
+                    throw ConversationLogger.LOG.noConversationFoundToRestore(cid);
                 } else {
                     // CDI 6.7.4 we must activate a new transient conversation before we throw the exception
                     associateRequestWithNewConversation();
@@ -281,6 +296,10 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
                         getBeanStore().attach();
                         getConversationMap().put(getCurrentConversation().getId(), getCurrentConversation());
                     }
+                    if (!getCurrentConversation().isTransient()) {
+                        // The timeout might have changed as well
+                        scheduleExpiration(getCurrentConversation());
+                    }
                 }
             } finally {
                 // WELD-1690 always try to unlock the current conversation
@@ -302,14 +321,18 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
         Map<String, ManagedConversation> conversations = getConversationMap();
         Map<String, ManagedConversation> toClear = new HashMap<>();
         S session = getSessionFromRequest(getRequest(), false);
+        // only the conversations marked as ended may have become transient, there is no need to scan the whole map
+        Set<String> ended = getExpiryIndex().drainEnded();
+        if (ended.isEmpty()) {
+            return;
+        }
         // while synced, extract a map of conversations that we'll need to clean up, already removing them from map
         synchronized (conversations) {
-            Iterator<Entry<String, ManagedConversation>> entryIterator = conversations.entrySet().iterator();
-            while (entryIterator.hasNext()) {
-                Entry<String, ManagedConversation> entry = entryIterator.next();
-                if (entry.getValue().isTransient()) {
-                    toClear.put(entry.getKey(), entry.getValue());
-                    entryIterator.remove();
+            for (String id : ended) {
+                ManagedConversation conversation = conversations.get(id);
+                if (conversation != null && conversation.isTransient()) {
+                    toClear.put(id, conversation);
+                    conversations.remove(id);
                 }
             }
         }
@@ -326,21 +349,44 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
 
     public void conversationPromotedToLongRunning(ConversationImpl conversation) {
         getConversationMap().put(conversation.getId(), conversation);
+        scheduleExpiration(conversation);
+    }
+
+    /**
+     * The conversation with the given id was ended and should be removed from the conversation map at the end of the request.
+     *
+     * @param id the id of the ended conversation
+     */
+    public void conversationDemotedToTransient(String id) {
+        getExpiryIndex().markEnded(id);
     }
 
     @Override
     public void invalidate() {
         ManagedConversation currentConversation = getCurrentConversation();
         Map<String, ManagedConversation> conversations = getConversationMap();
+        ConversationExpiryIndex expiryIndex = getExpiryIndex();
+        // Only visit the conversations whose deadline passed, at most EXPIRED_CONVERSATIONS_BATCH_SIZE per request
+        List<String> candidates = new ArrayList<>();
+        if (expiryIndex.pollExpired(System.currentTimeMillis(), EXPIRED_CONVERSATIONS_BATCH_SIZE, candidates) == 0) {
+            return;
+        }
         synchronized (conversations) {
-            for (Entry<String, ManagedConversation> stringManagedConversationEntry : conversations.entrySet()) {
-                ManagedConversation conversation = stringManagedConversationEntry.getValue();
-                if (!currentConversation.equals(conversation) && !conversation.isTransient() && isExpired(conversation)) {
+            for (String id : candidates) {
+                ManagedConversation conversation = conversations.get(id);
+                if (conversation == null || conversation.isTransient()) {
+                    continue;
+                }
+                if (!currentConversation.equals(conversation) && isExpired(conversation)) {
                     // Try to lock the conversation and log warning if not successful - unlocking should not be necessary
                     if (!conversation.lock(0)) {
                         ConversationLogger.LOG.endLockedConversation(conversation.getId());
                     }
                     conversation.end();
+                    expiryIndex.markEnded(id);
+                } else {
+                    // The conversation was used in the meantime
+                    expiryIndex.schedule(id, getExpirationTime(conversation));
                 }
             }
         }
@@ -398,9 +444,15 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
             }
             // Extract contextual instances
             List<ContextualInstance<?>> contextualInstances = new ArrayList<>();
-            for (String id : new ConversationNamingScheme(getNamingSchemePrefix(), entry.getKey(), beanIdentifierIndex)
-                    .filterIds(getSessionAttributeNames(session))) {
-                contextualInstances.add((ContextualInstance<?>) getSessionAttributeFromSession(session, id));
+            NamingScheme namingScheme = new ConversationNamingScheme(getNamingSchemePrefix(), entry.getKey(), beanIdentifierIndex);
+            Object index = getSessionAttributeFromSession(session, namingScheme.getIndexAttributeName());
+            Collection<String> ids = index instanceof AttributeNameIndex ? ((AttributeNameIndex) index).getNames()
+                    : namingScheme.filterIds(getSessionAttributeNames(session));
+            for (String id : ids) {
+                ContextualInstance<?> contextualInstance = (ContextualInstance<?>) getSessionAttributeFromSession(session, id);
+                if (contextualInstance != null) {
+                    contextualInstances.add(contextualInstance);
+                }
             }
             contexts.put(entry.getKey(), contextualInstances);
         }
@@ -455,7 +507,15 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
     }
 
     private static boolean isExpired(ManagedConversation conversation) {
-        return System.currentTimeMillis() > (conversation.getLastUsed() + conversation.getTimeout());
+        return System.currentTimeMillis() > getExpirationTime(conversation);
+    }
+
+    private static long getExpirationTime(ManagedConversation conversation) {
+        return conversation.getLastUsed() + conversation.getTimeout();
+    }
+
+    private void scheduleExpiration(ManagedConversation conversation) {
+        getExpiryIndex().schedule(conversation.getId(), getExpirationTime(conversation));
     }
 
     @Override
@@ -502,6 +562,44 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
         return cast(conversationMap);
     }
 
+    private synchronized ConversationExpiryIndex getExpiryIndex() {
+        final Map<String, ManagedConversation> conversations = getConversationMap();
+        final R request = getRequest();
+        Object expiryIndex = getRequestAttribute(request, EXPIRY_INDEX_ATTRIBUTE_NAME);
+        if (expiryIndex == null) {
+            expiryIndex = getSessionAttribute(request, EXPIRY_INDEX_ATTRIBUTE_NAME, false);
+            if (expiryIndex == null) {
+                expiryIndex = buildExpiryIndex(conversations);
+                setRequestAttribute(request, EXPIRY_INDEX_ATTRIBUTE_NAME, expiryIndex);
+                setSessionAttribute(request, EXPIRY_INDEX_ATTRIBUTE_NAME, expiryIndex, false);
+            } else if (resetHttpSessionAttributeOnBeanAccess) {
+                setRequestAttribute(request, EXPIRY_INDEX_ATTRIBUTE_NAME, expiryIndex);
+                setSessionAttribute(request, EXPIRY_INDEX_ATTRIBUTE_NAME, expiryIndex, false);
+            } else {
+                setRequestAttribute(request, EXPIRY_INDEX_ATTRIBUTE_NAME, expiryIndex);
+            }
+        }
+        if (!(expiryIndex instanceof ConversationExpiryIndex)) {
+            throw ConversationLogger.LOG.unableToLoadConversations(EXPIRY_INDEX_ATTRIBUTE_NAME, expiryIndex, request);
+        }
+        return (ConversationExpiryIndex) expiryIndex;
+    }
+
+    private static ConversationExpiryIndex buildExpiryIndex(Map<String, ManagedConversation> conversations) {
+        ConversationExpiryIndex expiryIndex = new ConversationExpiryIndex();
+        // The session may already hold conversations, e.g. if it was replicated from a node running an older version
+        synchronized (conversations) {
+            for (Entry<String, ManagedConversation> entry : conversations.entrySet()) {
+                if (entry.getValue().isTransient()) {
+                    expiryIndex.markEnded(entry.getKey());
+                } else {
+                    expiryIndex.schedule(entry.getKey(), getExpirationTime(entry.getValue()));
+                }
+            }
+        }
+        return expiryIndex;
+    }
+
     @Override
     public ManagedConversation getCurrentConversation() {
         checkIsAssociated();
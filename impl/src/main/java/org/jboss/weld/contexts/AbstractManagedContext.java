@@ -27,6 +27,10 @@ public abstract class AbstractManagedContext extends AbstractContext implements
 
     private final ThreadLocal<ManagedState> state;
 
+    private volatile ActiveContexts activeContexts;
+
+    private volatile ActiveContexts.Scope scope;
+
     public AbstractManagedContext(String contextId, boolean multithreaded) {
         super(contextId, multithreaded);
         this.state = new ThreadLocal<ManagedState>();
@@ -39,6 +43,7 @@ public abstract class AbstractManagedContext extends AbstractContext implements
 
     protected void setActive(boolean active) {
         getManagedState().setActive(active);
+        stateChanged();
     }
 
     public void invalidate() {
@@ -68,6 +73,25 @@ public abstract class AbstractManagedContext extends AbstractContext implements
     protected void removeState() {
         ContextLogger.LOG.tracev("State thread-local removed: {0}", this);
         state.remove();
+        stateChanged();
+    }
+
+    /**
+     * Tracks the state of this context on the current thread in the given registry from now on.
+     *
+     * @param activeContexts
+     * @param scope
+     */
+    void setActiveContexts(ActiveContexts activeContexts, ActiveContexts.Scope scope) {
+        this.scope = scope;
+        this.activeContexts = activeContexts;
+    }
+
+    private void stateChanged() {
+        ActiveContexts activeContexts = this.activeContexts;
+        if (activeContexts != null) {
+            activeContexts.update(scope);
+        }
     }
 
     private ManagedState getManagedState() {
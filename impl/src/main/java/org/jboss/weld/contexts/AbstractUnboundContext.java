@@ -47,7 +47,11 @@ public abstract class AbstractUnboundContext extends AbstractManagedContext {
      * @param beanStore The bean store
      */
     protected void setBeanStore(BeanStore beanStore) {
-        this.beanStore.set(beanStore);
+        if (beanStore == null) {
+            this.beanStore.remove();
+        } else {
+            this.beanStore.set(beanStore);
+        }
     }
 
     @Override
@@ -0,0 +1,199 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.contexts;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jakarta.enterprise.context.spi.Context;
+
+import org.jboss.weld.logging.BeanManagerLogger;
+
+/**
+ * Keeps track of the contexts active on the current thread so that the active context of a scope does not have to be found by asking every registered
+ * context whether it is active.
+ * <p>
+ * A scope is tracked if all its contexts are {@link AbstractManagedContext}s. Each tracked scope is assigned a small index and a managed context updates the
+ * per-thread table whenever its state on the current thread changes, i.e. the active context is found with a single array load. The contexts of a scope
+ * which is not tracked, e.g. a custom context registered for a built-in scope, are scanned as before.
+ * </p>
+ * <p>
+ * More than one active context of the same scope is detected when a context is activated, the lookup then fails as before.
+ * </p>
+ *
+ * @see org.jboss.weld.manager.BeanManagerImpl#getContext(Class)
+ */
+public final class ActiveContexts {
+
+    // Marks a scope with more than one active context
+    private static final Object DUPLICATE = new Object();
+
+    private final ConcurrentMap<Class<? extends Annotation>, Scope> scopes;
+
+    private final ThreadLocal<Object[]> active;
+
+    private int nextIndex;
+
+    public ActiveContexts() {
+        this.scopes = new ConcurrentHashMap<>();
+        this.active = new ThreadLocal<>();
+    }
+
+    /**
+     *
+     * @param context the context
+     * @param registered the context returned by the lookup, e.g. a wrapper of the given context
+     */
+    public synchronized void register(Context context, Context registered) {
+        Scope scope = scopes.get(context.getScope());
+        if (scope == null) {
+            scope = new Scope(context.getScope(), nextIndex++);
+            scopes.put(context.getScope(), scope);
+        }
+        scope.contexts.add(registered);
+        if (isTrackable(context)) {
+            ((AbstractManagedContext) context).setActiveContexts(this, scope);
+            // The context might have been activated on the current thread already
+            update(scope);
+        } else {
+            scope.tracked = false;
+        }
+    }
+
+    /**
+     *
+     * @param scopeType
+     * @return the context of the given scope active on the current thread or null if there is no such context
+     * @throws IllegalStateException if there is more than one active context of the given scope
+     */
+    public Context get(Class<? extends Annotation> scopeType) {
+        Scope scope = scopes.get(scopeType);
+        if (scope == null) {
+            return null;
+        }
+        if (!scope.tracked) {
+            Object activeContext = scan(scope);
+            if (activeContext == DUPLICATE) {
+                throw BeanManagerLogger.LOG.duplicateActiveContexts(scopeType.getName());
+            }
+            return (Context) activeContext;
+        }
+        Object[] table = active.get();
+        if (table == null || scope.index >= table.length) {
+            return null;
+        }
+        Object activeContext = table[scope.index];
+        if (activeContext == DUPLICATE) {
+            throw BeanManagerLogger.LOG.duplicateActiveContexts(scopeType.getName());
+        }
+        return (Context) activeContext;
+    }
+
+    /**
+     * Updates the table of the current thread after the state of a context of the given scope changed.
+     *
+     * @param scope
+     */
+    void update(Scope scope) {
+        Object activeContext = scan(scope);
+        Object[] table = active.get();
+        if (table == null) {
+            if (activeContext == null) {
+                return;
+            }
+            table = new Object[Math.max(nextIndex, scope.index + 1)];
+            active.set(table);
+        } else if (scope.index >= table.length) {
+            if (activeContext == null) {
+                return;
+            }
+            Object[] newTable = new Object[Math.max(nextIndex, scope.index + 1)];
+            System.arraycopy(table, 0, newTable, 0, table.length);
+            table = newTable;
+            active.set(table);
+        }
+        table[scope.index] = activeContext;
+        if (activeContext == null) {
+            // Do not leave an empty table behind
+            for (Object context : table) {
+                if (context != null) {
+                    return;
+                }
+            }
+            active.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        scopes.clear();
+        active.remove();
+    }
+
+    private static Object scan(Scope scope) {
+        Context activeContext = null;
+        for (Context context : scope.contexts) {
+            if (context.isActive()) {
+                if (activeContext == null) {
+                    activeContext = context;
+                } else {
+                    return DUPLICATE;
+                }
+            }
+        }
+        return activeContext;
+    }
+
+    private static boolean isTrackable(Context context) {
+        if (!(context instanceof AbstractManagedContext)) {
+            return false;
+        }
+        // The state must only be changed through AbstractManagedContext
+        try {
+            return AbstractManagedContext.class.equals(context.getClass().getMethod("isActive").getDeclaringClass());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    static final class Scope {
+
+        private final Class<? extends Annotation> scopeType;
+
+        private final int index;
+
+        private final List<Context> contexts;
+
+        private volatile boolean tracked;
+
+        private Scope(Class<? extends Annotation> scopeType, int index) {
+            this.scopeType = scopeType;
+            this.index = index;
+            this.contexts = new CopyOnWriteArrayList<>();
+            this.tracked = true;
+        }
+
+        @Override
+        public String toString() {
+            return "Scope [" + scopeType.getName() + ", index=" + index + ", tracked=" + tracked + "]";
+        }
+
+    }
+
+}
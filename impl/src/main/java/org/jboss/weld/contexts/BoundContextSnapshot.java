@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.contexts;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.weld.context.BoundContext;
+import org.jboss.weld.contexts.beanstore.BoundBeanStore;
+import org.jboss.weld.contexts.cache.RequestScopedCache;
+
+/**
+ * An immutable snapshot of the bean stores bound to the current thread by a set of bound contexts, e.g. the request and session context of an HTTP request.
+ * <p>
+ * The snapshot may be installed on another thread without re-associating the contexts, i.e. the backing storage (request attributes, session attributes, etc.)
+ * is not read again. Note that the captured bean stores are shared, not copied - the snapshot must not be active on more than one thread at a time unless the
+ * underlying contexts are multithreaded.
+ * </p>
+ *
+ * @see #capture(BoundContext...)
+ * @see #activate()
+ */
+public final class BoundContextSnapshot {
+
+    private final AbstractBoundContext<?>[] contexts;
+
+    private final BoundBeanStore[] beanStores;
+
+    private BoundContextSnapshot(List<AbstractBoundContext<?>> contexts, List<BoundBeanStore> beanStores) {
+        this.contexts = contexts.toArray(new AbstractBoundContext<?>[0]);
+        this.beanStores = beanStores.toArray(new BoundBeanStore[0]);
+    }
+
+    /**
+     * Captures the bean stores currently bound to the given contexts. Contexts which are not associated on the current thread are ignored.
+     *
+     * @param contexts
+     * @return the snapshot
+     */
+    public static BoundContextSnapshot capture(BoundContext<?>... contexts) {
+        return capture(false, contexts);
+    }
+
+    /**
+     * Captures the bean stores currently bound to the given contexts and unbinds them from the current thread. Unlike
+     * {@link BoundContext#dissociate(Object)} the bean stores are not cleared so that the snapshot can be bound later, possibly on another thread.
+     *
+     * @param contexts
+     * @return the snapshot
+     */
+    public static BoundContextSnapshot captureAndRelease(BoundContext<?>... contexts) {
+        return capture(true, contexts);
+    }
+
+    private static BoundContextSnapshot capture(boolean release, BoundContext<?>[] contexts) {
+        List<AbstractBoundContext<?>> captured = new ArrayList<>(contexts.length);
+        List<BoundBeanStore> beanStores = new ArrayList<>(contexts.length);
+        for (BoundContext<?> context : contexts) {
+            if (context instanceof AbstractBoundContext) {
+                AbstractBoundContext<?> boundContext = (AbstractBoundContext<?>) context;
+                BoundBeanStore beanStore = boundContext.getBeanStore();
+                if (beanStore != null) {
+                    captured.add(boundContext);
+                    beanStores.add(beanStore);
+                    if (release) {
+                        boundContext.setBeanStore(null);
+                        boundContext.removeState();
+                    }
+                }
+            }
+        }
+        return new BoundContextSnapshot(captured, beanStores);
+    }
+
+    /**
+     *
+     * @return <code>true</code> if no bean store was captured, <code>false</code> otherwise
+     */
+    public boolean isEmpty() {
+        return contexts.length == 0;
+    }
+
+    /**
+     * Binds the captured bean stores to the current thread. This is an equivalent of {@link BoundContext#associate(Object)}, the contexts are not activated.
+     */
+    public void bind() {
+        for (int i = 0; i < contexts.length; i++) {
+            contexts[i].setBeanStore(beanStores[i]);
+            beanStores[i].resume();
+        }
+    }
+
+    /**
+     * Binds the captured bean stores to the current thread and activates the contexts. The returned activation must be closed in order to restore the
+     * previous state of the current thread. The captured bean stores are not cleared or destroyed.
+     *
+     * @return the activation
+     */
+    public Activation activate() {
+        return new Activation(this);
+    }
+
+    /**
+     *
+     * @param task
+     * @return a task which runs the given task with this snapshot activated
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            try (Activation activation = activate()) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Represents the snapshot installed on the current thread.
+     */
+    public static final class Activation implements AutoCloseable {
+
+        private final BoundContextSnapshot snapshot;
+
+        private final BoundBeanStore[] previousBeanStores;
+
+        private final boolean[] previouslyActive;
+
+        private final boolean cacheActive;
+
+        private boolean closed;
+
+        private Activation(BoundContextSnapshot snapshot) {
+            this.snapshot = snapshot;
+            int length = snapshot.contexts.length;
+            this.previousBeanStores = new BoundBeanStore[length];
+            this.previouslyActive = new boolean[length];
+            this.cacheActive = RequestScopedCache.isActive();
+            for (int i = 0; i < length; i++) {
+                AbstractBoundContext<?> context = snapshot.contexts[i];
+                previousBeanStores[i] = context.getBeanStore();
+                previouslyActive[i] = context.isActive();
+                context.setBeanStore(snapshot.beanStores[i]);
+                snapshot.beanStores[i].resume();
+                context.setActive(true);
+            }
+            // Cached contextual instances of the previous contexts must not leak into the snapshot
+            RequestScopedCache.beginRequest();
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            RequestScopedCache.endRequest();
+            for (int i = snapshot.contexts.length - 1; i >= 0; i--) {
+                AbstractBoundContext<?> context = snapshot.contexts[i];
+                context.setBeanStore(previousBeanStores[i]);
+                if (!previouslyActive[i]) {
+                    context.removeState();
+                }
+            }
+            if (cacheActive) {
+                RequestScopedCache.beginRequest();
+            }
+        }
+
+    }
+
+}
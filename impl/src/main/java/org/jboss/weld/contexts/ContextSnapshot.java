@@ -0,0 +1,235 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.contexts;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.ConversationScoped;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.context.SessionScoped;
+import jakarta.enterprise.context.spi.Context;
+import jakarta.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.weld.context.BoundContext;
+import org.jboss.weld.contexts.beanstore.BeanStore;
+import org.jboss.weld.contexts.beanstore.SharedBeanStore;
+import org.jboss.weld.injection.CurrentInjectionPoint;
+import org.jboss.weld.injection.ThreadLocalStack.ThreadLocalStackReference;
+import org.jboss.weld.logging.BeanManagerLogger;
+import org.jboss.weld.manager.BeanManagerImpl;
+
+/**
+ * An immutable snapshot of the request, session and conversation contexts active on the current thread, together with the current injection point. The
+ * snapshot may be activated on another thread, e.g. by a task submitted to an executor or by a stage of a {@link java.util.concurrent.CompletableFuture}
+ * pipeline, so that the task sees the same contextual instances as the thread which captured the snapshot.
+ * <p>
+ * Both bound contexts (see also {@link BoundContextSnapshot}) and unbound contexts, e.g. the request context activated by
+ * {@link jakarta.enterprise.context.control.ActivateRequestContext}, are captured. The bean stores are shared, not copied. Therefore:
+ * </p>
+ * <ul>
+ * <li>the snapshot does not extend the lifecycle of the contexts, i.e. the instances are destroyed when the original contexts are destroyed,</li>
+ * <li>a bound context must not be active on more than one thread at a time unless it is multithreaded; sequential stages of a pipeline are fine,</li>
+ * <li>a context of the same scope must not be active on the thread the snapshot is activated on.</li>
+ * </ul>
+ * <p>
+ * Only unbound contexts backed by a {@link SharedBeanStore} are captured, e.g. the request context. The store is shared by the capturing thread and all the
+ * threads the snapshot is activated on. If the unbound context is destroyed before the snapshot is activated, the activation fails with a
+ * {@link ContextNotActiveException}. A task which creates an instance after the context was destroyed fails as well and the instance is destroyed.
+ * </p>
+ *
+ * @see #capture(BeanManagerImpl)
+ * @see #activate()
+ */
+public final class ContextSnapshot {
+
+    @SuppressWarnings("unchecked")
+    private static final Class<? extends Annotation>[] PROPAGATED_SCOPES = new Class[] { RequestScoped.class, SessionScoped.class, ConversationScoped.class };
+
+    private final BoundContextSnapshot boundContexts;
+
+    private final AbstractUnboundContext[] unboundContexts;
+
+    private final BeanStore[] beanStores;
+
+    private final CurrentInjectionPoint currentInjectionPoint;
+
+    private final InjectionPoint injectionPoint;
+
+    private ContextSnapshot(BoundContextSnapshot boundContexts, List<AbstractUnboundContext> unboundContexts, List<BeanStore> beanStores,
+            CurrentInjectionPoint currentInjectionPoint, InjectionPoint injectionPoint) {
+        this.boundContexts = boundContexts;
+        this.unboundContexts = unboundContexts.toArray(new AbstractUnboundContext[0]);
+        this.beanStores = beanStores.toArray(new BeanStore[0]);
+        this.currentInjectionPoint = currentInjectionPoint;
+        this.injectionPoint = injectionPoint;
+    }
+
+    /**
+     * Captures the request, session and conversation contexts active on the current thread. Contexts which are neither bound nor unbound managed contexts,
+     * e.g. custom contexts, are ignored.
+     *
+     * @param manager
+     * @return the snapshot
+     */
+    public static ContextSnapshot capture(BeanManagerImpl manager) {
+        List<BoundContext<?>> boundContexts = new ArrayList<>(PROPAGATED_SCOPES.length);
+        List<AbstractUnboundContext> unboundContexts = new ArrayList<>(PROPAGATED_SCOPES.length);
+        List<BeanStore> beanStores = new ArrayList<>(PROPAGATED_SCOPES.length);
+        for (Class<? extends Annotation> scope : PROPAGATED_SCOPES) {
+            if (!manager.isContextActive(scope)) {
+                continue;
+            }
+            Context context = manager.getUnwrappedContext(scope);
+            if (context instanceof AbstractBoundContext) {
+                boundContexts.add((AbstractBoundContext<?>) context);
+            } else if (context instanceof AbstractUnboundContext) {
+                AbstractUnboundContext unboundContext = (AbstractUnboundContext) context;
+                BeanStore beanStore = unboundContext.getBeanStore();
+                // Other bean stores are only meant to be used by a single thread
+                if (beanStore instanceof SharedBeanStore) {
+                    unboundContexts.add(unboundContext);
+                    beanStores.add(beanStore);
+                }
+            }
+        }
+        CurrentInjectionPoint currentInjectionPoint = manager.getServices().get(CurrentInjectionPoint.class);
+        return new ContextSnapshot(BoundContextSnapshot.capture(boundContexts.toArray(new BoundContext<?>[0])), unboundContexts, beanStores,
+                currentInjectionPoint, currentInjectionPoint.peek());
+    }
+
+    /**
+     *
+     * @return <code>true</code> if no context was captured, <code>false</code> otherwise
+     */
+    public boolean isEmpty() {
+        return unboundContexts.length == 0 && boundContexts.isEmpty();
+    }
+
+    /**
+     * Activates the captured contexts on the current thread. The returned activation must be closed in order to restore the previous state of the current
+     * thread. The captured contexts are not invalidated or destroyed.
+     *
+     * @return the activation
+     * @throws ContextNotActiveException if a captured unbound context was destroyed in the meantime
+     */
+    public Activation activate() {
+        return new Activation(this);
+    }
+
+    /**
+     *
+     * @param task
+     * @return a task which runs the given task with this snapshot activated
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            try (Activation activation = activate()) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     *
+     * @param task
+     * @return a task which calls the given task with this snapshot activated
+     */
+    public <V> Callable<V> wrap(Callable<V> task) {
+        return () -> {
+            try (Activation activation = activate()) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     *
+     * @param supplier
+     * @return a supplier which calls the given supplier with this snapshot activated, e.g. for {@link java.util.concurrent.CompletableFuture#supplyAsync(Supplier)}
+     */
+    public <V> Supplier<V> wrapSupplier(Supplier<V> supplier) {
+        return () -> {
+            try (Activation activation = activate()) {
+                return supplier.get();
+            }
+        };
+    }
+
+    /**
+     * Represents the snapshot installed on the current thread.
+     */
+    public static final class Activation implements AutoCloseable {
+
+        private final ContextSnapshot snapshot;
+
+        private final BeanStore[] previousBeanStores;
+
+        private final boolean[] previouslyActive;
+
+        private final BoundContextSnapshot.Activation boundContextsActivation;
+
+        private final ThreadLocalStackReference<InjectionPoint> injectionPoint;
+
+        private boolean closed;
+
+        private Activation(ContextSnapshot snapshot) {
+            // Check all the contexts first so that the state of the current thread is not modified if the activation fails
+            for (int i = 0; i < snapshot.unboundContexts.length; i++) {
+                if (((SharedBeanStore) snapshot.beanStores[i]).isDestroyed()) {
+                    throw BeanManagerLogger.LOG.contextNotActive(snapshot.unboundContexts[i].getScope());
+                }
+            }
+            this.snapshot = snapshot;
+            int length = snapshot.unboundContexts.length;
+            this.previousBeanStores = new BeanStore[length];
+            this.previouslyActive = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                AbstractUnboundContext context = snapshot.unboundContexts[i];
+                previousBeanStores[i] = context.getBeanStore();
+                previouslyActive[i] = context.isActive();
+                context.setBeanStore(snapshot.beanStores[i]);
+                context.setActive(true);
+            }
+            // Also takes care of the request scoped cache
+            this.boundContextsActivation = snapshot.boundContexts.activate();
+            this.injectionPoint = snapshot.currentInjectionPoint.pushIfNotNull(snapshot.injectionPoint);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            injectionPoint.pop();
+            boundContextsActivation.close();
+            for (int i = snapshot.unboundContexts.length - 1; i >= 0; i--) {
+                AbstractUnboundContext context = snapshot.unboundContexts[i];
+                context.setBeanStore(previousBeanStores[i]);
+                if (!previouslyActive[i]) {
+                    context.removeState();
+                }
+            }
+        }
+
+    }
+
+}
@@ -21,10 +21,10 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import jakarta.enterprise.context.spi.Contextual;
 import jakarta.enterprise.context.spi.CreationalContext;
@@ -33,7 +33,6 @@ import org.jboss.weld.construction.api.AroundConstructCallback;
 import org.jboss.weld.context.api.ContextualInstance;
 import org.jboss.weld.injection.spi.ResourceReference;
 import org.jboss.weld.interceptor.proxy.InterceptionContext;
-import org.jboss.weld.util.collections.WeldCollections;
 import org.jboss.weld.util.reflection.Reflections;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -49,14 +48,24 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
 
     private static final SerializationProxy SERIALIZATION_PROXY = new SerializationProxy();
 
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<CreationalContextImpl, DependentInstances> DEPENDENT_INSTANCES = AtomicReferenceFieldUpdater
+            .newUpdater(CreationalContextImpl.class, DependentInstances.class, "dependentInstances");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<CreationalContextImpl, DependentInstances> OWN_INSTANCES = AtomicReferenceFieldUpdater
+            .newUpdater(CreationalContextImpl.class, DependentInstances.class, "ownInstances");
+
     @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "Not needed after initial creation")
     private transient Map<Contextual<?>, Object> incompleteInstances;
     @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "Not needed after initial creation")
     private final transient Contextual<T> contextual;
 
-    private final List<ContextualInstance<?>> dependentInstances;
+    // The dependent instances of this context, created when the first one is added
+    private volatile DependentInstances dependentInstances;
 
-    private final List<ContextualInstance<?>> parentDependentInstances;
+    // The instances of this context if there is no parent context, created when the first one is added
+    private volatile DependentInstances ownInstances;
 
     private final CreationalContextImpl<?> parentCreationalContext;
 
@@ -69,16 +78,13 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
     private transient InterceptionContext aroundConstructInterceptionContext;
 
     public CreationalContextImpl(Contextual<T> contextual) {
-        this(contextual, null, Collections.synchronizedList(new ArrayList<ContextualInstance<?>>()), null);
+        this(contextual, null, null);
     }
 
-    private CreationalContextImpl(Contextual<T> contextual, Map<Contextual<?>, Object> incompleteInstances,
-            List<ContextualInstance<?>> parentDependentInstancesStore, CreationalContextImpl<?> parentCreationalContext) {
+    private CreationalContextImpl(Contextual<T> contextual, Map<Contextual<?>, Object> incompleteInstances, CreationalContextImpl<?> parentCreationalContext) {
         this.incompleteInstances = incompleteInstances;
         this.contextual = contextual;
         // this is direct ref by intention - to track dependencies hierarchy
-        this.dependentInstances = Collections.synchronizedList(new ArrayList<ContextualInstance<?>>());
-        this.parentDependentInstances = parentDependentInstancesStore;
         this.parentCreationalContext = parentCreationalContext;
         this.constructorInterceptionSuppressed = false;
     }
@@ -86,9 +92,6 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
     private CreationalContextImpl() {
         this.contextual = null;
         this.parentCreationalContext = null;
-        // We can't use immutable empty lists because of some rare scenarios with Instance.get()
-        this.dependentInstances = Collections.synchronizedList(new ArrayList<ContextualInstance<?>>());
-        this.parentDependentInstances = Collections.synchronizedList(new ArrayList<ContextualInstance<?>>());
     }
 
     public void push(T incompleteInstance) {
@@ -99,11 +102,11 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
     }
 
     public <S> CreationalContextImpl<S> getCreationalContext(Contextual<S> contextual) {
-        return new CreationalContextImpl<S>(contextual, incompleteInstances, dependentInstances, this);
+        return new CreationalContextImpl<S>(contextual, incompleteInstances, this);
     }
 
     public <S> CreationalContextImpl<S> getProducerReceiverCreationalContext(Contextual<S> contextual) {
-        return new CreationalContextImpl<S>(contextual, incompleteInstances != null ? new HashMap<Contextual<?>, Object>(incompleteInstances) : null, Collections.synchronizedList(new ArrayList<ContextualInstance<?>>()), null);
+        return new CreationalContextImpl<S>(contextual, incompleteInstances != null ? new HashMap<Contextual<?>, Object>(incompleteInstances) : null, null);
     }
 
     public <S> S getIncompleteInstance(Contextual<S> bean) {
@@ -115,7 +118,33 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
     }
 
     public void addDependentInstance(ContextualInstance<?> contextualInstance) {
-        parentDependentInstances.add(contextualInstance);
+        if (parentCreationalContext != null) {
+            parentCreationalContext.getDependentInstancesStore().add(contextualInstance);
+        } else {
+            getOwnInstancesStore().add(contextualInstance);
+        }
+    }
+
+    private DependentInstances getDependentInstancesStore() {
+        DependentInstances instances = dependentInstances;
+        if (instances == null) {
+            instances = new DependentInstances();
+            if (!DEPENDENT_INSTANCES.compareAndSet(this, null, instances)) {
+                instances = dependentInstances;
+            }
+        }
+        return instances;
+    }
+
+    private DependentInstances getOwnInstancesStore() {
+        DependentInstances instances = ownInstances;
+        if (instances == null) {
+            instances = new DependentInstances();
+            if (!OWN_INSTANCES.compareAndSet(this, null, instances)) {
+                instances = ownInstances;
+            }
+        }
+        return instances;
     }
 
     public void release() {
@@ -124,8 +153,9 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
 
     // should not be public
     public void release(Contextual<T> contextual, T instance) {
-        synchronized (dependentInstances) {
-            for (ContextualInstance<?> dependentInstance : dependentInstances) {
+        DependentInstances instances = dependentInstances;
+        if (instances != null) {
+            for (ContextualInstance<?> dependentInstance : instances.getAll()) {
                 // do not destroy contextual again, since it's just being destroyed
                 if (contextual == null || !(dependentInstance.getContextual().equals(contextual))) {
                     destroy(dependentInstance);
@@ -151,42 +181,46 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
     }
 
     /**
-     * Returns an unmodifiable list of dependent instances.
+     * Returns an unmodifiable snapshot of dependent instances.
      */
     public List<ContextualInstance<?>> getDependentInstances() {
-        return WeldCollections.immutableListView(dependentInstances);
+        DependentInstances instances = dependentInstances;
+        return instances == null ? Collections.emptyList() : Collections.unmodifiableList(instances.getAll());
+    }
+
+    @Override
+    public boolean hasDependentInstances() {
+        DependentInstances instances = dependentInstances;
+        return instances != null && !instances.isEmpty();
     }
 
     // Serialization
     protected Object writeReplace() throws ObjectStreamException {
-        synchronized (dependentInstances) {
-            for (Iterator<ContextualInstance<?>> iterator = dependentInstances.iterator(); iterator.hasNext();) {
-                ContextualInstance<?> instance = iterator.next();
-                if (!(instance.getInstance() instanceof Serializable)) {
-                    /*
-                     * This non-serializable instance is a dependency of a passivation capable enclosing bean. This means that:
-                     *
-                     * 1) The dependency was injected into a transient field, constructor or initializer injection point of the enclosing bean instance
-                     * (otherwise it would not pass deployment validation) and is no longer retained by the enclosing bean instance. In that case we can safely
-                     * destroy the dependent instance now.
-                     *
-                     * 2) Same as above but the enclosing bean instance retained a reference in a field that Weld has no control of. If that is the case and the
-                     * bean class does not implement serialization properly, serialization of the bean instance is going to fail anyway so it is safe to destroy
-                     * the dependent instance now.
-                     *
-                     * 3) Same as above but the bean class implements serialization properly (writeObject) so that it is able to reconstruct the state of the
-                     * injected dependency on activation. If that's the case we would probably won't be able to destroy the dependency later on anyway since the
-                     * identity of the dependent instance would change. Destroying it now may be risky in certain circumstances.
-                     *
-                     * @see https://issues.jboss.org/browse/WELD-1076
-                     */
-                    destroy(instance);
-                    iterator.remove();
-                }
+        DependentInstances instances = dependentInstances;
+        if (instances != null) {
+            /*
+             * A non-serializable dependent instance is a dependency of a passivation capable enclosing bean. This means that:
+             *
+             * 1) The dependency was injected into a transient field, constructor or initializer injection point of the enclosing bean instance
+             * (otherwise it would not pass deployment validation) and is no longer retained by the enclosing bean instance. In that case we can safely
+             * destroy the dependent instance now.
+             *
+             * 2) Same as above but the enclosing bean instance retained a reference in a field that Weld has no control of. If that is the case and the
+             * bean class does not implement serialization properly, serialization of the bean instance is going to fail anyway so it is safe to destroy
+             * the dependent instance now.
+             *
+             * 3) Same as above but the bean class implements serialization properly (writeObject) so that it is able to reconstruct the state of the
+             * injected dependency on activation. If that's the case we would probably won't be able to destroy the dependency later on anyway since the
+             * identity of the dependent instance would change. Destroying it now may be risky in certain circumstances.
+             *
+             * @see https://issues.jboss.org/browse/WELD-1076
+             */
+            for (ContextualInstance<?> instance : instances.removeIf(i -> !(i.getInstance() instanceof Serializable))) {
+                destroy(instance);
             }
         }
         // Return a serialization proxy for an "empty" instance
-        if (parentCreationalContext == null && dependentInstances.isEmpty() && (parentDependentInstances == null || parentDependentInstances.isEmpty())) {
+        if (parentCreationalContext == null && (instances == null || instances.isEmpty()) && (ownInstances == null || ownInstances.isEmpty())) {
             return SERIALIZATION_PROXY;
         }
         return this;
@@ -210,14 +244,12 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
      * @return true if the instance was destroyed, false otherwise
      */
     public boolean destroyDependentInstance(T instance) {
-        synchronized (dependentInstances) {
-            for (Iterator<ContextualInstance<?>> iterator = dependentInstances.iterator(); iterator.hasNext();) {
-                ContextualInstance<?> contextualInstance = iterator.next();
-                if (contextualInstance.getInstance() == instance) {
-                    iterator.remove();
-                    destroy(contextualInstance);
-                    return true;
-                }
+        DependentInstances instances = dependentInstances;
+        if (instances != null) {
+            ContextualInstance<?> contextualInstance = instances.remove(instance);
+            if (contextualInstance != null) {
+                destroy(contextualInstance);
+                return true;
             }
         }
         return false;
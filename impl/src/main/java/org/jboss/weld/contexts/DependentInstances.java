@@ -0,0 +1,164 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.contexts;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Predicate;
+
+import org.jboss.weld.context.api.ContextualInstance;
+
+/**
+ * The dependent instances of a {@link CreationalContextImpl}. Adding an instance is a single CAS on the head of a linked list, no lock is acquired and no
+ * storage is allocated until the first instance is added. Removal is rare and guarded by the monitor of this object. Only removals unlink nodes other than
+ * the head, so concurrent additions and removals never lose an instance.
+ * <p>
+ * The instances are returned in the order in which they were added.
+ * </p>
+ */
+final class DependentInstances implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final AtomicReferenceFieldUpdater<DependentInstances, Node> HEAD = AtomicReferenceFieldUpdater.newUpdater(DependentInstances.class,
+            Node.class, "head");
+
+    // The most recently added instance
+    private transient volatile Node head;
+
+    void add(ContextualInstance<?> instance) {
+        Node node = new Node(instance);
+        Node current;
+        do {
+            current = head;
+            node.next = current;
+        } while (!HEAD.compareAndSet(this, current, node));
+    }
+
+    boolean isEmpty() {
+        return head == null;
+    }
+
+    /**
+     *
+     * @return a snapshot of the instances, in the order in which they were added
+     */
+    List<ContextualInstance<?>> getAll() {
+        Node node = head;
+        if (node == null) {
+            return Collections.emptyList();
+        }
+        List<ContextualInstance<?>> instances = new ArrayList<>();
+        for (; node != null; node = node.next) {
+            instances.add(node.instance);
+        }
+        Collections.reverse(instances);
+        return instances;
+    }
+
+    /**
+     *
+     * @param instance
+     * @return the removed contextual instance holding the given instance or null if no such contextual instance was found
+     */
+    synchronized ContextualInstance<?> remove(Object instance) {
+        Node previous = null;
+        for (Node node = head; node != null; previous = node, node = node.next) {
+            if (node.instance.getInstance() == instance) {
+                unlink(previous, node);
+                return node.instance;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes the instances matching the given filter.
+     *
+     * @param filter
+     * @return the removed instances, in the order in which they were added
+     */
+    synchronized List<ContextualInstance<?>> removeIf(Predicate<ContextualInstance<?>> filter) {
+        List<ContextualInstance<?>> removed = new ArrayList<>();
+        Node previous = null;
+        for (Node node = head; node != null; node = node.next) {
+            if (filter.test(node.instance)) {
+                unlink(previous, node);
+                removed.add(node.instance);
+            } else {
+                previous = node;
+            }
+        }
+        Collections.reverse(removed);
+        return removed;
+    }
+
+    private void unlink(Node previous, Node node) {
+        if (previous == null) {
+            if (HEAD.compareAndSet(this, node, node.next)) {
+                return;
+            }
+            // An instance was added in the meantime, the node is not the head anymore
+            previous = head;
+            while (previous.next != node) {
+                previous = previous.next;
+            }
+        }
+        previous.next = node.next;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        List<ContextualInstance<?>> instances = getAll();
+        out.writeInt(instances.size());
+        for (ContextualInstance<?> instance : instances) {
+            out.writeObject(instance);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            add((ContextualInstance<?>) in.readObject());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getAll().toString();
+    }
+
+    private static final class Node {
+
+        private final ContextualInstance<?> instance;
+
+        private volatile Node next;
+
+        private Node(ContextualInstance<?> instance) {
+            this.instance = instance;
+        }
+
+    }
+
+}
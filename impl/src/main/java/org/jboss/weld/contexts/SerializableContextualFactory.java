@@ -16,6 +16,7 @@
  */
 package org.jboss.weld.contexts;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 
 import jakarta.enterprise.context.spi.Contextual;
@@ -26,6 +27,7 @@ import org.jboss.weld.Container;
 import org.jboss.weld.bean.ForwardingBean;
 import org.jboss.weld.bean.WrappedContextual;
 import org.jboss.weld.serialization.BeanIdentifierIndex;
+import org.jboss.weld.serialization.CompactSerialForm;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
 import org.jboss.weld.serialization.spi.ContextualStore;
 import org.jboss.weld.serialization.spi.helpers.SerializableContextual;
@@ -63,6 +65,20 @@ public class SerializableContextualFactory {
         }
     }
 
+    /**
+     *
+     * @param contextual
+     * @return the id of the container the given wrapper was created for, or <code>null</code> if the given contextual was not created by this factory
+     */
+    public static String getContextId(SerializableContextual<?, ?> contextual) {
+        if (contextual instanceof AbstractSerializableBean) {
+            return ((AbstractSerializableBean<?, ?>) contextual).holder.contextId;
+        } else if (contextual instanceof AbstractSerializableContextual) {
+            return ((AbstractSerializableContextual<?, ?>) contextual).holder.contextId;
+        }
+        return null;
+    }
+
     private static final class SerializableContextualHolder<C extends Contextual<I>, I> implements Serializable {
 
         private static final long serialVersionUID = 46941665668478370L;
@@ -135,6 +151,16 @@ public class SerializableContextualFactory {
             return cached;
         }
 
+        /**
+         * Use the compact form if enabled, unless the contextual itself is serializable.
+         */
+        Object replace(Object wrapper) {
+            if (serializable == null && CompactSerialForm.isEnabled(contextId)) {
+                return CompactSerialForm.contextual(contextId, identifierIndex != null ? getBeanIdentifierIndex().getIdentifier(identifierIndex) : identifier);
+            }
+            return wrapper;
+        }
+
         private void loadContextual() {
             if (serializable != null) {
                 cached = serializable;
@@ -170,6 +196,10 @@ public class SerializableContextualFactory {
             return get();
         }
 
+        protected Object writeReplace() throws ObjectStreamException {
+            return holder.replace(this);
+        }
+
         @Override
         public boolean equals(Object obj) {
             // if the arriving object is also a AbstractSerializableBean, then unwrap it
@@ -207,6 +237,10 @@ public class SerializableContextualFactory {
             return holder.get();
         }
 
+        protected Object writeReplace() throws ObjectStreamException {
+            return holder.replace(this);
+        }
+
         @Override
         public boolean equals(Object obj) {
             // if the arriving object is also a AbstractSerializableContextual, then unwrap it
@@ -16,9 +16,12 @@
  */
 package org.jboss.weld.contexts;
 
+import java.io.ObjectStreamException;
+
 import jakarta.enterprise.context.spi.Contextual;
 import jakarta.enterprise.context.spi.CreationalContext;
 
+import org.jboss.weld.serialization.CompactSerialForm;
 import org.jboss.weld.serialization.spi.ContextualStore;
 import org.jboss.weld.serialization.spi.helpers.SerializableContextual;
 import org.jboss.weld.serialization.spi.helpers.SerializableContextualInstance;
@@ -55,6 +58,13 @@ public class SerializableContextualInstanceImpl<C extends Contextual<I>, I> impl
         return creationalContext;
     }
 
+    private Object writeReplace() throws ObjectStreamException {
+        if (CompactSerialForm.isEnabled(SerializableContextualFactory.getContextId(contextual))) {
+            return CompactSerialForm.contextualInstance(contextual, instance, creationalContext);
+        }
+        return this;
+    }
+
     @Override
     public String toString() {
         return "Bean: " + contextual + "; Instance: " + instance + "; CreationalContext: " + creationalContext;
@@ -65,6 +65,14 @@ public interface WeldCreationalContext<T> extends org.jboss.weld.construction.ap
      */
     List<ContextualInstance<?>> getDependentInstances();
 
+    /**
+     *
+     * @return <code>true</code> if there is at least one dependent instance, <code>false</code> otherwise
+     */
+    default boolean hasDependentInstances() {
+        return !getDependentInstances().isEmpty();
+    }
+
     /**
      * Destroys dependent instance
      * @param instance
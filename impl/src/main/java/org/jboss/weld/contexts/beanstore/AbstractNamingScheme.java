@@ -57,6 +57,11 @@ public abstract class AbstractNamingScheme implements NamingScheme {
         return ids.stream().map(this::prefix).collect(Collectors.toList());
     }
 
+    @Override
+    public String getIndexAttributeName() {
+        return AttributeNameIndex.ATTRIBUTE_NAME_PREFIX + getPrefix();
+    }
+
     protected abstract String getPrefix();
 
     protected String getDelimiter() {
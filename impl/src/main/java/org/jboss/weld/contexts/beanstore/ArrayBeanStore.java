@@ -0,0 +1,219 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.contexts.beanstore;
+
+import static org.jboss.weld.util.reflection.Reflections.cast;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+
+/**
+ * A small open-addressed bean store. Identifiers and instances are kept in two parallel arrays, lookups use linear probing and removals use backward shift
+ * deletion, so that no tombstones are needed.
+ * <p>
+ * Compared to {@link HashMapBeanStore} no entry objects are allocated and {@link #clear()} only clears the arrays. This construct is not thread safe.
+ * </p>
+ */
+public class ArrayBeanStore implements BeanStore {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private BeanIdentifier[] keys;
+
+    private ContextualInstance<?>[] values;
+
+    private int size;
+
+    public ArrayBeanStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     *
+     * @param capacity the initial capacity, rounded up to the nearest power of two
+     */
+    public ArrayBeanStore(int capacity) {
+        int length = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.keys = new BeanIdentifier[length];
+        this.values = new ContextualInstance<?>[length];
+    }
+
+    @Override
+    public <T> ContextualInstance<T> get(BeanIdentifier id) {
+        int idx = indexOf(id);
+        return idx < 0 ? null : cast(values[idx]);
+    }
+
+    @Override
+    public boolean contains(BeanIdentifier id) {
+        return indexOf(id) >= 0;
+    }
+
+    @Override
+    public <T> void put(BeanIdentifier id, ContextualInstance<T> contextualInstance) {
+        int mask = keys.length - 1;
+        int idx = hash(id) & mask;
+        BeanIdentifier key;
+        while ((key = keys[idx]) != null) {
+            if (key == id || key.equals(id)) {
+                values[idx] = contextualInstance;
+                return;
+            }
+            idx = (idx + 1) & mask;
+        }
+        keys[idx] = id;
+        values[idx] = contextualInstance;
+        // Keep the load factor below 0.5 so that probe sequences stay short
+        if (++size << 1 > keys.length) {
+            resize(keys.length << 1);
+        }
+    }
+
+    @Override
+    public <T> ContextualInstance<T> remove(BeanIdentifier id) {
+        int idx = indexOf(id);
+        if (idx < 0) {
+            return null;
+        }
+        ContextualInstance<T> removed = cast(values[idx]);
+        delete(idx);
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, null);
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * The iterator works on a snapshot of the identifiers so that the store may be modified during iteration.
+     */
+    @Override
+    public Iterator<BeanIdentifier> iterator() {
+        final BeanIdentifier[] snapshot = new BeanIdentifier[size];
+        int i = 0;
+        for (BeanIdentifier key : keys) {
+            if (key != null) {
+                snapshot[i++] = key;
+            }
+        }
+        return new Iterator<BeanIdentifier>() {
+
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return position < snapshot.length;
+            }
+
+            @Override
+            public BeanIdentifier next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return snapshot[position++];
+            }
+
+            @Override
+            public void remove() {
+                if (position == 0) {
+                    throw new IllegalStateException();
+                }
+                ArrayBeanStore.this.remove(snapshot[position - 1]);
+            }
+        };
+    }
+
+    @Override
+    public LockedBean lock(BeanIdentifier id) {
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int indexOf(BeanIdentifier id) {
+        int mask = keys.length - 1;
+        int idx = hash(id) & mask;
+        BeanIdentifier key;
+        while ((key = keys[idx]) != null) {
+            if (key == id || key.equals(id)) {
+                return idx;
+            }
+            idx = (idx + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void delete(int idx) {
+        int mask = keys.length - 1;
+        int gap = idx;
+        int next = (gap + 1) & mask;
+        BeanIdentifier key;
+        // Shift back the following entries of the cluster which would not be found otherwise
+        while ((key = keys[next]) != null) {
+            int home = hash(key) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = key;
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = null;
+        values[gap] = null;
+        size--;
+    }
+
+    private void resize(int length) {
+        BeanIdentifier[] oldKeys = keys;
+        ContextualInstance<?>[] oldValues = values;
+        keys = new BeanIdentifier[length];
+        values = new ContextualInstance<?>[length];
+        int mask = length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int idx = hash(oldKeys[i]) & mask;
+                while (keys[idx] != null) {
+                    idx = (idx + 1) & mask;
+                }
+                keys[idx] = oldKeys[i];
+                values[idx] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(BeanIdentifier id) {
+        int h = id.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public String toString() {
+        return "holding " + size + " instances";
+    }
+
+}
@@ -53,6 +53,9 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
 
     private boolean attached;
 
+    // True if the bean store was never attached or was modified while detached
+    private boolean syncNeeded = true;
+
     /**
      *
      * @param namingScheme
@@ -92,6 +95,7 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
     public boolean attach() {
         if (!attached) {
             attached = true;
+            syncNeeded = false;
             if (isLocalBeanStoreSyncNeeded()) {
                 if (!beanStore.delegate().isEmpty()) {
                     // The local bean store is authoritative, so copy everything to the backing store
@@ -113,6 +117,21 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
         }
     }
 
+    @Override
+    public boolean resume() {
+        if (syncNeeded) {
+            // A full synchronization is needed
+            return attach();
+        }
+        if (!attached) {
+            // Everything was written through while attached
+            attached = true;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
     /**
      * Fetch all relevant attributes from the backing store and copy instances which are not present in the local bean store.
      */
@@ -121,8 +140,10 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
             BeanIdentifier id = getNamingScheme().deprefix(prefixedId);
             if (!beanStore.contains(id)) {
                 ContextualInstance<?> instance = (ContextualInstance<?>) getAttribute(prefixedId);
-                beanStore.put(id, instance);
-                ContextLogger.LOG.addingDetachedContextualUnderId(instance, id);
+                if (instance != null) {
+                    beanStore.put(id, instance);
+                    ContextLogger.LOG.addingDetachedContextualUnderId(instance, id);
+                }
             }
         }
     }
@@ -149,6 +170,8 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
         beanStore.put(id, instance); // moved due to WELD-892
         if (isAttached()) {
             setAttribute(namingScheme.prefix(id), instance);
+        } else {
+            syncNeeded = true;
         }
         ContextLogger.LOG.contextualInstanceAdded(instance.getContextual(), id, this);
     }
@@ -164,6 +187,8 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
         if (instance != null) {
             if (isAttached()) {
                 removeAttribute(prefixedId);
+            } else {
+                syncNeeded = true;
             }
             ContextLogger.LOG.contextualInstanceRemoved(id, this);
         }
@@ -177,6 +202,8 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
             if (isAttached()) {
                 String prefixedId = namingScheme.prefix(id);
                 removeAttribute(prefixedId);
+            } else {
+                syncNeeded = true;
             }
             it.remove();
             ContextLogger.LOG.contextualInstanceRemoved(id, this);
@@ -236,14 +263,30 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
 
     /**
      * Gets an enumeration of the attribute names present in the underlying
-     * storage
+     * storage. If an {@link AttributeNameIndex} is available the attribute
+     * names of the underlying storage are not enumerated at all.
      *
      * @return The attribute names
      */
     protected Collection<String> getPrefixedAttributeNames() {
+        AttributeNameIndex index = getAttributeNameIndex();
+        if (index != null) {
+            return index.getNames();
+        }
         return getNamingScheme().filterIds(getAttributeNames());
     }
 
+    /**
+     * Gets the index of the attribute names written by this bean store. Subclasses
+     * which return an index are responsible for keeping it up to date in
+     * {@link #setAttribute(String, Object)} and {@link #removeAttribute(String)}.
+     *
+     * @return The index, or <code>null</code> if the attribute names should be enumerated
+     */
+    protected AttributeNameIndex getAttributeNameIndex() {
+        return null;
+    }
+
     /**
      * Sets an instance under a key in the underlying storage
      *
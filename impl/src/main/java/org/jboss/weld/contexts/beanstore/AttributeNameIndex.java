@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.contexts.beanstore;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Keeps track of the prefixed attribute names a bean store wrote to the backing store, so that the attribute names of the backing store do not have to be
+ * enumerated and filtered. The index itself is stored as an attribute of the backing store, e.g. the HTTP session, and so it is passivated and replicated
+ * together with the contextual instances.
+ * <p>
+ * Entries may become stale if the backing store drops an attribute on its own, e.g. a container discarding a non-serializable attribute during passivation.
+ * Therefore a deserialized index is not {@link #isVerified() verified} until the stale entries are {@link #retainAll(Predicate) removed}.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @see NamingScheme#getIndexAttributeName()
+ * @see AttributeBeanStore
+ */
+public class AttributeNameIndex implements Serializable {
+
+    public static final String ATTRIBUTE_NAME_PREFIX = AttributeNameIndex.class.getName() + ".";
+
+    private static final long serialVersionUID = 2871620405447624283L;
+
+    private final Set<String> names;
+
+    // Not restored during deserialization on purpose - the index must be verified after activation
+    @SuppressFBWarnings("SE_TRANSIENT_FIELD_NOT_RESTORED")
+    private transient volatile boolean verified;
+
+    public AttributeNameIndex() {
+        this.names = ConcurrentHashMap.newKeySet();
+        this.verified = true;
+    }
+
+    /**
+     *
+     * @param names the initial set of prefixed attribute names
+     */
+    public AttributeNameIndex(Collection<String> names) {
+        this();
+        this.names.addAll(names);
+    }
+
+    /**
+     *
+     * @param name the prefixed attribute name
+     * @return <code>true</code> if the index was modified, <code>false</code> otherwise
+     */
+    public boolean add(String name) {
+        return names.add(name);
+    }
+
+    /**
+     *
+     * @param name the prefixed attribute name
+     * @return <code>true</code> if the index was modified, <code>false</code> otherwise
+     */
+    public boolean remove(String name) {
+        return names.remove(name);
+    }
+
+    /**
+     *
+     * @return a snapshot of the indexed attribute names
+     */
+    public Collection<String> getNames() {
+        return new ArrayList<>(names);
+    }
+
+    public boolean isEmpty() {
+        return names.isEmpty();
+    }
+
+    /**
+     *
+     * @return <code>false</code> if the index was deserialized and stale entries were not removed yet, <code>true</code> otherwise
+     */
+    public boolean isVerified() {
+        return verified;
+    }
+
+    /**
+     * Remove the entries which do not match the given predicate and mark the index as verified.
+     *
+     * @param predicate
+     * @return <code>true</code> if the index was modified, <code>false</code> otherwise
+     */
+    public boolean retainAll(Predicate<String> predicate) {
+        boolean modified = names.removeIf(predicate.negate());
+        verified = true;
+        return modified;
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeNameIndex " + names;
+    }
+
+}
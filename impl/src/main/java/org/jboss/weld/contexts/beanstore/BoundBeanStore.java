@@ -29,6 +29,17 @@ public interface BoundBeanStore extends BeanStore {
      */
     boolean attach();
 
+    /**
+     * Attach a bean store which was previously attached and then detached, e.g. when the bean store is bound to another thread. Unlike {@link #attach()} the
+     * implementation may assume that the backing store was not modified in the meantime and skip the synchronization with the backing store.
+     *
+     * @return true if the bean store was attached, or false if the bean store is
+     *         already attached
+     */
+    default boolean resume() {
+        return attach();
+    }
+
     /**
      * Return true if the bean store is attached
      *
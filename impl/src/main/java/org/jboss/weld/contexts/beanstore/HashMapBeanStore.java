@@ -42,6 +42,15 @@ public class HashMapBeanStore extends AbstractMapBackedBeanStore implements Seri
         delegate = new HashMap<BeanIdentifier, Object>();
     }
 
+    /**
+     * Constructor
+     *
+     * @param initialCapacity the initial capacity of the backing map
+     */
+    public HashMapBeanStore(int initialCapacity) {
+        delegate = new HashMap<BeanIdentifier, Object>(initialCapacity);
+    }
+
     /**
      * Gets the delegate for the store
      *
@@ -42,4 +42,13 @@ public interface NamingScheme {
 
     Collection<String> prefix(Collection<BeanIdentifier> ids);
 
+    /**
+     * The name must not be accepted by {@link #filterIds(Iterator)}.
+     *
+     * @return the name of the attribute holding the {@link AttributeNameIndex} for this naming scheme, or <code>null</code> if not supported
+     */
+    default String getIndexAttributeName() {
+        return null;
+    }
+
 }
@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.contexts.beanstore;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import jakarta.enterprise.context.ContextNotActiveException;
+
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+
+/**
+ * A thread-safe bean store of an unbound context which may be shared by several threads, e.g. when the context is propagated by
+ * {@link org.jboss.weld.contexts.ContextSnapshot}.
+ * <p>
+ * The context must call {@link #markDestroyed()} before it destroys the contextual instances. From then on no instance may be added - an instance created
+ * by a thread which still uses the store is destroyed immediately and {@link ContextNotActiveException} is thrown. Otherwise the instance would never be
+ * destroyed.
+ * </p>
+ */
+public class SharedBeanStore extends ConcurrentHashMapBeanStore {
+
+    private static final long serialVersionUID = 1L;
+
+    // Puts hold the read lock so that no instance is added while the context is being destroyed
+    private final ReentrantReadWriteLock destroyLock = new ReentrantReadWriteLock();
+
+    private volatile boolean destroyed;
+
+    @Override
+    public <T> void put(BeanIdentifier id, ContextualInstance<T> beanInstance) {
+        destroyLock.readLock().lock();
+        try {
+            if (!destroyed) {
+                super.put(id, beanInstance);
+                return;
+            }
+        } finally {
+            destroyLock.readLock().unlock();
+        }
+        beanInstance.getContextual().destroy(beanInstance.getInstance(), beanInstance.getCreationalContext());
+        throw new ContextNotActiveException();
+    }
+
+    /**
+     * Marks the store as destroyed. When this method returns, all the instances added to the store are visible to the caller and no other instance may be
+     * added.
+     */
+    public void markDestroyed() {
+        destroyLock.writeLock().lock();
+        try {
+            destroyed = true;
+        } finally {
+            destroyLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     *
+     * @return <code>true</code> if the context the store belongs to was destroyed, <code>false</code> otherwise
+     */
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+}
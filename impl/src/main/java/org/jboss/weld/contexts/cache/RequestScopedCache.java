@@ -22,6 +22,12 @@ import java.util.List;
 /**
  * Caches beans over the life of a request, to allow for efficient bean lookups from proxies.
  * Besides, can hold any ThreadLocals to be removed at the end of the request.
+ * <p>
+ * Each period between {@link #beginRequest()} and {@link #endRequest()} (or {@link #invalidate()}) is represented by an {@link Epoch}. Objects which are
+ * shared between threads (e.g. client proxies) may hold a cached instance together with the epoch and use it without any {@link ThreadLocal} lookup for as
+ * long as the epoch is {@link Epoch#isCurrent() current}. Such a holder should be registered with {@link #addItemIfActive(RequestScopedItem)} so that it
+ * is released when the epoch ends.
+ * </p>
  *
  * @author Stuart Douglas
  */
@@ -73,7 +79,20 @@ public class RequestScopedCache {
     public static void beginRequest() {
         // if the previous request was not ended properly for some reason, make sure it is ended now
         endRequest();
-        CACHE.set(new LinkedList<RequestScopedItem>());
+        Epoch epoch = new Epoch();
+        LinkedList<RequestScopedItem> items = new LinkedList<RequestScopedItem>();
+        items.add(epoch);
+        CACHE.set(items);
+    }
+
+    /**
+     *
+     * @return the current epoch of the cache associated with the current thread or <code>null</code> if the cache is not active
+     */
+    public static Epoch getCurrentEpoch() {
+        final List<RequestScopedItem> cache = CACHE.get();
+        // the epoch is always the first item
+        return cache != null ? (Epoch) cache.get(0) : null;
     }
 
     /**
@@ -100,4 +119,42 @@ public class RequestScopedCache {
         }
     }
 
+    /**
+     * A period of the request during which the cached instances remain valid. The epoch ends when the cache is flushed or the request ends. An epoch
+     * only belongs to the thread which started it.
+     */
+    public static final class Epoch implements RequestScopedItem {
+
+        private final Thread thread;
+
+        private volatile boolean current;
+
+        private Epoch() {
+            this.thread = Thread.currentThread();
+            this.current = true;
+        }
+
+        /**
+         *
+         * @return <code>true</code> if the epoch was started by the current thread and has not ended yet, <code>false</code> otherwise
+         */
+        public boolean isCurrent() {
+            return thread == Thread.currentThread() && current;
+        }
+
+        /**
+         *
+         * @return <code>true</code> if the epoch has ended, regardless of the thread which started it, <code>false</code> otherwise
+         */
+        public boolean hasEnded() {
+            return !current;
+        }
+
+        @Override
+        public void invalidate() {
+            current = false;
+        }
+
+    }
+
 }
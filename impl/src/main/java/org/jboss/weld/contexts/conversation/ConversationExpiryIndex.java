@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.contexts.conversation;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A per-session index of long-running conversations, used to find expired and ended conversations without scanning the whole conversation map.
+ * <p>
+ * Deadlines are kept in a hashed timer wheel. Each slot holds the ids whose deadline tick maps to the slot, the exact deadline is kept separately so that
+ * entries from later rounds of the wheel are simply skipped. Deadlines are not updated when a conversation is touched - a polled conversation which is not
+ * expired yet is expected to be {@link #schedule(String, long) rescheduled} by the caller.
+ * <p>
+ * All methods are synchronized, the index is shared by all requests of a session and is stored as a session attribute next to the conversation map.
+ *
+ * @see org.jboss.weld.contexts.AbstractConversationContext
+ */
+public class ConversationExpiryIndex implements Serializable {
+
+    public static final String EXPIRY_INDEX_ATTRIBUTE_NAME = ConversationExpiryIndex.class.getName();
+
+    private static final long serialVersionUID = 4510337262413436413L;
+
+    static final int DEFAULT_WHEEL_SIZE = 64;
+
+    static final long DEFAULT_TICK_DURATION = 1000L;
+
+    private final long tickDuration;
+
+    private final List<Set<String>> wheel;
+
+    private final Map<String, Long> deadlines;
+
+    private final Set<String> ended;
+
+    // All slots before this tick were already processed
+    private long cursor;
+
+    public ConversationExpiryIndex() {
+        this(DEFAULT_WHEEL_SIZE, DEFAULT_TICK_DURATION, System.currentTimeMillis());
+    }
+
+    public ConversationExpiryIndex(int wheelSize, long tickDuration, long now) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickDuration = tickDuration;
+        this.wheel = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            wheel.add(new HashSet<>());
+        }
+        this.deadlines = new HashMap<>();
+        this.ended = new HashSet<>();
+        this.cursor = now / tickDuration;
+    }
+
+    /**
+     * Schedule the expiration check of the given conversation. Any previous deadline is replaced.
+     *
+     * @param id the conversation id
+     * @param expiresAt the time in milliseconds when the conversation expires
+     */
+    public synchronized void schedule(String id, long expiresAt) {
+        // Round up so that a conversation is never reported before it actually expires
+        long tick = Math.max((expiresAt + tickDuration - 1) / tickDuration, cursor);
+        Long previous = deadlines.put(id, tick);
+        if (previous != null) {
+            slot(previous).remove(id);
+        }
+        slot(tick).add(id);
+        ended.remove(id);
+    }
+
+    /**
+     * Remove the given conversation from the index.
+     *
+     * @param id the conversation id
+     */
+    public synchronized void remove(String id) {
+        Long previous = deadlines.remove(id);
+        if (previous != null) {
+            slot(previous).remove(id);
+        }
+        ended.remove(id);
+    }
+
+    /**
+     * Collect the ids of conversations whose deadline already passed. The collected ids are removed from the index. At most {@code limit} ids are collected,
+     * the remaining ones are collected by subsequent invocations.
+     *
+     * @param now the current time in milliseconds
+     * @param limit the maximum number of ids to collect
+     * @param expired the collection to add the expired ids to
+     * @return the number of collected ids
+     */
+    public synchronized int pollExpired(long now, int limit, Collection<String> expired) {
+        long nowTick = now / tickDuration;
+        // If more ticks elapsed than the wheel has slots, visiting each slot once is enough
+        long last = Math.min(nowTick, cursor + wheel.size() - 1);
+        int count = 0;
+        for (long tick = cursor; tick <= last; tick++) {
+            for (Iterator<String> iterator = slot(tick).iterator(); iterator.hasNext();) {
+                if (count == limit) {
+                    cursor = tick;
+                    return count;
+                }
+                String id = iterator.next();
+                if (deadlines.get(id) <= nowTick) {
+                    iterator.remove();
+                    deadlines.remove(id);
+                    expired.add(id);
+                    count++;
+                }
+            }
+        }
+        // The slot of the current tick may still receive entries
+        cursor = Math.max(cursor, nowTick);
+        return count;
+    }
+
+    /**
+     * Mark the given conversation as ended, i.e. it should be removed from the conversation map and destroyed.
+     *
+     * @param id the conversation id
+     */
+    public synchronized void markEnded(String id) {
+        Long previous = deadlines.remove(id);
+        if (previous != null) {
+            slot(previous).remove(id);
+        }
+        ended.add(id);
+    }
+
+    /**
+     * Collect and forget the ids of all conversations marked as ended.
+     *
+     * @return the ids of ended conversations
+     */
+    public synchronized Set<String> drainEnded() {
+        if (ended.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> result = new HashSet<>(ended);
+        ended.clear();
+        return result;
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    private Set<String> slot(long tick) {
+        return wheel.get((int) (tick & (wheel.size() - 1)));
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ConversationExpiryIndex [scheduled=" + deadlines.size() + ", ended=" + ended.size() + "]";
+    }
+
+}
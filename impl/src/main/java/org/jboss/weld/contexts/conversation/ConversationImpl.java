@@ -39,9 +39,12 @@ public class ConversationImpl implements ManagedConversation, Serializable {
 
     private static final long serialVersionUID = -5566903049468084035L;
 
+    // The maximum time a request thread waits on the lock before it checks whether the conversation was ended in the meantime
+    private static final long LOCK_WAIT_SLICE = 50L;
+
     private String id;
 
-    private boolean _transient;
+    private volatile boolean _transient;
 
     private long timeout;
 
@@ -98,6 +101,14 @@ public class ConversationImpl implements ManagedConversation, Serializable {
         }
     }
 
+    private void notifyConversationContextEnded() {
+        ConversationContext context = getActiveConversationContext();
+        if (context instanceof AbstractConversationContext) {
+            AbstractConversationContext<?, ?> abstractConversationContext = (AbstractConversationContext<?, ?>) context;
+            abstractConversationContext.conversationDemotedToTransient(id);
+        }
+    }
+
 
     @Override
     public void end() {
@@ -107,6 +118,7 @@ public class ConversationImpl implements ManagedConversation, Serializable {
         }
         ConversationLogger.LOG.demotedLongRunningConversation(id);
         _transient = true;
+        notifyConversationContextEnded();
     }
 
     @Override
@@ -161,12 +173,10 @@ public class ConversationImpl implements ManagedConversation, Serializable {
     @Override
     public boolean lock(long timeout) {
         verifyConversationContextActive();
-        boolean success;
-        try {
-            success = concurrencyLock.tryLock(timeout, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            success = false;
+        // Fast path - uncontended lock does not park the thread
+        boolean success = concurrencyLock.tryLock();
+        if (!success && timeout > 0) {
+            success = awaitLock(timeout);
         }
         if (success) {
             ConversationLogger.LOG.conversationLocked(this);
@@ -176,6 +186,28 @@ public class ConversationImpl implements ManagedConversation, Serializable {
         return success;
     }
 
+    /**
+     * Wait for the lock in short slices. If the conversation is ended by the current lock owner there is no point in waiting for the rest of the timeout.
+     */
+    private boolean awaitLock(long timeout) {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        try {
+            long remaining = deadline - System.nanoTime();
+            while (remaining > 0) {
+                if (concurrencyLock.tryLock(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(LOCK_WAIT_SLICE)), TimeUnit.NANOSECONDS)) {
+                    return true;
+                }
+                if (_transient) {
+                    return false;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
     @Override
     public boolean unlock() {
         verifyConversationContextActive();
@@ -73,7 +73,7 @@ public class DependentContextImpl implements DependentContext {
 
     protected <T> void addDependentInstance(T instance, Contextual<T> contextual, WeldCreationalContext<T> creationalContext) {
         // by this we are making sure that the dependent instance has no transitive dependency with @PreDestroy / disposal method
-        if (creationalContext.getDependentInstances().isEmpty()) {
+        if (!creationalContext.hasDependentInstances()) {
             if (contextual instanceof ManagedBean<?> && !isInterceptorOrDecorator(contextual)) {
                 ManagedBean<?> managedBean = (ManagedBean<?>) contextual;
                 if (managedBean.getProducer() instanceof BasicInjectionTarget<?>) {
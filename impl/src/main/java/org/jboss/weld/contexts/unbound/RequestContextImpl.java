@@ -2,7 +2,8 @@ package org.jboss.weld.contexts.unbound;
 
 import org.jboss.weld.contexts.AbstractUnboundContext;
 import org.jboss.weld.context.RequestContext;
-import org.jboss.weld.contexts.beanstore.HashMapBeanStore;
+import org.jboss.weld.contexts.beanstore.BeanStore;
+import org.jboss.weld.contexts.beanstore.SharedBeanStore;
 
 import jakarta.enterprise.context.RequestScoped;
 
@@ -26,11 +27,21 @@ public class RequestContextImpl extends AbstractUnboundContext implements Reques
     }
 
     public void activate() {
-        // Attach bean store (this context is unbound, so this can simply be thread-scoped
-        setBeanStore(new HashMapBeanStore());
+        // Attach bean store - the store is thread-safe so that the context may be propagated to other threads without copying
+        setBeanStore(new SharedBeanStore());
         super.activate();
     }
 
+    @Override
+    protected void destroy() {
+        BeanStore beanStore = getBeanStore();
+        if (beanStore instanceof SharedBeanStore) {
+            // threads the context was propagated to must not add instances which would never be destroyed
+            ((SharedBeanStore) beanStore).markDestroyed();
+        }
+        super.destroy();
+    }
+
     @Override
     public void deactivate() {
         super.deactivate();
@@ -95,6 +95,16 @@ public class FastEvent<T> {
         }
     }
 
+    /**
+     * Indicates whether {@link #fire(Object)} would notify any observer method. Since the observer methods are resolved when this instance is constructed,
+     * callers may use this method to skip the construction of event payloads altogether.
+     *
+     * @return <code>true</code> if there is no observer method to notify, <code>false</code> otherwise
+     */
+    public boolean isEmpty() {
+        return resolvedObserverMethods.getImmediateSyncObservers().isEmpty();
+    }
+
     private static class FastEventWithMetadataPropagation<T> extends FastEvent<T> {
 
         private final EventMetadata metadata;
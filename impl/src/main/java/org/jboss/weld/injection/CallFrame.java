@@ -0,0 +1,217 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.injection;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+import org.jboss.weld.contexts.cache.RequestScopedCache;
+import org.jboss.weld.contexts.cache.RequestScopedItem;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * Holds all the per-thread stacks Weld maintains during an invocation, i.e. the {@link org.jboss.weld.bean.proxy.InterceptionDecorationContext} stack and
+ * the {@link ThreadLocalStack}s of {@link CurrentInjectionPoint} and {@link org.jboss.weld.event.CurrentEventMetadata}. Each stack is a {@link Slot} backed
+ * by an array.
+ * <p>
+ * There is a single {@link ThreadLocal} for all the stacks. The frame is looked up once by the outermost call and the slots are passed down explicitly.
+ * Setting / removing of a thread-local is much more expensive compared to get. Therefore, if {@link RequestScopedCache} is active the frame is kept until
+ * the cache is cleaned up, and reused by all the calls within the request. Otherwise, the frame is removed from the thread as soon as the last element of
+ * any of its slots is popped, so that no {@link ThreadLocal} is left behind.
+ * </p>
+ * <p>
+ * This class is not thread-safe, a frame must only be used by the thread it was created by.
+ * </p>
+ */
+public final class CallFrame implements RequestScopedItem {
+
+    private static final ThreadLocal<CallFrame> CURRENT = new ThreadLocal<CallFrame>();
+
+    private static final int INITIAL_SLOTS = 4;
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Slot<?>[] slots;
+
+    private int slotCount;
+
+    // the number of elements in all the slots
+    private int depth;
+
+    private boolean released;
+
+    private boolean removeWhenEmpty;
+
+    private CallFrame() {
+        this.slots = new Slot<?>[INITIAL_SLOTS];
+    }
+
+    private void bind() {
+        CURRENT.set(this);
+        released = false;
+        removeWhenEmpty = !RequestScopedCache.addItemIfActive(this);
+    }
+
+    /**
+     *
+     * @return the frame of the current thread or null if there is no frame
+     */
+    public static CallFrame current() {
+        return CURRENT.get();
+    }
+
+    /**
+     *
+     * @return the frame of the current thread, a new frame is created and set if needed
+     */
+    public static CallFrame enter() {
+        CallFrame frame = CURRENT.get();
+        if (frame == null) {
+            frame = new CallFrame();
+            frame.bind();
+        }
+        return frame;
+    }
+
+    /**
+     *
+     * @param owner
+     * @return the slot of the given owner or null if no such slot exists
+     */
+    public <S extends Slot<?>> S getSlot(Object owner) {
+        for (int i = 0; i < slotCount; i++) {
+            if (slots[i].owner == owner) {
+                return Reflections.cast(slots[i]);
+            }
+        }
+        return null;
+    }
+
+    private void addSlot(Slot<?> slot) {
+        if (slotCount == slots.length) {
+            slots = Arrays.copyOf(slots, slotCount << 1);
+        }
+        slots[slotCount++] = slot;
+    }
+
+    private void pushed() {
+        if (depth++ == 0 && released) {
+            // a slot of a released frame is used again, e.g. a stack reference kept by a caller
+            if (CURRENT.get() != null) {
+                depth--;
+                throw new IllegalStateException("This call frame is no longer valid.");
+            }
+            bind();
+        }
+    }
+
+    private void popped() {
+        if (--depth == 0 && removeWhenEmpty) {
+            release();
+        }
+    }
+
+    private void release() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        released = true;
+    }
+
+    @Override
+    public void invalidate() {
+        // The cache may also be flushed in the middle of a request - the frame is removed once it gets empty
+        removeWhenEmpty = true;
+        if (depth == 0) {
+            release();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CallFrame [depth=" + depth + ", slots=" + Arrays.toString(Arrays.copyOf(slots, slotCount)) + "]";
+    }
+
+    /**
+     * An array-based stack within a {@link CallFrame}. The slot is registered with the frame upon creation.
+     *
+     * @param <T> the type of elements
+     */
+    public abstract static class Slot<T> {
+
+        private final CallFrame frame;
+
+        private final Object owner;
+
+        private Object[] elements;
+
+        private int size;
+
+        /**
+         *
+         * @param frame the frame
+         * @param owner the owner of the slot, used as the key in {@link CallFrame#getSlot(Object)}
+         */
+        protected Slot(CallFrame frame, Object owner) {
+            this.frame = frame;
+            this.owner = owner;
+            this.elements = new Object[INITIAL_CAPACITY];
+            frame.addSlot(this);
+        }
+
+        public void push(T item) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size << 1);
+            }
+            elements[size++] = item;
+            frame.pushed();
+        }
+
+        public T pop() {
+            if (size == 0) {
+                throw new EmptyStackException();
+            }
+            T top = Reflections.cast(elements[--size]);
+            elements[size] = null;
+            frame.popped();
+            return top;
+        }
+
+        /**
+         *
+         * @return the top of the stack or null if the stack is empty
+         */
+        public T peek() {
+            return size == 0 ? null : Reflections.<T> cast(elements[size - 1]);
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " " + Arrays.toString(Arrays.copyOf(elements, size));
+        }
+
+    }
+
+}
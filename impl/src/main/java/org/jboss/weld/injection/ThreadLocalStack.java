@@ -16,12 +16,6 @@
  */
 package org.jboss.weld.injection;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
-
-import org.jboss.weld.contexts.cache.RequestScopedCache;
-import org.jboss.weld.contexts.cache.RequestScopedItem;
-
 /**
  * A stack that is kept in thread-local. Two operations were identified to be expensive in micro benchmarks:
  * <ul>
@@ -31,30 +25,16 @@ import org.jboss.weld.contexts.cache.RequestScopedItem;
  *
  * Therefore this implementation tries to optimize that.
  *
- * First of all we make use of {@link RequestScopedCache} for cleaning up the thread local. If {@link RequestScopedCache} is active
- * we do not remove the stack from thread local immediately when it becomes empty but defer this to the point when {@link RequestScopedCache}
- * is cleaned up.
- *
- * Secondly, we reduce the number of ThreadLocal.get() accesses by returning a {@link ThreadLocalStackReference} which a client uses to pop a value.
+ * The stack does not own a {@link ThreadLocal}. Instead, it is a {@link CallFrame.Slot} of the {@link CallFrame} of the current thread which is shared with
+ * the interception stack and the other thread-local stacks. If {@link org.jboss.weld.contexts.cache.RequestScopedCache} is active the frame stays bound to
+ * the thread until the cache is cleaned up, otherwise it is removed as soon as all its slots are empty - see {@link CallFrame}. {@link #peek()} does not
+ * create a frame.
  *
- * Lastly, the {@link ThreadLocal} instance is configured to set a new initial value by default. This is safe when {@link RequestScopedCache} is used
- * but may lead to {@link ThreadLocal} leak when it is not. Therefore, special care needs to be take to guarantee that each {@link ThreadLocal#get()}
- * operation has a matching {@link Stack#removeIfEmpty()} call (see {@link ThreadLocalStack#peek()}) as an example.
+ * Moreover, we reduce the number of ThreadLocal.get() accesses by returning a {@link ThreadLocalStackReference} which a client uses to pop a value.
  *
  */
 public class ThreadLocalStack<T> {
 
-    private final ThreadLocal<Stack<T>> threadLocalStack;
-
-    public ThreadLocalStack() {
-        this.threadLocalStack = new ThreadLocal<Stack<T>>() {
-            @Override
-            protected Stack<T> initialValue() {
-                return new Stack<T>(this);
-            }
-        };
-    }
-
     /**
      * Reference to a thread-local stack. Each client that calls {@link ThreadLocalStack#push(Object)} is required
      * to call {@link ThreadLocalStackReference#pop()} to clean up the value (e.g. in a finally block).
@@ -63,81 +43,31 @@ public class ThreadLocalStack<T> {
         T pop();
     }
 
-    private static class Stack<T> implements RequestScopedItem, ThreadLocalStackReference<T> {
-        private final Deque<T> elements;
-        private final ThreadLocal<Stack<T>> interceptionContexts;
-        private boolean removeWhenEmpty;
-        private boolean valid;
+    private static class Stack<T> extends CallFrame.Slot<T> implements ThreadLocalStackReference<T> {
 
-        private Stack(ThreadLocal<Stack<T>> interceptionContexts) {
-            this.interceptionContexts = interceptionContexts;
-            this.elements = new ArrayDeque<T>();
-            /*
-             * Setting / removing of a thread-local is much more expensive compared to get. Therefore,
-             * if RequestScopedCache is active we register the thread-local for removal at the end of the
-             * request. This yields possitive results only if the number of intercepted invocations is large.
-             * If it is not, the performance characteristics are similar to explicitly removing the thread-local
-             * once the stack gets empty.
-             */
-            this.removeWhenEmpty = !RequestScopedCache.addItemIfActive(this);
-            this.valid = true;
+        private Stack(CallFrame frame, ThreadLocalStack<T> owner) {
+            super(frame, owner);
         }
 
-        private void checkState() {
-            if (!valid) {
-                throw new IllegalStateException("This ThreadLocalStack is no longer valid.");
-            }
-        }
-
-        public void push(T item) {
-            checkState();
-            elements.addFirst(item);
-        }
-
-        public T peek() {
-            checkState();
-            return elements.peekFirst();
-        }
-
-        public T pop() {
-            checkState();
-            T top = elements.removeFirst();
-            removeIfEmpty();
-            return top;
-        }
-
-        private void removeIfEmpty() {
-            if (removeWhenEmpty && elements.isEmpty()) {
-                interceptionContexts.remove();
-                valid = false;
-            }
-        }
-
-        @Override
-        public void invalidate() {
-            /*
-             * This cached item is being invalidated.
-             * It does not necessarily mean that the request is being destroyed - it may just be the case that it is being flushed in the middle
-             * of a request (e.g. for AlterableContext.destroy()).
-             * Therefore, we cannot remove the stack now but we just set removeWhenEmpty flag and let it remove itself once the stack gets empty.
-             */
-            removeWhenEmpty = true;
-            removeIfEmpty();
-        }
     }
 
     public ThreadLocalStackReference<T> push(T item) {
-        Stack<T> stack = threadLocalStack.get();
+        CallFrame frame = CallFrame.enter();
+        Stack<T> stack = frame.getSlot(this);
+        if (stack == null) {
+            stack = new Stack<T>(frame, this);
+        }
         stack.push(item);
         return stack;
     }
 
     public T peek() {
-        Stack<T> stack = threadLocalStack.get();
-        T top = stack.peek();
-        // If RequestScopedCache is not active we should remove immediately in order to prevent a leak
-        stack.removeIfEmpty();
-        return top;
+        CallFrame frame = CallFrame.current();
+        if (frame == null) {
+            return null;
+        }
+        Stack<T> stack = frame.getSlot(this);
+        return stack != null ? stack.peek() : null;
     }
 
     /**
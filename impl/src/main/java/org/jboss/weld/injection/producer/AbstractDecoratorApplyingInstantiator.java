@@ -25,6 +25,7 @@ import jakarta.enterprise.inject.spi.InjectionPoint;
 
 import org.jboss.weld.bean.proxy.CombinedInterceptorAndDecoratorStackMethodHandler;
 import org.jboss.weld.bean.proxy.DecorationHelper;
+import org.jboss.weld.bean.proxy.DecoratorChainProxyFactory;
 import org.jboss.weld.bean.proxy.ProxyFactory;
 import org.jboss.weld.bean.proxy.ProxyObject;
 import org.jboss.weld.bean.proxy.TargetBeanInstance;
@@ -33,6 +34,7 @@ import org.jboss.weld.injection.CurrentInjectionPoint;
 import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.serialization.spi.ContextualStore;
+import org.jboss.weld.util.ValueHolder;
 
 /**
  * Common functionality for an instantiator capable of applying decorators to a given instance.
@@ -45,16 +47,20 @@ import org.jboss.weld.serialization.spi.ContextualStore;
 public abstract class AbstractDecoratorApplyingInstantiator<T> extends ForwardingInstantiator<T> {
 
     private final Bean<T> bean;
-    private final Class<T> proxyClass;
+    private final ValueHolder<Class<T>> proxyClass;
+    private final ValueHolder<List<Class<T>>> decoratorProxyClasses;
     private final List<Decorator<?>> decorators;
 
     public AbstractDecoratorApplyingInstantiator(String contextId, Instantiator<T> delegate, Bean<T> bean, List<Decorator<?>> decorators, Class<? extends T> implementationClass) {
         super(delegate);
         this.bean = bean;
         this.decorators = decorators;
-        ProxyFactory<T> factory = new ProxyFactory<T>(contextId, implementationClass, bean.getTypes(), bean, true);
-        // eagerly generate the proxy class
-        this.proxyClass = factory.getProxyClass();
+        // eagerly generate the proxy class unless lazy generation is enabled
+        this.proxyClass = ProxyFactory.generate(contextId, bean,
+                () -> new ProxyFactory<T>(contextId, implementationClass, bean.getTypes(), bean, true).getProxyClass());
+        // the decorators are known at this point so that the chain can be compiled
+        this.decoratorProxyClasses = ProxyFactory.generate(contextId, bean,
+                () -> DecoratorChainProxyFactory.<T> getProxyClasses(contextId, implementationClass, bean.getTypes(), bean, true, decorators));
     }
 
     @Override
@@ -67,7 +73,8 @@ public abstract class AbstractDecoratorApplyingInstantiator<T> extends Forwardin
 
     protected T getOuterDelegate(T instance, CreationalContext<T> creationalContext, InjectionPoint originalInjectionPoint, BeanManagerImpl manager) {
         TargetBeanInstance beanInstance = new TargetBeanInstance(bean, instance);
-        DecorationHelper<T> decorationHelper = new DecorationHelper<T>(beanInstance, bean, proxyClass, manager, manager.getServices().get(ContextualStore.class), decorators);
+        DecorationHelper<T> decorationHelper = new DecorationHelper<T>(beanInstance, bean, proxyClass.get(), decoratorProxyClasses.get(), manager,
+                manager.getServices().get(ContextualStore.class), decorators);
         DecorationHelper.push(decorationHelper);
         try {
             final T outerDelegate = decorationHelper.getNextDelegate(originalInjectionPoint, creationalContext);
@@ -90,7 +97,7 @@ public abstract class AbstractDecoratorApplyingInstantiator<T> extends Forwardin
     }
 
     public Class<T> getProxyClass() {
-        return proxyClass;
+        return proxyClass.get();
     }
 
     public List<Decorator<?>> getDecorators() {
@@ -28,11 +28,11 @@ import jakarta.enterprise.inject.spi.InjectionTarget;
 
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedType;
 import org.jboss.weld.bean.DecoratorImpl;
+import org.jboss.weld.bean.proxy.DecoratorDelegateMethodHandler;
 import org.jboss.weld.bean.proxy.DecoratorProxy;
 import org.jboss.weld.bean.proxy.DecoratorProxyFactory;
 import org.jboss.weld.bean.proxy.ProxyMethodHandler;
 import org.jboss.weld.bean.proxy.ProxyObject;
-import org.jboss.weld.bean.proxy.TargetBeanInstance;
 import org.jboss.weld.injection.ConstructorInjectionPoint;
 import org.jboss.weld.injection.FieldInjectionPoint;
 import org.jboss.weld.injection.InjectionPointFactory;
@@ -108,7 +108,7 @@ public class DecoratorInjectionTarget<T> extends BeanInjectionTarget<T> {
             } catch (IllegalAccessException e) {
                 throw UtilLogger.LOG.accessErrorOnField(accessibleField.getName(), accessibleField.getDeclaringClass(), e);
             }
-            final ProxyMethodHandler handler = new ProxyMethodHandler(beanManager.getContextId(), new TargetBeanInstance(delegate), getBean());
+            final ProxyMethodHandler handler = new DecoratorDelegateMethodHandler(beanManager.getContextId(), delegate, getBean());
             ((ProxyObject) instance).weld_setHandler(handler);
         }
     }
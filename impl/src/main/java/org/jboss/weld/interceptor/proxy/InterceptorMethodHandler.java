@@ -7,6 +7,7 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -28,12 +29,20 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
 
     private static final long serialVersionUID = 1L;
 
+    private static final CachedInterceptionChain[] NO_CHAINS = new CachedInterceptionChain[0];
+
     private final InterceptionContext ctx;
     private final transient ConcurrentMap<Method, CachedInterceptionChain> cachedChains;
+    // Around-invoke chains indexed by the method index assigned by the intercepted subclass, see StackAwareMethodHandler#NO_METHOD_INDEX
+    private transient volatile CachedInterceptionChain[] indexedChains;
+    // Lifecycle callback chains indexed by InterceptionType#ordinal()
+    private final transient CachedInterceptionChain[] lifecycleChains;
 
     public InterceptorMethodHandler(InterceptionContext ctx) {
         this.ctx = ctx;
         this.cachedChains = new ConcurrentHashMap<Method, CachedInterceptionChain>();
+        this.indexedChains = NO_CHAINS;
+        this.lifecycleChains = new CachedInterceptionChain[InterceptionType.values().length];
     }
 
     @Override
@@ -42,6 +51,11 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
     }
 
     public Object invoke(Stack stack, Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable {
+        return invoke(stack, self, thisMethod, proceed, args, NO_METHOD_INDEX);
+    }
+
+    @Override
+    public Object invoke(Stack stack, Object self, Method thisMethod, Method proceed, Object[] args, int methodIndex) throws Throwable {
         SecurityActions.ensureAccessible(proceed);
         if (proceed == null) {
             if (thisMethod.getName().equals(InterceptionUtils.POST_CONSTRUCT)) {
@@ -53,13 +67,21 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
             if (isInterceptorMethod(thisMethod)) {
                 return Reflections.invokeAndUnwrap(self, proceed, args);
             }
+            if (methodIndex >= 0) {
+                return executeInterception(self, thisMethod, proceed, args, InterceptionType.AROUND_INVOKE, getInterceptionChain(self, thisMethod, methodIndex),
+                        stack);
+            }
             return executeInterception(self, thisMethod, proceed, args, InterceptionType.AROUND_INVOKE, stack);
         }
         return null;
     }
 
     protected Object executeInterception(Object instance, Method method, Method proceed, Object[] args, InterceptionType interceptionType, Stack stack) throws Throwable {
-        CachedInterceptionChain chain = getInterceptionChain(instance, method, interceptionType);
+        return executeInterception(instance, method, proceed, args, interceptionType, getInterceptionChain(instance, method, interceptionType), stack);
+    }
+
+    private Object executeInterception(Object instance, Method method, Method proceed, Object[] args, InterceptionType interceptionType,
+            CachedInterceptionChain chain, Stack stack) throws Throwable {
         if (chain.interceptorMethods.isEmpty()) {
             // shortcut if there are no interceptors
             if (proceed == null) {
@@ -74,6 +96,7 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
             return executeLifecycleInterception(instance, method, proceed, args, chain, stack);
         }
     }
+
     protected Object executeLifecycleInterception(Object instance, Method method, Method proceed, Object[] args, CachedInterceptionChain chain, Stack stack) throws Throwable {
         return new WeldInvocationContextImpl(instance, method, proceed, args, chain.interceptorMethods, chain.interceptorBindings, stack).proceed();
     }
@@ -87,11 +110,35 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
         }
     }
 
+    private CachedInterceptionChain getInterceptionChain(Object instance, Method method, int methodIndex) {
+        CachedInterceptionChain[] chains = indexedChains;
+        if (methodIndex < chains.length) {
+            CachedInterceptionChain chain = chains[methodIndex];
+            // The index is only unique within a proxy class
+            if (chain != null && chain.method == method) {
+                return chain;
+            }
+        }
+        CachedInterceptionChain chain = getInterceptionChain(instance, method, InterceptionType.AROUND_INVOKE);
+        putIndexedChain(methodIndex, chain);
+        return chain;
+    }
+
+    private synchronized void putIndexedChain(int methodIndex, CachedInterceptionChain chain) {
+        CachedInterceptionChain[] chains = indexedChains;
+        if (methodIndex >= chains.length) {
+            chains = Arrays.copyOf(chains, Math.max(methodIndex + 1, chains.length << 1));
+        }
+        // Racy reads are fine - a chain only has final fields and a missing chain is looked up in the map
+        chains[methodIndex] = chain;
+        indexedChains = chains;
+    }
+
     private CachedInterceptionChain getInterceptionChain(Object instance, Method method, InterceptionType interceptionType) {
         if (method != null) {
             CachedInterceptionChain cachedChain = cachedChains.get(method);
             if (cachedChain == null) {
-                cachedChain = new CachedInterceptionChain(ctx.buildInterceptorMethodInvocations(instance, method, interceptionType), ctx.getInterceptionModel()
+                cachedChain = new CachedInterceptionChain(method, ctx.buildInterceptorMethodInvocations(instance, method, interceptionType), ctx.getInterceptionModel()
                         .getMemberInterceptorBindings(method));
                 CachedInterceptionChain old = cachedChains.putIfAbsent(method, cachedChain);
                 if (old != null) {
@@ -100,7 +147,14 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
             }
             return cachedChain;
         }
-        return new CachedInterceptionChain(ctx.buildInterceptorMethodInvocations(instance, null, interceptionType), ctx.getInterceptionModel().getClassInterceptorBindings());
+        CachedInterceptionChain cachedChain = lifecycleChains[interceptionType.ordinal()];
+        if (cachedChain == null) {
+            // Two threads may build the same chain, both are equivalent
+            cachedChain = new CachedInterceptionChain(null, ctx.buildInterceptorMethodInvocations(instance, null, interceptionType), ctx.getInterceptionModel()
+                    .getClassInterceptorBindings());
+            lifecycleChains[interceptionType.ordinal()] = cachedChain;
+        }
+        return cachedChain;
     }
 
     private boolean isInterceptorMethod(Method method) {
@@ -113,10 +167,12 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
 
     private static class CachedInterceptionChain {
 
+        private final Method method;
         private final List<InterceptorMethodInvocation> interceptorMethods;
         private final Set<Annotation> interceptorBindings;
 
-        public CachedInterceptionChain(List<InterceptorMethodInvocation> chain, Set<Annotation> interceptorBindings) {
+        public CachedInterceptionChain(Method method, List<InterceptorMethodInvocation> chain, Set<Annotation> interceptorBindings) {
+            this.method = method;
             this.interceptorMethods = chain;
             this.interceptorBindings = interceptorBindings;
         }
@@ -112,6 +112,7 @@ import org.jboss.weld.bootstrap.spi.CDI11Deployment;
 import org.jboss.weld.config.ConfigurationKey;
 import org.jboss.weld.config.ConfigurationKey.UnusedBeans;
 import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.contexts.ActiveContexts;
 import org.jboss.weld.contexts.CreationalContextImpl;
 import org.jboss.weld.contexts.PassivatingContextWrapper;
 import org.jboss.weld.contexts.WeldCreationalContext;
@@ -210,6 +211,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     // Contexts are shared across the application
     private final transient Map<Class<? extends Annotation>, List<Context>> contexts;
+    private final transient ActiveContexts activeContexts;
 
     // Client proxies can be used application wide
     private final transient ClientProxyProvider clientProxyProvider;
@@ -317,20 +319,21 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         return new BeanManagerImpl(serviceRegistry, new CopyOnWriteArrayList<Bean<?>>(), new CopyOnWriteArrayList<Bean<?>>(),
                 new CopyOnWriteArrayList<Decorator<?>>(), new CopyOnWriteArrayList<Interceptor<?>>(), new CopyOnWriteArrayList<ObserverMethod<?>>(),
                 new CopyOnWriteArrayList<String>(), new ConcurrentHashMap<EjbDescriptor<?>, SessionBean<?>>(), new ClientProxyProvider(contextId), contexts,
-                ModuleEnablement.EMPTY_ENABLEMENT, id, new AtomicInteger(), new HashSet<BeanManagerImpl>(), contextId);
+                new ActiveContexts(), ModuleEnablement.EMPTY_ENABLEMENT, id, new AtomicInteger(), new HashSet<BeanManagerImpl>(), contextId);
     }
 
     public static BeanManagerImpl newManager(BeanManagerImpl rootManager, String id, ServiceRegistry services) {
         return new BeanManagerImpl(services, new CopyOnWriteArrayList<Bean<?>>(), new CopyOnWriteArrayList<Bean<?>>(), new CopyOnWriteArrayList<Decorator<?>>(),
                 new CopyOnWriteArrayList<Interceptor<?>>(), new CopyOnWriteArrayList<ObserverMethod<?>>(), new CopyOnWriteArrayList<String>(),
-                rootManager.getEnterpriseBeans(), rootManager.getClientProxyProvider(), rootManager.getContexts(), ModuleEnablement.EMPTY_ENABLEMENT, id,
+                rootManager.getEnterpriseBeans(), rootManager.getClientProxyProvider(), rootManager.getContexts(), rootManager.activeContexts,
+                ModuleEnablement.EMPTY_ENABLEMENT, id,
                 new AtomicInteger(), rootManager.managers, rootManager.contextId);
     }
 
     private BeanManagerImpl(ServiceRegistry serviceRegistry, List<Bean<?>> beans, List<Bean<?>> transitiveBeans, List<Decorator<?>> decorators,
             List<Interceptor<?>> interceptors, List<ObserverMethod<?>> observers, List<String> namespaces,
             Map<EjbDescriptor<?>, SessionBean<?>> enterpriseBeans, ClientProxyProvider clientProxyProvider,
-            Map<Class<? extends Annotation>, List<Context>> contexts, ModuleEnablement enabled, String id, AtomicInteger childIds,
+            Map<Class<? extends Annotation>, List<Context>> contexts, ActiveContexts activeContexts, ModuleEnablement enabled, String id, AtomicInteger childIds,
             Set<BeanManagerImpl> managers, String contextId) {
         this.services = serviceRegistry;
         this.enabledBeans = beans;
@@ -340,6 +343,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         this.enterpriseBeans = enterpriseBeans;
         this.clientProxyProvider = clientProxyProvider;
         this.contexts = contexts;
+        this.activeContexts = activeContexts;
         this.observers = observers;
         this.enabled = enabled;
         this.namespaces = namespaces;
@@ -592,15 +596,17 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     public void addContext(Context context) {
         Class<? extends Annotation> scope = context.getScope();
+        Context registered = context;
         if (isPassivatingScope(scope)) {
-            context = PassivatingContextWrapper.wrap(context, services.get(ContextualStore.class));
+            registered = PassivatingContextWrapper.wrap(context, services.get(ContextualStore.class));
         }
         List<Context> contextList = contexts.get(scope);
         if (contextList == null) {
             contextList = new CopyOnWriteArrayList<Context>();
             contexts.put(scope, contextList);
         }
-        contextList.add(context);
+        contextList.add(registered);
+        activeContexts.register(context, registered);
     }
 
     /**
@@ -645,21 +651,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     }
 
     private Context internalGetContext(Class<? extends Annotation> scopeType) {
-        Context activeContext = null;
-        final List<Context> ctx = contexts.get(scopeType);
-        if (ctx == null) {
-            return null;
-        }
-        for (Context context : ctx) {
-            if (context.isActive()) {
-                if (activeContext == null) {
-                    activeContext = context;
-                } else {
-                    throw BeanManagerLogger.LOG.duplicateActiveContexts(scopeType.getName());
-                }
-            }
-        }
-        return activeContext;
+        return activeContexts.get(scopeType);
     }
 
     public Object getReference(Bean<?> bean, Type requestedType, CreationalContext<?> creationalContext, boolean noProxy) {
@@ -681,7 +673,12 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         }
     }
 
-    private boolean isProxyRequired(Bean<?> bean) {
+    /**
+     *
+     * @param bean
+     * @return <code>true</code> if a contextual reference of the given bean is a client proxy, <code>false</code> otherwise
+     */
+    public boolean isProxyRequired(Bean<?> bean) {
         if (bean instanceof RIBean<?>) {
             return ((RIBean<?>) bean).isProxyRequired();
         } else {
@@ -1158,6 +1155,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         this.enabledBeans.clear();
         this.clientProxyProvider.clear();
         this.contexts.clear();
+        this.activeContexts.clear();
         this.decoratorResolver.clear();
         this.decorators.clear();
         this.enterpriseBeans.clear();
@@ -16,6 +16,8 @@
  */
 package org.jboss.weld.serialization;
 
+import java.io.ObjectStreamException;
+
 import jakarta.enterprise.inject.spi.Bean;
 
 import org.jboss.weld.Container;
@@ -50,6 +52,12 @@ public class BeanHolder<T> extends AbstractSerializableHolder<Bean<T>> {
         }
     }
 
+    BeanHolder(String contextId, BeanIdentifier beanId) {
+        super(null);
+        this.contextId = contextId;
+        this.beanId = beanId;
+    }
+
     @Override
     protected Bean<T> initialize() {
         if (beanId == null) {
@@ -57,4 +65,8 @@ public class BeanHolder<T> extends AbstractSerializableHolder<Bean<T>> {
         }
         return Container.instance(contextId).services().get(ContextualStore.class).<Bean<T>, T> getContextual(beanId);
     }
+
+    private Object writeReplace() throws ObjectStreamException {
+        return CompactSerialForm.isEnabled(contextId) ? CompactSerialForm.beanHolder(contextId, beanId) : this;
+    }
 }
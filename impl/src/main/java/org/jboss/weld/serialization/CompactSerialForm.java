@@ -0,0 +1,259 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.serialization;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
+
+import jakarta.enterprise.context.spi.Contextual;
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.Container;
+import org.jboss.weld.bean.proxy.ContextBeanInstance;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.contexts.SerializableContextualInstanceImpl;
+import org.jboss.weld.logging.BeanLogger;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.jboss.weld.serialization.spi.ContextualStore;
+import org.jboss.weld.serialization.spi.helpers.SerializableContextual;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * The compact wire format of Weld-internal serializable objects. Instead of the default serialized form, which contains the class descriptors (including
+ * superclasses and field descriptors) of every internal class and the full bean identifiers, the internal objects are replaced with an instance of this class
+ * which writes a single kind byte followed by the data needed to restore the original object. Beans are referenced by their position in the
+ * {@link BeanIdentifierIndex} if possible, the context id is written as an object so that repeated occurrences are shared within a stream.
+ * <p>
+ * The compact form is only used if {@link ConfigurationKey#SERIALIZATION_COMPACT_FORMAT} is enabled, objects serialized in the default form can always be
+ * read.
+ * </p>
+ *
+ * @see BeanHolder
+ * @see SerializableContextualInstanceImpl
+ * @see ContextBeanInstance
+ * @see org.jboss.weld.bean.proxy.util.SerializableClientProxy
+ */
+public final class CompactSerialForm implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final byte BEAN_HOLDER = 1;
+    private static final byte CONTEXTUAL = 2;
+    private static final byte CONTEXTUAL_INSTANCE = 3;
+    private static final byte CONTEXT_BEAN_INSTANCE = 4;
+    private static final byte CLIENT_PROXY = 5;
+
+    // Bean reference encoding
+    private static final byte REF_NULL = 0;
+    private static final byte REF_INDEX = 1;
+    private static final byte REF_IDENTIFIER = 2;
+
+    private byte kind;
+
+    private String contextId;
+
+    private BeanIdentifier identifier;
+
+    private Object contextual;
+
+    private Object instance;
+
+    private Object creationalContext;
+
+    /**
+     * Required by {@link Externalizable}, do not use directly.
+     */
+    public CompactSerialForm() {
+    }
+
+    private CompactSerialForm(byte kind, String contextId, BeanIdentifier identifier) {
+        this.kind = kind;
+        this.contextId = contextId;
+        this.identifier = identifier;
+    }
+
+    /**
+     *
+     * @param contextId
+     * @return <code>true</code> if the compact form should be used for objects of the given container, <code>false</code> otherwise
+     */
+    public static boolean isEnabled(String contextId) {
+        if (contextId == null || !Container.isSet(contextId)) {
+            return false;
+        }
+        WeldConfiguration configuration = Container.instance(contextId).services().get(WeldConfiguration.class);
+        return configuration != null && configuration.getBooleanProperty(ConfigurationKey.SERIALIZATION_COMPACT_FORMAT);
+    }
+
+    static CompactSerialForm beanHolder(String contextId, BeanIdentifier identifier) {
+        return new CompactSerialForm(BEAN_HOLDER, contextId, identifier);
+    }
+
+    public static CompactSerialForm contextual(String contextId, BeanIdentifier identifier) {
+        return new CompactSerialForm(CONTEXTUAL, contextId, identifier);
+    }
+
+    public static CompactSerialForm contextualInstance(Object contextual, Object instance, Object creationalContext) {
+        CompactSerialForm form = new CompactSerialForm(CONTEXTUAL_INSTANCE, null, null);
+        form.contextual = contextual;
+        form.instance = instance;
+        form.creationalContext = creationalContext;
+        return form;
+    }
+
+    public static CompactSerialForm contextBeanInstance(String contextId, BeanIdentifier identifier) {
+        return new CompactSerialForm(CONTEXT_BEAN_INSTANCE, contextId, identifier);
+    }
+
+    public static CompactSerialForm clientProxy(String contextId, BeanIdentifier identifier) {
+        return new CompactSerialForm(CLIENT_PROXY, contextId, identifier);
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(kind);
+        if (kind == CONTEXTUAL_INSTANCE) {
+            out.writeObject(contextual);
+            out.writeObject(instance);
+            out.writeObject(creationalContext);
+        } else {
+            out.writeObject(contextId);
+            writeIdentifier(out);
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        kind = in.readByte();
+        if (kind == CONTEXTUAL_INSTANCE) {
+            contextual = in.readObject();
+            instance = in.readObject();
+            creationalContext = in.readObject();
+        } else {
+            contextId = (String) in.readObject();
+            readIdentifier(in);
+        }
+    }
+
+    private void writeIdentifier(ObjectOutput out) throws IOException {
+        if (identifier == null) {
+            out.writeByte(REF_NULL);
+            return;
+        }
+        BeanIdentifierIndex index = getBeanIdentifierIndex();
+        Integer position = index != null && index.isBuilt() ? index.getIndex(identifier) : null;
+        if (position != null) {
+            out.writeByte(REF_INDEX);
+            writeVarInt(out, position);
+        } else {
+            out.writeByte(REF_IDENTIFIER);
+            out.writeObject(identifier);
+        }
+    }
+
+    private void readIdentifier(ObjectInput in) throws IOException, ClassNotFoundException {
+        byte ref = in.readByte();
+        switch (ref) {
+            case REF_NULL:
+                identifier = null;
+                break;
+            case REF_INDEX:
+                int position = readVarInt(in);
+                BeanIdentifierIndex index = getBeanIdentifierIndex();
+                if (index == null) {
+                    throw new InvalidObjectException("Bean identifier index not available in container " + contextId + ", unable to restore bean " + position);
+                }
+                identifier = index.getIdentifier(position);
+                break;
+            case REF_IDENTIFIER:
+                identifier = (BeanIdentifier) in.readObject();
+                break;
+            default:
+                throw new InvalidObjectException("Unknown bean reference: " + ref);
+        }
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+        switch (kind) {
+            case BEAN_HOLDER:
+                return new BeanHolder<Object>(contextId, identifier).readResolve();
+            case CONTEXTUAL:
+                return getContextualStore().getSerializableContextual(getContextual());
+            case CONTEXTUAL_INSTANCE:
+                return new SerializableContextualInstanceImpl<Contextual<Object>, Object>(Reflections.<SerializableContextual<Contextual<Object>, Object>> cast(contextual),
+                        instance, Reflections.<CreationalContext<Object>> cast(creationalContext));
+            case CONTEXT_BEAN_INSTANCE:
+                return new ContextBeanInstance<Object>(Reflections.<Bean<Object>> cast(getContextual()), identifier, contextId);
+            case CLIENT_PROXY:
+                Bean<?> bean = getContextualStore().<Bean<Object>, Object> getContextual(identifier);
+                if (bean == null) {
+                    throw BeanLogger.LOG.proxyDeserializationFailure(identifier);
+                }
+                return Container.instance(contextId).deploymentManager().getClientProxyProvider().getClientProxy(bean);
+            default:
+                throw new InvalidObjectException("Unknown kind: " + kind);
+        }
+    }
+
+    private Contextual<Object> getContextual() throws InvalidObjectException {
+        Contextual<Object> contextual = getContextualStore().<Contextual<Object>, Object> getContextual(identifier);
+        if (contextual == null) {
+            throw new InvalidObjectException("Error restoring serialized contextual with id " + identifier);
+        }
+        return contextual;
+    }
+
+    private ContextualStore getContextualStore() {
+        return Container.instance(contextId).services().get(ContextualStore.class);
+    }
+
+    private BeanIdentifierIndex getBeanIdentifierIndex() {
+        return Container.instance(contextId).services().get(BeanIdentifierIndex.class);
+    }
+
+    private static void writeVarInt(ObjectOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(ObjectInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new InvalidObjectException("Malformed index");
+    }
+
+    @Override
+    public String toString() {
+        return "CompactSerialForm [kind=" + kind + ", contextId=" + contextId + ", identifier=" + identifier + "]";
+    }
+
+}
@@ -28,6 +28,8 @@ import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.PassivationCapable;
 
 import org.jboss.weld.bean.CommonBean;
+import org.jboss.weld.bean.ManagedBeanIdentifier;
+import org.jboss.weld.bean.ProducerMethodIdentifier;
 import org.jboss.weld.bean.RIBean;
 import org.jboss.weld.bean.StringBeanIdentifier;
 import org.jboss.weld.contexts.SerializableContextualFactory;
@@ -56,6 +58,9 @@ public class ContextualStoreImpl implements ContextualStore {
 
     // The map containing passivation capable contextuals
     private final ConcurrentMap<BeanIdentifier, Contextual<?>> passivationCapableContextuals;
+    // Identifiers of extension-provided passivation capable contextuals, the same instance is always returned for an id
+    // Keyed by the id so that the map does not grow if an extension creates a new contextual instance for each lookup
+    private final ConcurrentMap<String, BeanIdentifier> passivationCapableIdentifiers;
 
     private final AtomicInteger idGenerator;
 
@@ -70,6 +75,7 @@ public class ContextualStoreImpl implements ContextualStore {
         this.contextuals = new ConcurrentHashMap<Contextual<?>, BeanIdentifier>();
         this.contextualsInverse = new ConcurrentHashMap<BeanIdentifier, Contextual<?>>();
         this.passivationCapableContextuals = new ConcurrentHashMap<BeanIdentifier, Contextual<?>>();
+        this.passivationCapableIdentifiers = new ConcurrentHashMap<String, BeanIdentifier>();
     }
 
     /**
@@ -87,13 +93,21 @@ public class ContextualStoreImpl implements ContextualStore {
     @Override
     @SuppressWarnings("unchecked")
     public <C extends Contextual<I>, I> C getContextual(BeanIdentifier identifier) {
-        if (identifier.asString().startsWith(GENERATED_ID_PREFIX)) {
+        if (isGenerated(identifier)) {
             return (C) contextualsInverse.get(identifier);
         } else {
             return (C) passivationCapableContextuals.get(identifier);
         }
     }
 
+    private static boolean isGenerated(BeanIdentifier identifier) {
+        if (identifier instanceof ManagedBeanIdentifier || identifier instanceof ProducerMethodIdentifier) {
+            // do not materialize the string form, these are never generated
+            return false;
+        }
+        return identifier.asString().startsWith(GENERATED_ID_PREFIX);
+    }
+
     /**
      * Add a contextual (if not already present) to the store, and return it's
      * id. If the contextual is passivation capable, it's id will be used,
@@ -112,9 +126,17 @@ public class ContextualStoreImpl implements ContextualStore {
         }
         if (contextual instanceof PassivationCapable) {
             // this is an extension-provided passivation capable bean
-            PassivationCapable passivationCapable = (PassivationCapable) contextual;
-            String id = passivationCapable.getId();
-            BeanIdentifier identifier = new StringBeanIdentifier(id);
+            String id = ((PassivationCapable) contextual).getId();
+            BeanIdentifier identifier = passivationCapableIdentifiers.get(id);
+            if (identifier != null) {
+                return identifier;
+            }
+            // reuse the identifier so that bean stores usually find their keys by identity
+            identifier = new StringBeanIdentifier(id);
+            BeanIdentifier previous = passivationCapableIdentifiers.putIfAbsent(id, identifier);
+            if (previous != null) {
+                return previous;
+            }
             passivationCapableContextuals.putIfAbsent(identifier, contextual);
             return identifier;
         } else {
@@ -150,11 +172,15 @@ public class ContextualStoreImpl implements ContextualStore {
         contextuals.clear();
         contextualsInverse.clear();
         passivationCapableContextuals.clear();
+        passivationCapableIdentifiers.clear();
     }
 
     public void removeAll(Iterable<Bean<?>> removable) {
         for (Bean<?> bean : removable) {
             BeanIdentifier beanIdentifier = contextuals.remove(bean);
+            if (beanIdentifier == null && !(bean instanceof CommonBean) && bean instanceof PassivationCapable) {
+                beanIdentifier = passivationCapableIdentifiers.remove(((PassivationCapable) bean).getId());
+            }
             if (beanIdentifier == null && bean instanceof RIBean) {
                 beanIdentifier = ((RIBean<?>) bean).getIdentifier();
             }
@@ -111,8 +111,19 @@ public class Decorators {
     }
 
     public static <T> T getOuterDelegate(Bean<T> bean, T instance, CreationalContext<T> creationalContext, Class<T> proxyClass, InjectionPoint originalInjectionPoint, BeanManagerImpl manager, List<Decorator<?>> decorators) {
+        return getOuterDelegate(bean, instance, creationalContext, proxyClass, null, originalInjectionPoint, manager, decorators);
+    }
+
+    /**
+     *
+     * @param decoratorProxyClasses the delegate proxy classes generated for the given decorators, may be <code>null</code>
+     * @see org.jboss.weld.bean.proxy.DecoratorChainProxyFactory
+     */
+    public static <T> T getOuterDelegate(Bean<T> bean, T instance, CreationalContext<T> creationalContext, Class<T> proxyClass, List<Class<T>> decoratorProxyClasses,
+            InjectionPoint originalInjectionPoint, BeanManagerImpl manager, List<Decorator<?>> decorators) {
         TargetBeanInstance beanInstance = new TargetBeanInstance(bean, instance);
-        DecorationHelper<T> decorationHelper = new DecorationHelper<T>(beanInstance, bean, proxyClass, manager, manager.getServices().get(ContextualStore.class), decorators);
+        DecorationHelper<T> decorationHelper = new DecorationHelper<T>(beanInstance, bean, proxyClass, decoratorProxyClasses, manager,
+                manager.getServices().get(ContextualStore.class), decorators);
         DecorationHelper.push(decorationHelper);
         try {
             final T outerDelegate = decorationHelper.getNextDelegate(originalInjectionPoint, creationalContext);
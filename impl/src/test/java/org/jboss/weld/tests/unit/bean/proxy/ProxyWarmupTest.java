@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.bean.proxy;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.bean.proxy.ProxyWarmup;
+import org.jboss.weld.util.LazyValueHolder;
+import org.junit.Test;
+
+public class ProxyWarmupTest {
+
+    @Test
+    public void testHolderRegisteredAfterStartIsComputedOnDemand() throws Exception {
+        ProxyWarmup warmup = new ProxyWarmup(ProxyWarmupTest.class.getName());
+        Bean<?> bean = createBean();
+        LazyValueHolder<String> registered = LazyValueHolder.forSupplier(() -> "foo");
+        warmup.register(bean, registered);
+        warmup.start(null, Collections.emptyList(), null);
+        warmup.getCompletion().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        assertTrue(registered.isAvailable());
+
+        LazyValueHolder<String> late = LazyValueHolder.forSupplier(() -> "bar");
+        warmup.register(bean, late);
+        assertFalse(late.isAvailable());
+        warmup.cleanup();
+        assertFalse(late.isAvailable());
+    }
+
+    @Test
+    public void testCleanupCompletesWarmup() {
+        ProxyWarmup warmup = new ProxyWarmup(ProxyWarmupTest.class.getName());
+        warmup.register(createBean(), LazyValueHolder.forSupplier(() -> "foo"));
+        CompletableFuture<Void> completion = warmup.getCompletion().toCompletableFuture();
+        assertFalse(warmup.isComplete());
+        warmup.cleanup();
+        assertTrue(warmup.isComplete());
+        assertTrue(completion.isCompletedExceptionally());
+    }
+
+    private static Bean<?> createBean() {
+        return (Bean<?>) Proxy.newProxyInstance(ProxyWarmupTest.class.getClassLoader(), new Class<?>[] { Bean.class }, (proxy, method, args) -> {
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            } else if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            return null;
+        });
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.contexts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import jakarta.enterprise.context.spi.Contextual;
+import jakarta.enterprise.context.spi.CreationalContext;
+
+import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.contexts.beanstore.ArrayBeanStore;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.junit.Test;
+
+public class ArrayBeanStoreTest {
+
+    @Test
+    public void testPutGetRemove() {
+        ArrayBeanStore store = new ArrayBeanStore(2);
+        Set<BeanIdentifier> ids = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            BeanIdentifier id = new StringBeanIdentifier("bean" + i);
+            ids.add(id);
+            store.put(id, new DummyInstance(i));
+        }
+        assertEquals(100, store.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, store.get(new StringBeanIdentifier("bean" + i)).getInstance());
+        }
+        // Remove every other entry, the rest must still be reachable
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(i, store.remove(new StringBeanIdentifier("bean" + i)).getInstance());
+        }
+        assertEquals(50, store.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 1, store.contains(new StringBeanIdentifier("bean" + i)));
+        }
+        assertNull(store.remove(new StringBeanIdentifier("bean0")));
+    }
+
+    @Test
+    public void testReplace() {
+        ArrayBeanStore store = new ArrayBeanStore();
+        BeanIdentifier id = new StringBeanIdentifier("foo");
+        DummyInstance instance = new DummyInstance(2);
+        store.put(id, new DummyInstance(1));
+        store.put(id, instance);
+        assertEquals(1, store.size());
+        assertSame(instance, store.get(id));
+    }
+
+    @Test
+    public void testIteratorAndClear() {
+        ArrayBeanStore store = new ArrayBeanStore();
+        for (int i = 0; i < 10; i++) {
+            store.put(new StringBeanIdentifier("bean" + i), new DummyInstance(i));
+        }
+        int count = 0;
+        for (Iterator<BeanIdentifier> iterator = store.iterator(); iterator.hasNext();) {
+            BeanIdentifier id = iterator.next();
+            assertTrue(store.contains(id));
+            iterator.remove();
+            assertFalse(store.contains(id));
+            count++;
+        }
+        assertEquals(10, count);
+        assertEquals(0, store.size());
+        store.put(new StringBeanIdentifier("foo"), new DummyInstance(0));
+        store.clear();
+        assertEquals(0, store.size());
+        assertFalse(store.iterator().hasNext());
+    }
+
+    private static class DummyInstance implements ContextualInstance<Object> {
+
+        private final Object instance;
+
+        DummyInstance(Object instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        public Object getInstance() {
+            return instance;
+        }
+
+        @Override
+        public CreationalContext<Object> getCreationalContext() {
+            return null;
+        }
+
+        @Override
+        public Contextual<Object> getContextual() {
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.contexts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+
+import org.jboss.weld.contexts.beanstore.AttributeNameIndex;
+import org.jboss.weld.contexts.beanstore.SimpleNamingScheme;
+import org.junit.Test;
+
+public class AttributeNameIndexTest {
+
+    @Test
+    public void testAddRemove() {
+        AttributeNameIndex index = new AttributeNameIndex();
+        assertTrue(index.isEmpty());
+        assertTrue(index.add("WELD_S#1"));
+        assertFalse(index.add("WELD_S#1"));
+        assertTrue(index.add("WELD_S#2"));
+        Collection<String> names = index.getNames();
+        assertEquals(new HashSet<>(Arrays.asList("WELD_S#1", "WELD_S#2")), new HashSet<>(names));
+        // The returned collection is a snapshot
+        assertTrue(index.remove("WELD_S#1"));
+        assertFalse(index.remove("WELD_S#1"));
+        assertEquals(2, names.size());
+        assertEquals(1, index.getNames().size());
+        assertTrue(index.isVerified());
+    }
+
+    @Test
+    public void testVerificationAfterDeserialization() throws Exception {
+        AttributeNameIndex index = new AttributeNameIndex(Arrays.asList("WELD_S#1", "WELD_S#2", "WELD_S#3"));
+        AttributeNameIndex deserialized = deserialize(serialize(index));
+        assertFalse(deserialized.isVerified());
+        assertEquals(3, deserialized.getNames().size());
+        // Pretend the container dropped the second attribute
+        assertTrue(deserialized.retainAll(name -> !name.equals("WELD_S#2")));
+        assertTrue(deserialized.isVerified());
+        assertEquals(new HashSet<>(Arrays.asList("WELD_S#1", "WELD_S#3")), new HashSet<>(deserialized.getNames()));
+        assertFalse(deserialized.retainAll(name -> true));
+    }
+
+    @Test
+    public void testIndexAttributeNameNotAcceptedByNamingScheme() {
+        SimpleNamingScheme namingScheme = new SimpleNamingScheme("WELD_S");
+        String indexName = namingScheme.getIndexAttributeName();
+        assertEquals(Arrays.asList("WELD_S#1"), namingScheme.filterIds(Arrays.asList(indexName, "WELD_S#1", "other").iterator()));
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static AttributeNameIndex deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (AttributeNameIndex) in.readObject();
+        }
+    }
+
+}
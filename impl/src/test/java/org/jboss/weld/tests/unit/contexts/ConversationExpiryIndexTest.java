@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.contexts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.weld.contexts.conversation.ConversationExpiryIndex;
+import org.junit.Test;
+
+public class ConversationExpiryIndexTest {
+
+    @Test
+    public void testPollExpired() {
+        ConversationExpiryIndex index = new ConversationExpiryIndex(8, 10, 0);
+        index.schedule("1", 15);
+        index.schedule("2", 30);
+        // Same slot as "1" but in the next round of the wheel
+        index.schedule("3", 95);
+        List<String> expired = new ArrayList<>();
+        assertEquals(0, index.pollExpired(10, 10, expired));
+        assertEquals(1, index.pollExpired(20, 10, expired));
+        assertEquals("1", expired.get(0));
+        expired.clear();
+        assertEquals(1, index.pollExpired(50, 10, expired));
+        assertEquals("2", expired.get(0));
+        expired.clear();
+        assertEquals(1, index.pollExpired(1000, 10, expired));
+        assertEquals("3", expired.get(0));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testReschedule() {
+        ConversationExpiryIndex index = new ConversationExpiryIndex(8, 10, 0);
+        index.schedule("1", 15);
+        index.schedule("1", 45);
+        List<String> expired = new ArrayList<>();
+        assertEquals(0, index.pollExpired(30, 10, expired));
+        assertEquals(1, index.pollExpired(50, 10, expired));
+    }
+
+    @Test
+    public void testPollLimit() {
+        ConversationExpiryIndex index = new ConversationExpiryIndex(8, 10, 0);
+        for (int i = 0; i < 10; i++) {
+            index.schedule("" + i, i);
+        }
+        List<String> expired = new ArrayList<>();
+        assertEquals(4, index.pollExpired(100, 4, expired));
+        assertEquals(4, index.pollExpired(100, 4, expired));
+        assertEquals(2, index.pollExpired(100, 4, expired));
+        assertEquals(10, expired.size());
+    }
+
+    @Test
+    public void testEnded() {
+        ConversationExpiryIndex index = new ConversationExpiryIndex(8, 10, 0);
+        index.schedule("1", 15);
+        index.markEnded("1");
+        assertEquals(0, index.size());
+        Set<String> ended = index.drainEnded();
+        assertEquals(1, ended.size());
+        assertTrue(ended.contains("1"));
+        assertTrue(index.drainEnded().isEmpty());
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.contexts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import jakarta.enterprise.context.spi.Contextual;
+import jakarta.enterprise.context.spi.CreationalContext;
+
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.contexts.CreationalContextImpl;
+import org.junit.Test;
+
+public class CreationalContextDependentInstancesTest {
+
+    @Test
+    public void testNoDependentInstances() {
+        CreationalContextImpl<String> ctx = new CreationalContextImpl<>(new RecordingContextual<>(null));
+        assertTrue(ctx.getDependentInstances().isEmpty());
+        assertFalse(ctx.hasDependentInstances());
+        ctx.release();
+        assertFalse(ctx.destroyDependentInstance("foo"));
+    }
+
+    @Test
+    public void testReleaseInOrder() {
+        List<Object> destroyed = new ArrayList<>();
+        CreationalContextImpl<String> ctx = new CreationalContextImpl<>(new RecordingContextual<>(destroyed));
+        RecordingContextual<Object> dependent = new RecordingContextual<>(destroyed);
+        for (int i = 0; i < 5; i++) {
+            CreationalContextImpl<Object> child = ctx.getCreationalContext(dependent);
+            child.addDependentInstance(new Instance<>(i, dependent, child));
+        }
+        assertEquals(5, ctx.getDependentInstances().size());
+        assertTrue(ctx.hasDependentInstances());
+        assertEquals(2, ctx.getDependentInstances().get(2).getInstance());
+        ctx.release();
+        assertEquals(List.of(0, 1, 2, 3, 4), destroyed);
+    }
+
+    @Test
+    public void testDestroyDependentInstance() {
+        List<Object> destroyed = new ArrayList<>();
+        CreationalContextImpl<Object> ctx = new CreationalContextImpl<>(new RecordingContextual<>(destroyed));
+        RecordingContextual<Object> dependent = new RecordingContextual<>(destroyed);
+        for (int i = 0; i < 4; i++) {
+            CreationalContextImpl<Object> child = ctx.getCreationalContext(dependent);
+            child.addDependentInstance(new Instance<>(i, dependent, child));
+        }
+        // Head, middle and tail
+        assertTrue(ctx.destroyDependentInstance(3));
+        assertTrue(ctx.destroyDependentInstance(1));
+        assertTrue(ctx.destroyDependentInstance(0));
+        assertFalse(ctx.destroyDependentInstance(0));
+        assertEquals(List.of(3, 1, 0), destroyed);
+        assertEquals(1, ctx.getDependentInstances().size());
+        ctx.release();
+        assertEquals(List.of(3, 1, 0, 2), destroyed);
+    }
+
+    @Test
+    public void testConcurrentAddition() throws InterruptedException {
+        CreationalContextImpl<Object> ctx = new CreationalContextImpl<>(new RecordingContextual<>(null));
+        RecordingContextual<Object> dependent = new RecordingContextual<>(null);
+        int threads = 4;
+        int instances = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < instances; i++) {
+                    CreationalContextImpl<Object> child = ctx.getCreationalContext(dependent);
+                    Object instance = new Object();
+                    child.addDependentInstance(new Instance<>(instance, dependent, child));
+                    if (i % 2 == 0) {
+                        ctx.destroyDependentInstance(instance);
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(threads * instances / 2, ctx.getDependentInstances().size());
+    }
+
+    private static class RecordingContextual<T> implements Contextual<T> {
+
+        private final List<Object> destroyed;
+
+        RecordingContextual(List<Object> destroyed) {
+            this.destroyed = destroyed;
+        }
+
+        @Override
+        public T create(CreationalContext<T> creationalContext) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void destroy(T instance, CreationalContext<T> creationalContext) {
+            if (destroyed != null) {
+                destroyed.add(instance);
+            }
+        }
+
+    }
+
+    private static class Instance<T> implements ContextualInstance<T> {
+
+        private final T instance;
+
+        private final Contextual<T> contextual;
+
+        private final CreationalContext<T> creationalContext;
+
+        Instance(T instance, Contextual<T> contextual, CreationalContext<T> creationalContext) {
+            this.instance = instance;
+            this.contextual = contextual;
+            this.creationalContext = creationalContext;
+        }
+
+        @Override
+        public T getInstance() {
+            return instance;
+        }
+
+        @Override
+        public CreationalContext<T> getCreationalContext() {
+            return creationalContext;
+        }
+
+        @Override
+        public Contextual<T> getContextual() {
+            return contextual;
+        }
+
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.contexts;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.weld.contexts.cache.RequestScopedCache;
+import org.jboss.weld.contexts.cache.RequestScopedCache.Epoch;
+import org.junit.After;
+import org.junit.Test;
+
+public class RequestScopedCacheEpochTest {
+
+    @After
+    public void cleanup() {
+        RequestScopedCache.endRequest();
+    }
+
+    @Test
+    public void testEpochEndsWithRequest() {
+        assertNull(RequestScopedCache.getCurrentEpoch());
+        RequestScopedCache.beginRequest();
+        Epoch epoch = RequestScopedCache.getCurrentEpoch();
+        assertNotNull(epoch);
+        assertTrue(epoch.isCurrent());
+        RequestScopedCache.endRequest();
+        assertFalse(epoch.isCurrent());
+        assertNull(RequestScopedCache.getCurrentEpoch());
+    }
+
+    @Test
+    public void testInvalidateStartsNewEpoch() {
+        RequestScopedCache.beginRequest();
+        Epoch epoch = RequestScopedCache.getCurrentEpoch();
+        RequestScopedCache.invalidate();
+        assertFalse(epoch.isCurrent());
+        Epoch next = RequestScopedCache.getCurrentEpoch();
+        assertNotSame(epoch, next);
+        assertTrue(next.isCurrent());
+    }
+
+    @Test
+    public void testEpochNotCurrentOnOtherThread() throws InterruptedException {
+        RequestScopedCache.beginRequest();
+        final Epoch epoch = RequestScopedCache.getCurrentEpoch();
+        final AtomicBoolean current = new AtomicBoolean(true);
+        Thread thread = new Thread(() -> current.set(epoch.isCurrent()));
+        thread.start();
+        thread.join();
+        assertFalse(current.get());
+        assertTrue(epoch.isCurrent());
+    }
+
+    @Test
+    public void testEpochEndedOnOtherThread() throws InterruptedException {
+        RequestScopedCache.beginRequest();
+        final Epoch epoch = RequestScopedCache.getCurrentEpoch();
+        final AtomicBoolean ended = new AtomicBoolean(true);
+        Thread thread = new Thread(() -> ended.set(epoch.hasEnded()));
+        thread.start();
+        thread.join();
+        // the epoch is still running, it only belongs to another thread
+        assertFalse(ended.get());
+        RequestScopedCache.endRequest();
+        assertTrue(epoch.hasEnded());
+    }
+
+    @Test
+    public void testItemReleasedWithEpoch() {
+        RequestScopedCache.beginRequest();
+        final AtomicBoolean released = new AtomicBoolean();
+        assertTrue(RequestScopedCache.addItemIfActive(() -> released.set(true)));
+        RequestScopedCache.invalidate();
+        assertTrue(released.get());
+        assertTrue(RequestScopedCache.getCurrentEpoch().isCurrent());
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.injection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.jboss.weld.contexts.cache.RequestScopedCache;
+import org.jboss.weld.injection.CallFrame;
+import org.jboss.weld.injection.ThreadLocalStack;
+import org.jboss.weld.injection.ThreadLocalStack.ThreadLocalStackReference;
+import org.junit.Test;
+
+public class CallFrameTest {
+
+    @Test
+    public void testFrameRemovedWhenAllStacksEmpty() {
+        ThreadLocalStack<String> first = new ThreadLocalStack<String>();
+        ThreadLocalStack<String> second = new ThreadLocalStack<String>();
+        assertNull(first.peek());
+        assertNull(CallFrame.current());
+
+        ThreadLocalStackReference<String> a = first.push("a");
+        CallFrame frame = CallFrame.current();
+        assertNotNull(frame);
+        ThreadLocalStackReference<String> b = second.push("b");
+        ThreadLocalStackReference<String> c = first.push("c");
+        // a single frame holds both stacks
+        assertSame(frame, CallFrame.current());
+        assertEquals("c", first.peek());
+        assertEquals("b", second.peek());
+
+        assertEquals("c", c.pop());
+        assertEquals("a", first.peek());
+        assertEquals("a", a.pop());
+        assertNull(first.peek());
+        assertSame(frame, CallFrame.current());
+        assertEquals("b", b.pop());
+        assertNull(CallFrame.current());
+    }
+
+    @Test
+    public void testStackGrows() {
+        ThreadLocalStack<Integer> stack = new ThreadLocalStack<Integer>();
+        ThreadLocalStackReference<Integer> reference = null;
+        for (int i = 0; i < 100; i++) {
+            reference = stack.push(i);
+        }
+        assertEquals(Integer.valueOf(99), stack.peek());
+        for (int i = 99; i >= 0; i--) {
+            assertEquals(Integer.valueOf(i), reference.pop());
+        }
+        assertNull(CallFrame.current());
+    }
+
+    @Test
+    public void testNullReference() {
+        ThreadLocalStack<String> stack = new ThreadLocalStack<String>();
+        assertNull(stack.pushIfNotNull(null).pop());
+        assertNull(CallFrame.current());
+    }
+
+    @Test
+    public void testFrameKeptForRequest() {
+        ThreadLocalStack<String> stack = new ThreadLocalStack<String>();
+        RequestScopedCache.beginRequest();
+        try {
+            stack.push("a").pop();
+            CallFrame frame = CallFrame.current();
+            // the frame is reused by the subsequent calls within the request
+            assertNotNull(frame);
+            stack.push("b").pop();
+            assertSame(frame, CallFrame.current());
+            ThreadLocalStackReference<String> c = stack.push("c");
+            // flushing the cache in the middle of a call must not remove the frame
+            RequestScopedCache.invalidate();
+            assertSame(frame, CallFrame.current());
+            assertEquals("c", c.pop());
+            assertNull(CallFrame.current());
+            stack.push("d").pop();
+            assertNotNull(CallFrame.current());
+        } finally {
+            RequestScopedCache.endRequest();
+        }
+        assertNull(CallFrame.current());
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.serialization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Set;
+
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.context.spi.Contextual;
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.InjectionPoint;
+import jakarta.enterprise.inject.spi.PassivationCapable;
+
+import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.serialization.ContextualStoreImpl;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.junit.Test;
+
+public class ContextualStoreImplTest {
+
+    @Test
+    public void testPassivationCapableIdentifierReused() {
+        ContextualStoreImpl store = new ContextualStoreImpl("foo", null);
+        DummyContextual contextual = new DummyPassivationCapableContextual("bar");
+        BeanIdentifier identifier = store.putIfAbsent(contextual);
+        assertEquals(new StringBeanIdentifier("bar"), identifier);
+        assertSame(identifier, store.putIfAbsent(contextual));
+        assertSame(contextual, store.getContextual(new StringBeanIdentifier("bar")));
+        assertSame(contextual, store.getContextual(identifier));
+    }
+
+    @Test
+    public void testPassivationCapableIdentifierSharedById() {
+        ContextualStoreImpl store = new ContextualStoreImpl("foo", null);
+        DummyContextual contextual = new DummyPassivationCapableContextual("bar");
+        BeanIdentifier identifier = store.putIfAbsent(contextual);
+        // an extension may create a new contextual instance for each lookup
+        for (int i = 0; i < 10; i++) {
+            assertSame(identifier, store.putIfAbsent(new DummyPassivationCapableContextual("bar")));
+        }
+        assertSame(contextual, store.getContextual(identifier));
+        assertFalse(identifier == store.putIfAbsent(new DummyPassivationCapableContextual("baz")));
+    }
+
+    @Test
+    public void testPassivationCapableIdentifierRemoved() {
+        ContextualStoreImpl store = new ContextualStoreImpl("foo", null);
+        DummyPassivationCapableBean bean = new DummyPassivationCapableBean("bar");
+        BeanIdentifier identifier = store.putIfAbsent(bean);
+        store.removeAll(Collections.<Bean<?>> singleton(bean));
+        assertNull(store.getContextual(identifier));
+        BeanIdentifier newIdentifier = store.putIfAbsent(new DummyPassivationCapableContextual("bar"));
+        assertEquals(identifier, newIdentifier);
+        assertNotSame(identifier, newIdentifier);
+    }
+
+    @Test
+    public void testGeneratedIdentifier() {
+        ContextualStoreImpl store = new ContextualStoreImpl("foo", null);
+        DummyContextual contextual01 = new DummyContextual();
+        DummyContextual contextual02 = new DummyContextual();
+        BeanIdentifier identifier01 = store.putIfAbsent(contextual01);
+        BeanIdentifier identifier02 = store.putIfAbsent(contextual02);
+        assertFalse(identifier01.equals(identifier02));
+        assertSame(identifier01, store.putIfAbsent(contextual01));
+        assertSame(contextual01, store.getContextual(identifier01));
+        assertSame(contextual02, store.getContextual(new StringBeanIdentifier(identifier02.asString())));
+    }
+
+    private static class DummyContextual implements Contextual<Object> {
+
+        @Override
+        public Object create(CreationalContext<Object> creationalContext) {
+            return null;
+        }
+
+        @Override
+        public void destroy(Object instance, CreationalContext<Object> creationalContext) {
+        }
+
+    }
+
+    private static class DummyPassivationCapableBean extends DummyPassivationCapableContextual implements Bean<Object> {
+
+        DummyPassivationCapableBean(String id) {
+            super(id);
+        }
+
+        @Override
+        public Set<Type> getTypes() {
+            return Collections.<Type> singleton(Object.class);
+        }
+
+        @Override
+        public Set<Annotation> getQualifiers() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Class<? extends Annotation> getScope() {
+            return Dependent.class;
+        }
+
+        @Override
+        public String getName() {
+            return null;
+        }
+
+        @Override
+        public Set<Class<? extends Annotation>> getStereotypes() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public boolean isAlternative() {
+            return false;
+        }
+
+        @Override
+        public Class<?> getBeanClass() {
+            return Object.class;
+        }
+
+        @Override
+        public Set<InjectionPoint> getInjectionPoints() {
+            return Collections.emptySet();
+        }
+
+    }
+
+    private static class DummyPassivationCapableContextual extends DummyContextual implements PassivationCapable {
+
+        private final String id;
+
+        DummyPassivationCapableContextual(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+    }
+
+}
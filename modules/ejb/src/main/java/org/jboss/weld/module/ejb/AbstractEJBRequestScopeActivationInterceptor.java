@@ -28,6 +28,7 @@ import org.jboss.weld.context.ejb.EjbRequestContext;
 import org.jboss.weld.event.ContextEvent;
 import org.jboss.weld.event.FastEvent;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.module.ejb.context.EjbRequestContextImpl;
 import org.jboss.weld.util.LazyValueHolder;
 
 /**
@@ -66,28 +67,48 @@ public abstract class AbstractEJBRequestScopeActivationInterceptor implements Se
         }
     };
 
-    public Object aroundInvoke(InvocationContext invocation) throws Exception {
+    // Detected once the deployment is running, the observer methods do not change afterwards
+    private final LazyValueHolder<Boolean> requestEventsObserved = new LazyValueHolder.Serializable<Boolean>() {
+        private static final long serialVersionUID = 1L;
+        @Override
+        protected Boolean computeValue() {
+            return !requestInitializedEvent.get().isEmpty() || !requestBeforeDestroyedEvent.get().isEmpty() || !requestDestroyedEvent.get().isEmpty();
+        }
+    };
+
+    private transient volatile EjbRequestContext ejbRequestContext;
 
-        if (isRequestContextActive()) {
+    public Object aroundInvoke(InvocationContext invocation) throws Exception {
+        EjbRequestContext requestContext = getEjbRequestContext();
+        // Checking the cached context first is cheap and covers nested invocations of an EJB-initiated request
+        if (requestContext.isActive() || isRequestContextActive()) {
             return invocation.proceed();
         } else {
-            EjbRequestContext requestContext = getEjbRequestContext();
+            boolean fireEvents = requestEventsObserved.get();
             try {
                 requestContext.associate(invocation);
                 requestContext.activate();
                 try {
-                    // An event with qualifier @Initialized(RequestScoped.class) is fired when the request context is initialized
-                    requestInitializedEvent.get().fire(ContextEvent.REQUEST_INITIALIZED_EJB);
+                    if (fireEvents) {
+                        // An event with qualifier @Initialized(RequestScoped.class) is fired when the request context is initialized
+                        requestInitializedEvent.get().fire(ContextEvent.REQUEST_INITIALIZED_EJB);
+                    }
                     return invocation.proceed();
                 } finally {
-                    requestBeforeDestroyedEvent.get().fire(ContextEvent.REQUEST_BEFORE_DESTROYED_EJB);
-                    requestContext.invalidate();
+                    if (fireEvents) {
+                        requestBeforeDestroyedEvent.get().fire(ContextEvent.REQUEST_BEFORE_DESTROYED_EJB);
+                    }
+                    if (hasContextualInstances(requestContext)) {
+                        requestContext.invalidate();
+                    }
                     requestContext.deactivate();
                 }
             } finally {
                 requestContext.dissociate(invocation);
-                // An event with qualifier @Destroyed(RequestScoped.class) when the request context is destroyed
-                requestDestroyedEvent.get().fire(ContextEvent.REQUEST_DESTROYED_EJB);
+                if (fireEvents) {
+                    // An event with qualifier @Destroyed(RequestScoped.class) when the request context is destroyed
+                    requestDestroyedEvent.get().fire(ContextEvent.REQUEST_DESTROYED_EJB);
+                }
             }
         }
     }
@@ -97,7 +118,25 @@ public abstract class AbstractEJBRequestScopeActivationInterceptor implements Se
     }
 
     protected EjbRequestContext getEjbRequestContext() {
-        return getBeanManager().instance().select(EjbRequestContext.class).get();
+        EjbRequestContext requestContext = ejbRequestContext;
+        if (requestContext == null) {
+            requestContext = getBeanManager().instance().select(EjbRequestContext.class).get();
+            ejbRequestContext = requestContext;
+        }
+        return requestContext;
+    }
+
+    /**
+     * If no contextual instance was created during the invocation there is nothing to destroy and the context does not need to be invalidated.
+     *
+     * @param requestContext
+     * @return <code>true</code> if the given request context may hold a contextual instance, <code>false</code> otherwise
+     */
+    protected boolean hasContextualInstances(EjbRequestContext requestContext) {
+        if (requestContext instanceof EjbRequestContextImpl) {
+            return ((EjbRequestContextImpl) requestContext).hasContextualInstances();
+        }
+        return true;
     }
 
     protected abstract BeanManagerImpl getBeanManager();
@@ -32,6 +32,7 @@ import org.jboss.weld.injection.producer.Instantiator;
 import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.security.NewInstanceAction;
+import org.jboss.weld.util.ValueHolder;
 
 /**
  * Instantiator implementation that instantiates a proxy for a session bean.
@@ -40,18 +41,21 @@ import org.jboss.weld.security.NewInstanceAction;
  */
 class SessionBeanProxyInstantiator<T> implements Instantiator<T> {
 
-    private final Class<T> proxyClass;
+    private final ValueHolder<Class<T>> proxyClass;
     private final SessionBeanImpl<T> bean;
 
     SessionBeanProxyInstantiator(EnhancedAnnotatedType<T> type, SessionBeanImpl<T> bean) {
         this.bean = bean;
-        this.proxyClass = new EnterpriseProxyFactory<T>(type.getJavaClass(), bean).getProxyClass();
+        // Do not capture the annotated type, it is only needed during bootstrap
+        Class<T> javaClass = type.getJavaClass();
+        this.proxyClass = ProxyFactory.generate(bean.getBeanManager().getContextId(), bean,
+                () -> new EnterpriseProxyFactory<T>(javaClass, bean).getProxyClass());
     }
 
     @Override
     public T newInstance(CreationalContext<T> ctx, BeanManagerImpl manager) {
         try {
-            T instance = AccessController.doPrivileged(NewInstanceAction.of(proxyClass));
+            T instance = AccessController.doPrivileged(NewInstanceAction.of(proxyClass.get()));
             if (!bean.getScope().equals(Dependent.class)) {
                 ctx.push(instance);
             }
@@ -66,7 +70,7 @@ class SessionBeanProxyInstantiator<T> implements Instantiator<T> {
                 throw new WeldException(e.getCause());
             }
         } catch (Exception e) {
-            throw BeanLogger.LOG.sessionBeanProxyInstantiationFailed(bean, proxyClass, e);
+            throw BeanLogger.LOG.sessionBeanProxyInstantiationFailed(bean, proxyClass.getIfPresent(), e);
         }
     }
 
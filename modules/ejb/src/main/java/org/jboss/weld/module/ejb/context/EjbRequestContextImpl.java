@@ -1,6 +1,7 @@
 package org.jboss.weld.module.ejb.context;
 
 import org.jboss.weld.contexts.AbstractBoundContext;
+import org.jboss.weld.contexts.beanstore.BoundBeanStore;
 import org.jboss.weld.contexts.beanstore.NamingScheme;
 import org.jboss.weld.contexts.beanstore.SimpleNamingScheme;
 import org.jboss.weld.module.ejb.context.beanstore.InvocationContextBeanStore;
@@ -36,6 +37,15 @@ public class EjbRequestContextImpl extends AbstractBoundContext<InvocationContex
         }
     }
 
+    /**
+     *
+     * @return <code>true</code> if a contextual instance is stored in the bean store associated with the current thread, <code>false</code> otherwise
+     */
+    public boolean hasContextualInstances() {
+        BoundBeanStore beanStore = getBeanStore();
+        return beanStore != null && beanStore.iterator().hasNext();
+    }
+
     @Override
     public void activate() {
         super.activate();
@@ -65,6 +65,15 @@ class DeferredEventNotification<T> implements Runnable {
     }
 
     public void run() {
+        notify(contextId, observer, event, metadata, currentEventMetadata);
+    }
+
+    /**
+     * Notifies the observer of the given event, activating the request context for the duration of the notification if needed. Any exception thrown by
+     * the observer is logged and swallowed.
+     */
+    static <T> void notify(String contextId, final ObserverMethod<? super T> observer, final T event, final EventMetadata metadata,
+            final CurrentEventMetadata currentEventMetadata) {
         try {
             EventLogger.LOG.asyncFire(metadata, observer);
             new RunInRequest(contextId) {
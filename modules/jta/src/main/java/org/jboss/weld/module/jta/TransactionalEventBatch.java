@@ -0,0 +1,191 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.module.jta;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.enterprise.inject.spi.EventMetadata;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import jakarta.transaction.Synchronization;
+
+import org.jboss.weld.event.CurrentEventMetadata;
+
+/**
+ * A JTA transaction synchronization which collects all the transactional event notifications of a single transaction. Only one synchronization is
+ * registered per transaction and container no matter how many events are fired. Events are delivered in the order they were fired.
+ * <p>
+ * Events may be fired from a different thread than the one completing the transaction (e.g. a transaction reaper), therefore the queue is guarded by the
+ * monitor of this object. Observers are never notified while holding the monitor.
+ *
+ * @see TransactionalObserverNotifier
+ */
+class TransactionalEventBatch implements Synchronization {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final String contextId;
+    private final CurrentEventMetadata currentEventMetadata;
+    // null unless duplicate events should be coalesced
+    private final Set<Entry<?>> coalesced;
+
+    private Entry<?>[] entries;
+    private int size;
+    // once set no more events may be enqueued, a new batch needs to be registered instead
+    private boolean beforeCompletionDone;
+
+    TransactionalEventBatch(String contextId, CurrentEventMetadata currentEventMetadata, boolean coalesce) {
+        this.contextId = contextId;
+        this.currentEventMetadata = currentEventMetadata;
+        this.coalesced = coalesce ? new HashSet<>() : null;
+        this.entries = new Entry<?>[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Enqueues the event for the given transactional observers.
+     *
+     * @return <code>false</code> if the before completion phase of this batch has already been processed and the event was not enqueued,
+     *         <code>true</code> otherwise
+     */
+    synchronized <T> boolean add(T event, EventMetadata metadata, List<ObserverMethod<? super T>> observers) {
+        if (beforeCompletionDone) {
+            return false;
+        }
+        Entry<T> entry = new Entry<>(event, metadata, observers);
+        if (coalesced != null && !coalesced.add(entry)) {
+            // An equal event was already enqueued for the same observers
+            return true;
+        }
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size << 1);
+        }
+        entries[size++] = entry;
+        return true;
+    }
+
+    @Override
+    public void beforeCompletion() {
+        // Observers may fire further events - these are enqueued and processed within the same loop
+        int index = 0;
+        while (true) {
+            Entry<?> entry;
+            synchronized (this) {
+                if (index == size) {
+                    beforeCompletionDone = true;
+                    return;
+                }
+                entry = entries[index++];
+            }
+            entry.notifyBefore(this);
+        }
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        Entry<?>[] snapshot;
+        int length;
+        synchronized (this) {
+            beforeCompletionDone = true;
+            snapshot = entries;
+            length = size;
+        }
+        if (snapshot == null) {
+            // afterCompletion() already invoked
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            snapshot[i].notifyAfter(this, status);
+        }
+        synchronized (this) {
+            entries = null;
+            size = 0;
+            if (coalesced != null) {
+                coalesced.clear();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Transactional event batch [contextId=" + contextId + ", size=" + size + "]";
+    }
+
+    private static final class Entry<T> {
+
+        private final T event;
+        private final EventMetadata metadata;
+        private final List<ObserverMethod<? super T>> observers;
+        private final Set<Annotation> qualifiers;
+        private int hashCode;
+
+        Entry(T event, EventMetadata metadata, List<ObserverMethod<? super T>> observers) {
+            this.event = event;
+            this.metadata = metadata;
+            this.observers = observers;
+            // metadata is null if none of the observers needs it
+            this.qualifiers = metadata != null ? metadata.getQualifiers() : Collections.emptySet();
+        }
+
+        void notifyBefore(TransactionalEventBatch batch) {
+            for (ObserverMethod<? super T> observer : observers) {
+                if (observer.getTransactionPhase() == TransactionPhase.BEFORE_COMPLETION) {
+                    DeferredEventNotification.notify(batch.contextId, observer, event, metadata, batch.currentEventMetadata);
+                }
+            }
+        }
+
+        void notifyAfter(TransactionalEventBatch batch, int status) {
+            for (ObserverMethod<? super T> observer : observers) {
+                TransactionPhase phase = observer.getTransactionPhase();
+                if (phase != TransactionPhase.BEFORE_COMPLETION && Status.valueOf(phase).matches(status)) {
+                    DeferredEventNotification.notify(batch.contextId, observer, event, metadata, batch.currentEventMetadata);
+                }
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            int result = hashCode;
+            if (result == 0) {
+                result = Objects.hashCode(event);
+                result = 31 * result + System.identityHashCode(observers);
+                result = 31 * result + qualifiers.hashCode();
+                hashCode = result;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            Entry<?> that = (Entry<?>) obj;
+            // The resolved observer lists are cached, i.e. the same event type and qualifiers result in the same list instance
+            return observers == that.observers && Objects.equals(event, that.event) && qualifiers.equals(that.qualifiers);
+        }
+    }
+}
@@ -18,21 +18,32 @@ package org.jboss.weld.module.jta;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import jakarta.enterprise.event.TransactionPhase;
 import jakarta.enterprise.inject.spi.EventMetadata;
 import jakarta.enterprise.inject.spi.ObserverMethod;
 import jakarta.transaction.RollbackException;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
 
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.event.ObserverNotifier;
+import org.jboss.weld.logging.EventLogger;
 import org.jboss.weld.module.ObserverNotifierFactory;
 import org.jboss.weld.resolution.TypeSafeObserverResolver;
 import org.jboss.weld.transaction.spi.TransactionServices;
 
 /**
  * {@link ObserverNotifier} with support for transactional observer methods.
+ * <p>
+ * If the {@link TransactionSynchronizationRegistry} is available, all the transactional event notifications of a transaction are collected in a single
+ * {@link TransactionalEventBatch} which is stored as a resource of the transaction. Otherwise a separate synchronization is registered for every event. A
+ * failed lookup of the registry is only retried after an interval which doubles with every failure, up to ten minutes.
  *
  * @author Jozef Hartinger
  */
@@ -45,13 +56,32 @@ class TransactionalObserverNotifier extends ObserverNotifier {
         }
     };
 
+    private static final String TRANSACTION_SYNCHRONIZATION_REGISTRY_JNDI_NAME = "java:comp/TransactionSynchronizationRegistry";
+
+    private static final String BATCH_KEY_PREFIX = TransactionalEventBatch.class.getName() + ".";
+
     private final TransactionServices transactionServices;
     private final String contextId;
+    private final String batchKey;
+    private final boolean coalesce;
+
+    // a failed lookup is retried after this interval at the earliest, the interval doubles with each failure
+    private static final long MIN_LOOKUP_RETRY_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    private static final long MAX_LOOKUP_RETRY_INTERVAL = TimeUnit.MINUTES.toNanos(10);
+
+    // lazily looked up, null until available
+    private volatile TransactionSynchronizationRegistry registry;
+    // zero if the lookup did not fail yet
+    private volatile long lookupRetryInterval;
+    private volatile long nextLookup;
 
     TransactionalObserverNotifier(String contextId, TypeSafeObserverResolver resolver, ServiceRegistry services, boolean strict) {
         super(contextId, resolver, services, strict);
         this.contextId = contextId;
         this.transactionServices = services.get(TransactionServices.class);
+        this.batchKey = BATCH_KEY_PREFIX + contextId;
+        WeldConfiguration configuration = services.get(WeldConfiguration.class);
+        this.coalesce = configuration != null && configuration.getBooleanProperty(ConfigurationKey.TRANSACTIONAL_OBSERVERS_COALESCE_EVENTS);
     }
 
     /**
@@ -78,12 +108,14 @@ class TransactionalObserverNotifier extends ObserverNotifier {
             // Transaction is not active - no deferred notifications
             notifySyncObservers(observers, event, metadata, handler);
         } else {
-            List<DeferredEventNotification<?>> notifications = new ArrayList<DeferredEventNotification<?>>();
-            for (ObserverMethod<? super T> observer : observers) {
-                deferNotification(event, metadata, observer, notifications);
-            }
             try {
-                transactionServices.registerSynchronization(new TransactionNotificationSynchronization(notifications));
+                if (!enqueue(event, metadata, observers)) {
+                    List<DeferredEventNotification<?>> notifications = new ArrayList<DeferredEventNotification<?>>();
+                    for (ObserverMethod<? super T> observer : observers) {
+                        deferNotification(event, metadata, observer, notifications);
+                    }
+                    transactionServices.registerSynchronization(new TransactionNotificationSynchronization(notifications));
+                }
             } catch (Exception e) {
                 if (e.getCause() instanceof RollbackException || e.getCause() instanceof IllegalStateException) {
                     List<ObserverMethod<? super T>> filteredObservers = observers.stream()
@@ -101,4 +133,64 @@ class TransactionalObserverNotifier extends ObserverNotifier {
             }
         }
     }
+
+    /**
+     * Enqueues the event in the batch of the current transaction. The batch synchronization is registered when the first event of the transaction is
+     * fired.
+     *
+     * @return <code>false</code> if the {@link TransactionSynchronizationRegistry} is not available and the event was not enqueued
+     */
+    private <T> boolean enqueue(T event, EventMetadata metadata, List<ObserverMethod<? super T>> observers) {
+        TransactionSynchronizationRegistry registry = getRegistry();
+        if (registry == null) {
+            return false;
+        }
+        TransactionalEventBatch batch = (TransactionalEventBatch) registry.getResource(batchKey);
+        if (batch == null || !batch.add(event, metadata, observers)) {
+            // Either the first event of the transaction or fired after the before completion phase was processed
+            batch = new TransactionalEventBatch(contextId, currentEventMetadata, coalesce);
+            batch.add(event, metadata, observers);
+            transactionServices.registerSynchronization(batch);
+            registry.putResource(batchKey, batch);
+        }
+        return true;
+    }
+
+    private TransactionSynchronizationRegistry getRegistry() {
+        TransactionSynchronizationRegistry registry = this.registry;
+        if (registry != null) {
+            return registry;
+        }
+        long interval = lookupRetryInterval;
+        if (interval != 0 && System.nanoTime() - nextLookup < 0) {
+            // Not available - do not perform the JNDI lookup for every event
+            return null;
+        }
+        // A failed lookup is not cached forever - the registry may not be bound yet, e.g. while the application is being deployed
+        registry = lookupRegistry();
+        if (registry != null) {
+            this.registry = registry;
+        } else {
+            interval = interval == 0 ? MIN_LOOKUP_RETRY_INTERVAL : Math.min(interval * 2, MAX_LOOKUP_RETRY_INTERVAL);
+            this.nextLookup = System.nanoTime() + interval;
+            this.lookupRetryInterval = interval;
+        }
+        return registry;
+    }
+
+    private TransactionSynchronizationRegistry lookupRegistry() {
+        if (transactionServices instanceof TransactionSynchronizationRegistry) {
+            return (TransactionSynchronizationRegistry) transactionServices;
+        }
+        try {
+            Object registry = new InitialContext().lookup(TRANSACTION_SYNCHRONIZATION_REGISTRY_JNDI_NAME);
+            if (registry instanceof TransactionSynchronizationRegistry) {
+                return (TransactionSynchronizationRegistry) registry;
+            }
+        } catch (NamingException | RuntimeException e) {
+            // Not available - fall back to a synchronization per event
+            EventLogger.LOG.catchingDebug(e);
+        }
+        return null;
+    }
 }
@@ -3,6 +3,9 @@ package org.jboss.weld.module.web.context.beanstore.http;
 import static java.util.Collections.emptyIterator;
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 
 import jakarta.servlet.http.HttpSession;
@@ -12,6 +15,7 @@ import org.jboss.weld.config.ConfigurationKey;
 import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.context.api.ContextualInstance;
 import org.jboss.weld.contexts.beanstore.AttributeBeanStore;
+import org.jboss.weld.contexts.beanstore.AttributeNameIndex;
 import org.jboss.weld.contexts.beanstore.LockStore;
 import org.jboss.weld.contexts.beanstore.NamingScheme;
 import org.jboss.weld.logging.ContextLogger;
@@ -31,6 +35,8 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
 
     private static final String SESSION_KEY = "org.jboss.weld.context.beanstore.http.LockStore";
 
+    private static final String SESSION_MUTEX_KEY = AbstractSessionBeanStore.class.getName() + ".mutex";
+
     private transient volatile LockStore lockStore;
 
     private static final ThreadLocal<LockStore> CURRENT_LOCK_STORE = new ThreadLocal<LockStore>();
@@ -63,6 +69,7 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
         HttpSession session = getSession(false);
         if (session != null) {
             session.removeAttribute(key);
+            removeFromAttributeNameIndex(session, key);
             ContextLogger.LOG.removedKeyFromSession(key, this.getSession(false).getId());
         } else {
             ContextLogger.LOG.unableToRemoveKeyFromSession(key);
@@ -74,6 +81,7 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
         HttpSession session = getSession(true);
         if (session != null) {
             session.setAttribute(key, instance);
+            addToAttributeNameIndex(session, key);
             ContextLogger.LOG.addedKeyToSession(key, this.getSession(false).getId());
         } else {
             ContextLogger.LOG.unableToAddKeyToSession(key);
@@ -102,6 +110,70 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
         return null;
     }
 
+    @Override
+    protected AttributeNameIndex getAttributeNameIndex() {
+        HttpSession session = getSession(false);
+        if (session == null) {
+            return null;
+        }
+        return getAttributeNameIndex(session, false);
+    }
+
+    private AttributeNameIndex getAttributeNameIndex(HttpSession session, boolean create) {
+        String indexName = getNamingScheme().getIndexAttributeName();
+        AttributeNameIndex index = (AttributeNameIndex) session.getAttribute(indexName);
+        if (index == null) {
+            Collection<String> names;
+            if (session.getAttribute(SESSION_MUTEX_KEY) != null) {
+                // The session was created by this version and so all the attributes are indexed - no instance was stored yet
+                if (!create) {
+                    // Do not touch the session unless there is something to index
+                    return new AttributeNameIndex();
+                }
+                names = Collections.emptyList();
+            } else {
+                // The session was created by a version without the index - the index is persisted even if empty so that the attribute names are only
+                // enumerated once per session
+                names = getNamingScheme().filterIds(new EnumerationIterator<String>(session.getAttributeNames()));
+            }
+            synchronized (getSessionMutex(session)) {
+                index = (AttributeNameIndex) session.getAttribute(indexName);
+                if (index == null) {
+                    index = new AttributeNameIndex(names);
+                    session.setAttribute(indexName, index);
+                }
+            }
+        } else if (!index.isVerified()) {
+            // The session was passivated or replicated - the container might have dropped some of the attributes
+            if (index.retainAll(name -> session.getAttribute(name) != null)) {
+                session.setAttribute(indexName, index);
+            }
+        }
+        return index;
+    }
+
+    private void addToAttributeNameIndex(HttpSession session, String key) {
+        AttributeNameIndex index = getAttributeNameIndex(session, true);
+        if (index.add(key)) {
+            // Set the attribute again so that the modification is replicated
+            session.setAttribute(getNamingScheme().getIndexAttributeName(), index);
+        }
+    }
+
+    private void removeFromAttributeNameIndex(HttpSession session, String key) {
+        String indexName = getNamingScheme().getIndexAttributeName();
+        AttributeNameIndex index = (AttributeNameIndex) session.getAttribute(indexName);
+        if (index != null && index.remove(key)) {
+            if (index.isEmpty() && session.getAttribute(SESSION_MUTEX_KEY) != null) {
+                // Do not leave empty indexes behind, e.g. for destroyed conversations - a session created by an older version keeps the index so that
+                // it is not scanned again
+                session.removeAttribute(indexName);
+            } else {
+                session.setAttribute(indexName, index);
+            }
+        }
+    }
+
     @Override
     protected LockStore getLockStore() {
         LockStore lockStore = this.lockStore;
@@ -124,11 +196,8 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
             }
             lockStore = (LockStore) session.getAttribute(SESSION_KEY);
             if (lockStore == null) {
-                //we don't really have anything we can lock on
-                //so we just acquire a big global lock
-                //this should only be taken on session creation though
-                //so should not be a problem
-                synchronized (AbstractSessionBeanStore.class) {
+                //this should only be taken on session creation
+                synchronized (getSessionMutex(session)) {
                     lockStore = (LockStore) session.getAttribute(SESSION_KEY);
                     if (lockStore == null) {
                         lockStore = new LockStore();
@@ -141,4 +210,30 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
         return lockStore;
     }
 
+    /**
+     * Registers a mutex for the given session. Should be called when the session is created. The mutex also marks the session as created by a version
+     * which indexes the attribute names, i.e. the attribute names of such a session are never enumerated.
+     *
+     * @param session
+     */
+    public static void initSessionMutex(HttpSession session) {
+        session.setAttribute(SESSION_MUTEX_KEY, new SessionMutex());
+    }
+
+    /**
+     *
+     * @param session
+     * @return the mutex registered for the given session, or the session itself if no mutex is registered
+     */
+    private static Object getSessionMutex(HttpSession session) {
+        Object mutex = session.getAttribute(SESSION_MUTEX_KEY);
+        return mutex != null ? mutex : session;
+    }
+
+    private static final class SessionMutex implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+    }
+
 }
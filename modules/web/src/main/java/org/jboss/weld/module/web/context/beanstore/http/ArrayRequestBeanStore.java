@@ -0,0 +1,168 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.module.web.context.beanstore.http;
+
+import java.util.Iterator;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.contexts.beanstore.ArrayBeanStore;
+import org.jboss.weld.contexts.beanstore.BoundBeanStore;
+import org.jboss.weld.contexts.beanstore.LockedBean;
+import org.jboss.weld.logging.ContextLogger;
+import org.jboss.weld.module.web.servlet.HttpContextLifecycle;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+
+/**
+ * <p>
+ * A BeanStore that keeps all the instances in a single {@link ArrayBeanStore} stored as an attribute of the HTTP request. Unlike {@link RequestBeanStore}
+ * there is no local copy of the instances, no prefixed attribute names are built and clearing the store does not enumerate the request attributes.
+ * </p>
+ * <p>
+ * If the request has been switched to async mode, the bean store associated on another thread finds the same {@link ArrayBeanStore} in the request
+ * attribute.
+ * </p>
+ * <p>
+ * This class is not threadsafe
+ * </p>
+ */
+public class ArrayRequestBeanStore implements BoundBeanStore {
+
+    private final HttpServletRequest request;
+
+    private final String attributeName;
+
+    private ArrayBeanStore beanStore;
+
+    private boolean attached;
+
+    public ArrayRequestBeanStore(HttpServletRequest request, String attributeName) {
+        this.request = request;
+        this.attributeName = attributeName;
+    }
+
+    @Override
+    public boolean attach() {
+        if (!attached) {
+            attached = true;
+            Object existing = isAsyncStarted() ? request.getAttribute(attributeName) : null;
+            if (existing instanceof ArrayBeanStore) {
+                if (beanStore != null && beanStore != existing) {
+                    // The local bean store is authoritative
+                    ArrayBeanStore backing = (ArrayBeanStore) existing;
+                    for (BeanIdentifier id : beanStore) {
+                        backing.put(id, beanStore.get(id));
+                    }
+                }
+                beanStore = (ArrayBeanStore) existing;
+            } else {
+                request.setAttribute(attributeName, getLocalBeanStore());
+            }
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean detach() {
+        if (attached) {
+            attached = false;
+            ContextLogger.LOG.beanStoreDetached(this);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isAttached() {
+        return attached;
+    }
+
+    @Override
+    public <T> ContextualInstance<T> get(BeanIdentifier id) {
+        return beanStore != null ? beanStore.<T> get(id) : null;
+    }
+
+    @Override
+    public boolean contains(BeanIdentifier id) {
+        return beanStore != null && beanStore.contains(id);
+    }
+
+    @Override
+    public <T> void put(BeanIdentifier id, ContextualInstance<T> contextualInstance) {
+        getLocalBeanStore().put(id, contextualInstance);
+        ContextLogger.LOG.contextualInstanceAdded(contextualInstance.getContextual(), id, this);
+    }
+
+    @Override
+    public <T> ContextualInstance<T> remove(BeanIdentifier id) {
+        ContextualInstance<T> instance = beanStore != null ? beanStore.<T> remove(id) : null;
+        if (instance != null) {
+            ContextLogger.LOG.contextualInstanceRemoved(id, this);
+        }
+        return instance;
+    }
+
+    @Override
+    public void clear() {
+        if (beanStore != null) {
+            if (attached) {
+                beanStore.clear();
+            } else {
+                // The instances are kept in the request so that the bean store associated on another thread may pick them up
+                beanStore = null;
+            }
+        }
+        ContextLogger.LOG.contextCleared(this);
+    }
+
+    @Override
+    public Iterator<BeanIdentifier> iterator() {
+        return getLocalBeanStore().iterator();
+    }
+
+    @Override
+    public LockedBean lock(BeanIdentifier id) {
+        // The underlying context is single threaded
+        return null;
+    }
+
+    public HttpServletRequest getRequest() {
+        return request;
+    }
+
+    private boolean isAsyncStarted() {
+        // The instances are not shared unless the request has been switched to async mode
+        return Boolean.TRUE.equals(request.getAttribute(HttpContextLifecycle.ASYNC_STARTED_ATTR_NAME));
+    }
+
+    private ArrayBeanStore getLocalBeanStore() {
+        if (beanStore == null) {
+            beanStore = new ArrayBeanStore();
+        }
+        return beanStore;
+    }
+
+    @Override
+    public String toString() {
+        return "ArrayRequestBeanStore " + (beanStore != null ? beanStore : "holding 0 instances");
+    }
+
+}
@@ -21,10 +21,13 @@ import java.lang.annotation.Annotation;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.servlet.http.HttpServletRequest;
 
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.contexts.AbstractBoundContext;
 import org.jboss.weld.contexts.beanstore.BoundBeanStore;
 import org.jboss.weld.contexts.beanstore.NamingScheme;
 import org.jboss.weld.contexts.beanstore.SimpleNamingScheme;
+import org.jboss.weld.module.web.context.beanstore.http.ArrayRequestBeanStore;
 import org.jboss.weld.module.web.context.beanstore.http.RequestBeanStore;
 import org.jboss.weld.context.http.HttpRequestContext;
 import org.jboss.weld.contexts.cache.RequestScopedCache;
@@ -34,14 +37,19 @@ import org.jboss.weld.util.reflection.Reflections;
 
 public class HttpRequestContextImpl extends AbstractBoundContext<HttpServletRequest> implements HttpRequestContext {
 
+    private static final String BEAN_STORE_ATTRIBUTE_NAME = HttpRequestContext.class.getName() + ".beanStore";
+
     private final NamingScheme namingScheme;
 
+    private final boolean arrayBeanStore;
+
     /**
      * Constructor
      */
     public HttpRequestContextImpl(String contextId) {
         super(contextId, false);
         this.namingScheme = new SimpleNamingScheme(HttpRequestContext.class.getName());
+        this.arrayBeanStore = getServiceRegistry().get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.CONTEXT_REQUEST_ARRAY_BEAN_STORE);
     }
 
     public boolean associate(HttpServletRequest request) {
@@ -54,7 +62,7 @@ public class HttpRequestContextImpl extends AbstractBoundContext<HttpServletRequ
             }
         }
         // We always associate a new bean store to avoid possible leaks (security threats)
-        beanStore = new RequestBeanStore(request, namingScheme);
+        beanStore = arrayBeanStore ? new ArrayRequestBeanStore(request, BEAN_STORE_ATTRIBUTE_NAME) : new RequestBeanStore(request, namingScheme);
         setBeanStore(beanStore);
         beanStore.attach();
         return true;
@@ -83,6 +91,9 @@ public class HttpRequestContextImpl extends AbstractBoundContext<HttpServletRequ
         if (getBeanStore() instanceof RequestBeanStore) {
             return Reflections.<RequestBeanStore>cast(getBeanStore()).getRequest();
         }
+        if (getBeanStore() instanceof ArrayRequestBeanStore) {
+            return Reflections.<ArrayRequestBeanStore>cast(getBeanStore()).getRequest();
+        }
         return null;
     }
 }
@@ -40,10 +40,12 @@ import org.jboss.weld.context.BoundContext;
 import org.jboss.weld.context.ManagedContext;
 import org.jboss.weld.context.http.HttpRequestContext;
 import org.jboss.weld.context.http.HttpSessionContext;
+import org.jboss.weld.contexts.BoundContextSnapshot;
 import org.jboss.weld.contexts.cache.RequestScopedCache;
 import org.jboss.weld.event.EventMetadataImpl;
 import org.jboss.weld.event.FastEvent;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.module.web.context.beanstore.http.AbstractSessionBeanStore;
 import org.jboss.weld.module.web.context.http.HttpRequestContextImpl;
 import org.jboss.weld.module.web.context.http.HttpSessionDestructionContext;
 import org.jboss.weld.module.web.logging.ServletLogger;
@@ -66,6 +68,7 @@ public class HttpContextLifecycle implements Service {
     private static final String INCLUDE_HEADER = "jakarta.servlet.include.request_uri";
     private static final String FORWARD_HEADER = "jakarta.servlet.forward.request_uri";
     private static final String REQUEST_DESTROYED = HttpContextLifecycle.class.getName() + ".request.destroyed";
+    private static final String CONTEXT_SNAPSHOT = HttpContextLifecycle.class.getName() + ".contextSnapshot";
 
     private static final String GUARD_PARAMETER_NAME = "org.jboss.weld.context.ignore.guard.marker";
     private static final Object GUARD_PARAMETER_VALUE = new Object();
@@ -184,6 +187,7 @@ public class HttpContextLifecycle implements Service {
 
     public void sessionCreated(HttpSession session) {
         SessionHolder.sessionCreated(session);
+        AbstractSessionBeanStore.initSessionMutex(session);
         conversationContextActivator.sessionCreated(session);
         sessionInitializedEvent.fire(session);
     }
@@ -259,7 +263,15 @@ public class HttpContextLifecycle implements Service {
 
         SessionHolder.requestInitialized(request);
 
-        getRequestContext().associate(request);
+        Object snapshot = request.getAttribute(CONTEXT_SNAPSHOT);
+        if (snapshot instanceof BoundContextSnapshot) {
+            // The request was dispatched after it had been switched to async mode - bind the original request bean store
+            request.removeAttribute(CONTEXT_SNAPSHOT);
+            ((BoundContextSnapshot) snapshot).bind();
+        } else {
+            getRequestContext().associate(request);
+        }
+        // The session may have been modified, invalidated or replaced by other requests in the meantime
         getSessionContext().associate(request);
         if (conversationActivationEnabled) {
             conversationContextActivator.associateConversationContext(request);
@@ -323,7 +335,8 @@ public class HttpContextLifecycle implements Service {
             /*
              * If this request has been switched to async then do not invalidate the context now as it will be invalidated at the end of the async operation.
              */
-            if (servletApi.isAsyncSupported() && servletApi.isAsyncStarted(request)) {
+            boolean asyncStarted = servletApi.isAsyncSupported() && servletApi.isAsyncStarted(request);
+            if (asyncStarted) {
                 // Note that we can't use isAsyncStarted() because it may return false after dispatch
                 request.setAttribute(ASYNC_STARTED_ATTR_NAME, true);
             } else {
@@ -346,6 +359,10 @@ public class HttpContextLifecycle implements Service {
             if (destroyedHttpSession != null) {
                 sessionDestroyedEvent.fire((HttpSession) destroyedHttpSession);
             }
+            if (asyncStarted) {
+                // Keep the request bean store so that an async dispatch does not need to rebuild it from the request attributes
+                request.setAttribute(CONTEXT_SNAPSHOT, BoundContextSnapshot.captureAndRelease(getRequestContext()));
+            }
         } finally {
             safelyDissociate(getRequestContext(), request);
             // WFLY-1533 Underlying HTTP session may be invalid
@@ -358,6 +375,18 @@ public class HttpContextLifecycle implements Service {
         }
     }
 
+    /**
+     * Captures the HTTP request context associated with the current thread. The returned snapshot can be used to propagate the contexts to a task started via
+     * {@link jakarta.servlet.AsyncContext#start(Runnable)}. The session context is not captured but associated with the given request again when the task is
+     * run.
+     *
+     * @param request the current request
+     * @return the snapshot
+     */
+    public HttpContextSnapshot captureContexts(HttpServletRequest request) {
+        return new HttpContextSnapshot(BoundContextSnapshot.capture(getRequestContext()), getSessionContext(), request, SessionHolder.getSessionIfExists());
+    }
+
     public boolean isConversationActivationSet() {
         return conversationActivationEnabled != null;
     }
@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.module.web.servlet;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+import org.jboss.weld.context.http.HttpSessionContext;
+import org.jboss.weld.contexts.BoundContextSnapshot;
+
+/**
+ * A snapshot of the HTTP request context together with the HTTP session associated with the current request. It can be used to run a task submitted via
+ * {@link AsyncContext#start(Runnable)} with the request context of the original request, without re-reading the request attributes. The session context is
+ * always associated with the request again so that the task sees the current state of the HTTP session.
+ *
+ * @see HttpContextLifecycle#captureContexts(HttpServletRequest)
+ */
+public final class HttpContextSnapshot {
+
+    private final BoundContextSnapshot contexts;
+
+    private final HttpSessionContext sessionContext;
+
+    private final HttpServletRequest request;
+
+    private final HttpSession session;
+
+    HttpContextSnapshot(BoundContextSnapshot contexts, HttpSessionContext sessionContext, HttpServletRequest request, HttpSession session) {
+        this.contexts = contexts;
+        this.sessionContext = sessionContext;
+        this.request = request;
+        this.session = session;
+    }
+
+    /**
+     *
+     * @param task
+     * @return a task which runs the given task with the captured contexts active
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            HttpSession previous = SessionHolder.restore(session);
+            // Do not touch the session context if the task is run on a thread where the context is already active
+            boolean associateSession = !sessionContext.isActive();
+            try (BoundContextSnapshot.Activation activation = contexts.activate()) {
+                if (associateSession) {
+                    sessionContext.associate(request);
+                    sessionContext.activate();
+                }
+                try {
+                    task.run();
+                } finally {
+                    if (associateSession) {
+                        try {
+                            sessionContext.deactivate();
+                        } finally {
+                            sessionContext.dissociate(request);
+                        }
+                    }
+                }
+            } finally {
+                SessionHolder.restore(previous);
+            }
+        };
+    }
+
+}
@@ -64,6 +64,22 @@ public class SessionHolder {
         return session;
     }
 
+    /**
+     * Set the session associated with the current thread, e.g. when contexts captured on another thread are installed.
+     *
+     * @param session the session or null
+     * @return the session previously associated with the current thread
+     */
+    public static HttpSession restore(HttpSession session) {
+        HttpSession previous = CURRENT_SESSION.get();
+        if (session == null) {
+            CURRENT_SESSION.remove();
+        } else {
+            CURRENT_SESSION.set(session);
+        }
+        return previous;
+    }
+
     public static void clear() {
         CURRENT_SESSION.remove();
     }
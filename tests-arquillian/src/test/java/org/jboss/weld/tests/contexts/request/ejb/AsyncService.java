@@ -0,0 +1,43 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.request.ejb;
+
+import java.util.concurrent.Future;
+
+import jakarta.ejb.AsyncResult;
+import jakarta.ejb.Asynchronous;
+import jakarta.ejb.Stateless;
+import jakarta.inject.Inject;
+
+@Stateless
+public class AsyncService {
+
+    @Inject
+    private Tracker tracker;
+
+    /**
+     * No request context is active on the asynchronous invocation thread, the EJB request context is activated for the invocation.
+     *
+     * @param useRequestScopedBean
+     * @return the response of the request scoped bean if used
+     */
+    @Asynchronous
+    public Future<String> run(boolean useRequestScopedBean) {
+        return new AsyncResult<>(useRequestScopedBean ? tracker.ping() : "skipped");
+    }
+
+}
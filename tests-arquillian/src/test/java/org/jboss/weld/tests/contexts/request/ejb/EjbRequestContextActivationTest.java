@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.request.ejb;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.test.util.Utils;
+import org.jboss.weld.tests.category.Integration;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests the request context activated for an EJB invocation if no other request context is active.
+ */
+@RunWith(Arquillian.class)
+@Category(Integration.class)
+public class EjbRequestContextActivationTest {
+
+    @Inject
+    private AsyncService service;
+
+    @Inject
+    private EjbRequestObserver observer;
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(EjbRequestContextActivationTest.class))
+                .addPackage(EjbRequestContextActivationTest.class.getPackage());
+    }
+
+    @Before
+    public void reset() {
+        observer.reset();
+        Tracker.DESTROYED.set(0);
+    }
+
+    @Test
+    public void testInstanceDestroyed() throws Exception {
+        assertEquals("pong", service.run(true).get(10, TimeUnit.SECONDS));
+        assertEquals(1, Tracker.DESTROYED.get());
+        assertEquals("pong", service.run(true).get(10, TimeUnit.SECONDS));
+        assertEquals(2, Tracker.DESTROYED.get());
+    }
+
+    @Test
+    public void testNoInstance() throws Exception {
+        assertEquals("skipped", service.run(false).get(10, TimeUnit.SECONDS));
+        assertEquals(0, Tracker.DESTROYED.get());
+        // A later invocation still gets a new instance
+        assertEquals("pong", service.run(true).get(10, TimeUnit.SECONDS));
+        assertEquals(1, Tracker.DESTROYED.get());
+    }
+
+    @Test
+    public void testEventsFired() throws Exception {
+        service.run(false).get(10, TimeUnit.SECONDS);
+        service.run(true).get(10, TimeUnit.SECONDS);
+        assertEquals(2, observer.getInitialized());
+        assertEquals(2, observer.getBeforeDestroyed());
+        assertEquals(2, observer.getDestroyed());
+    }
+
+}
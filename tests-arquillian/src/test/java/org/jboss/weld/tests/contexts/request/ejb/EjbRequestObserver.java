@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.request.ejb;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.BeforeDestroyed;
+import jakarta.enterprise.context.Destroyed;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.event.Observes;
+
+import org.jboss.weld.event.ContextEvent;
+
+@ApplicationScoped
+public class EjbRequestObserver {
+
+    private final AtomicInteger initialized = new AtomicInteger();
+    private final AtomicInteger beforeDestroyed = new AtomicInteger();
+    private final AtomicInteger destroyed = new AtomicInteger();
+
+    // The HTTP request of the test itself fires the same events with a different payload
+
+    void observeInitialized(@Observes @Initialized(RequestScoped.class) Object payload) {
+        if (payload == ContextEvent.REQUEST_INITIALIZED_EJB) {
+            initialized.incrementAndGet();
+        }
+    }
+
+    void observeBeforeDestroyed(@Observes @BeforeDestroyed(RequestScoped.class) Object payload) {
+        if (payload == ContextEvent.REQUEST_BEFORE_DESTROYED_EJB) {
+            beforeDestroyed.incrementAndGet();
+        }
+    }
+
+    void observeDestroyed(@Observes @Destroyed(RequestScoped.class) Object payload) {
+        if (payload == ContextEvent.REQUEST_DESTROYED_EJB) {
+            destroyed.incrementAndGet();
+        }
+    }
+
+    public int getInitialized() {
+        return initialized.get();
+    }
+
+    public int getBeforeDestroyed() {
+        return beforeDestroyed.get();
+    }
+
+    public int getDestroyed() {
+        return destroyed.get();
+    }
+
+    public void reset() {
+        initialized.set(0);
+        beforeDestroyed.set(0);
+        destroyed.set(0);
+    }
+
+}
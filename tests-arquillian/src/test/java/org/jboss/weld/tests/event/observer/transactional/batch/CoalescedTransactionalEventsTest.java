@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.observer.transactional.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.test.util.Utils;
+import org.jboss.weld.tests.event.observer.transactional.Actions;
+import org.jboss.weld.tests.util.PropertiesBuilder;
+import org.jboss.weld.transaction.spi.TransactionServices;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests {@link ConfigurationKey#TRANSACTIONAL_OBSERVERS_COALESCE_EVENTS}.
+ */
+@RunWith(Arquillian.class)
+public class CoalescedTransactionalEventsTest {
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(WebArchive.class, Utils.getDeploymentNameAsHash(CoalescedTransactionalEventsTest.class, Utils.ARCHIVE_TYPE.WAR))
+                .addAsWebInfResource(EmptyAsset.INSTANCE, "beans.xml")
+                .addClasses(Ping.class, Pong.class, PingObserver.class, TestTransactionServices.class, RegistryTransactionServices.class, Actions.class)
+                .addAsServiceProvider(Service.class, RegistryTransactionServices.class)
+                .addAsResource(PropertiesBuilder.newBuilder().set(ConfigurationKey.TRANSACTIONAL_OBSERVERS_COALESCE_EVENTS.get(), "true").build(),
+                        "weld.properties");
+    }
+
+    @Inject
+    private BeanManagerImpl manager;
+
+    @Inject
+    private Event<Ping> event;
+
+    private TestTransactionServices transaction;
+
+    @Before
+    public void reset() {
+        Actions.clear();
+        transaction = (TestTransactionServices) manager.getServices().get(TransactionServices.class);
+    }
+
+    @Test
+    public void testEqualEventsCoalesced() {
+        transaction.begin();
+        event.fire(new Ping("a"));
+        event.fire(new Ping("b"));
+        event.fire(new Ping("a"));
+        assertEquals(1, transaction.getRegistrations());
+        transaction.commit();
+        assertTrue(Actions.isSequence("before:a", "before:b", "success:a", "later-success:a", "success:b", "later-success:b"));
+    }
+
+    @Test
+    public void testEventsNotCoalescedAcrossTransactions() {
+        transaction.begin();
+        event.fire(new Ping("a"));
+        transaction.commit();
+        transaction.begin();
+        event.fire(new Ping("a"));
+        transaction.commit();
+        assertTrue(Actions.isSequence("before:a", "success:a", "later-success:a", "before:a", "success:a", "later-success:a"));
+    }
+
+}
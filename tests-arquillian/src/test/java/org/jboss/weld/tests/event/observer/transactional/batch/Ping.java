@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.observer.transactional.batch;
+
+public class Ping {
+
+    private final String value;
+
+    private final boolean reentrant;
+
+    public Ping(String value) {
+        this(value, false);
+    }
+
+    public Ping(String value, boolean reentrant) {
+        this.value = value;
+        this.reentrant = reentrant;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     *
+     * @return <code>true</code> if a {@link Pong} should be fired by the before completion observer
+     */
+    public boolean isReentrant() {
+        return reentrant;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Ping)) {
+            return false;
+        }
+        Ping that = (Ping) obj;
+        return value.equals(that.value) && reentrant == that.reentrant;
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.observer.transactional.batch;
+
+import static jakarta.enterprise.event.TransactionPhase.AFTER_FAILURE;
+import static jakarta.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+import static jakarta.enterprise.event.TransactionPhase.BEFORE_COMPLETION;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+
+import org.jboss.weld.tests.event.observer.transactional.Actions;
+
+@ApplicationScoped
+public class PingObserver {
+
+    @Inject
+    private Event<Pong> pongEvent;
+
+    void beforeCompletion(@Observes(during = BEFORE_COMPLETION) Ping ping) {
+        Actions.add("before:" + ping);
+        if (ping.isReentrant()) {
+            pongEvent.fire(new Pong(ping.getValue()));
+        }
+    }
+
+    void afterSuccess(@Observes(during = AFTER_SUCCESS) @Priority(Interceptor.Priority.APPLICATION) Ping ping) {
+        Actions.add("success:" + ping);
+    }
+
+    void afterSuccessLater(@Observes(during = AFTER_SUCCESS) @Priority(Interceptor.Priority.APPLICATION + 100) Ping ping) {
+        Actions.add("later-success:" + ping);
+    }
+
+    void afterFailure(@Observes(during = AFTER_FAILURE) Ping ping) {
+        Actions.add("failure:" + ping);
+    }
+
+    void pongBeforeCompletion(@Observes(during = BEFORE_COMPLETION) Pong pong) {
+        Actions.add("pong-before:" + pong);
+    }
+
+    void pongAfterSuccess(@Observes(during = AFTER_SUCCESS) Pong pong) {
+        Actions.add("pong-success:" + pong);
+    }
+
+}
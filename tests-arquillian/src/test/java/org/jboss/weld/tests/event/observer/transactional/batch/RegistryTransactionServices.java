@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.observer.transactional.batch;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.annotation.Priority;
+import jakarta.interceptor.Interceptor;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Transaction services which also act as the {@link TransactionSynchronizationRegistry}, i.e. the transactional events of a transaction are batched.
+ */
+@Priority(Interceptor.Priority.PLATFORM_AFTER + 500)
+public class RegistryTransactionServices extends TestTransactionServices implements TransactionSynchronizationRegistry {
+
+    private final Map<Object, Object> resources = new HashMap<Object, Object>();
+
+    @Override
+    public void begin() {
+        resources.clear();
+        super.begin();
+    }
+
+    @Override
+    public Object getTransactionKey() {
+        return isTransactionActive() ? this : null;
+    }
+
+    @Override
+    public void putResource(Object key, Object value) {
+        if (!isTransactionActive()) {
+            throw new IllegalStateException("No active transaction");
+        }
+        resources.put(key, value);
+    }
+
+    @Override
+    public Object getResource(Object key) {
+        if (!isTransactionActive()) {
+            throw new IllegalStateException("No active transaction");
+        }
+        return resources.get(key);
+    }
+
+    @Override
+    public void registerInterposedSynchronization(Synchronization sync) {
+        registerSynchronization(sync);
+    }
+
+    @Override
+    public int getTransactionStatus() {
+        return isTransactionActive() ? Status.STATUS_ACTIVE : Status.STATUS_NO_TRANSACTION;
+    }
+
+    @Override
+    public void setRollbackOnly() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean getRollbackOnly() {
+        return false;
+    }
+
+}
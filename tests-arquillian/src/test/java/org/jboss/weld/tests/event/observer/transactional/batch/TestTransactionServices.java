@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.observer.transactional.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.UserTransaction;
+
+import org.jboss.weld.transaction.spi.TransactionServices;
+
+/**
+ * A minimal single-threaded transaction which records the registered synchronizations.
+ */
+public abstract class TestTransactionServices implements TransactionServices {
+
+    private final List<Synchronization> synchronizations = new ArrayList<Synchronization>();
+
+    private boolean active;
+
+    private int registrations;
+
+    public void begin() {
+        synchronizations.clear();
+        registrations = 0;
+        active = true;
+    }
+
+    public void commit() {
+        // Synchronizations registered by a beforeCompletion() callback are processed as well
+        for (int i = 0; i < synchronizations.size(); i++) {
+            synchronizations.get(i).beforeCompletion();
+        }
+        complete(Status.STATUS_COMMITTED);
+    }
+
+    public void rollback() {
+        complete(Status.STATUS_ROLLEDBACK);
+    }
+
+    private void complete(int status) {
+        active = false;
+        for (Synchronization synchronization : new ArrayList<Synchronization>(synchronizations)) {
+            synchronization.afterCompletion(status);
+        }
+        synchronizations.clear();
+    }
+
+    /**
+     *
+     * @return the number of synchronizations registered since the current transaction was started
+     */
+    public int getRegistrations() {
+        return registrations;
+    }
+
+    @Override
+    public void registerSynchronization(Synchronization synchronizedObserver) {
+        if (!active) {
+            throw new IllegalStateException("No active transaction");
+        }
+        synchronizations.add(synchronizedObserver);
+        registrations++;
+    }
+
+    @Override
+    public boolean isTransactionActive() {
+        return active;
+    }
+
+    @Override
+    public UserTransaction getUserTransaction() {
+        return null;
+    }
+
+    @Override
+    public void cleanup() {
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.observer.transactional.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.test.util.Utils;
+import org.jboss.weld.tests.event.observer.transactional.Actions;
+import org.jboss.weld.transaction.spi.TransactionServices;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests that the transactional events of a transaction are delivered by a single synchronization if the transaction synchronization registry is
+ * available.
+ */
+@RunWith(Arquillian.class)
+public class TransactionalEventBatchTest {
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(WebArchive.class, Utils.getDeploymentNameAsHash(TransactionalEventBatchTest.class, Utils.ARCHIVE_TYPE.WAR))
+                .addAsWebInfResource(EmptyAsset.INSTANCE, "beans.xml")
+                .addClasses(Ping.class, Pong.class, PingObserver.class, TestTransactionServices.class, RegistryTransactionServices.class, Actions.class)
+                .addAsServiceProvider(Service.class, RegistryTransactionServices.class);
+    }
+
+    @Inject
+    private BeanManagerImpl manager;
+
+    @Inject
+    private Event<Ping> event;
+
+    private TestTransactionServices transaction;
+
+    @Before
+    public void reset() {
+        Actions.clear();
+        transaction = (TestTransactionServices) manager.getServices().get(TransactionServices.class);
+    }
+
+    @Test
+    public void testSingleSynchronizationPerTransaction() {
+        transaction.begin();
+        event.fire(new Ping("a"));
+        event.fire(new Ping("b"));
+        event.fire(new Ping("a"));
+        assertTrue(Actions.getActions().isEmpty());
+        assertEquals(1, transaction.getRegistrations());
+        transaction.commit();
+        // Events are delivered in the order they were fired, the observers of a phase in the order of their priority
+        assertTrue(Actions.isSequence("before:a", "before:b", "before:a", "success:a", "later-success:a", "success:b", "later-success:b", "success:a",
+                "later-success:a"));
+    }
+
+    @Test
+    public void testEventFiredDuringBeforeCompletion() {
+        transaction.begin();
+        event.fire(new Ping("a", true));
+        event.fire(new Ping("b"));
+        transaction.commit();
+        // The event fired by the before completion observer is processed in the same pass
+        assertEquals(1, transaction.getRegistrations());
+        assertTrue(Actions.isSequence("before:a", "before:b", "pong-before:a", "success:a", "later-success:a", "success:b", "later-success:b",
+                "pong-success:a"));
+    }
+
+    @Test
+    public void testRollback() {
+        transaction.begin();
+        event.fire(new Ping("a"));
+        event.fire(new Ping("b"));
+        transaction.rollback();
+        assertTrue(Actions.isSequence("failure:a", "failure:b"));
+    }
+
+    @Test
+    public void testNewBatchPerTransaction() {
+        transaction.begin();
+        event.fire(new Ping("a"));
+        transaction.commit();
+        Actions.clear();
+        transaction.begin();
+        event.fire(new Ping("b"));
+        assertEquals(1, transaction.getRegistrations());
+        transaction.commit();
+        assertTrue(Actions.isSequence("before:b", "success:b", "later-success:b"));
+    }
+
+    @Test
+    public void testNoTransaction() {
+        int registrations = transaction.getRegistrations();
+        event.fire(new Ping("a"));
+        assertEquals(registrations, transaction.getRegistrations());
+        assertTrue(Actions.contains("before:a", "success:a", "later-success:a", "failure:a"));
+    }
+
+}
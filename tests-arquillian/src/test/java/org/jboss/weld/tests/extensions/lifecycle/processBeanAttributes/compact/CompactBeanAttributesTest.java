@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.extensions.lifecycle.processBeanAttributes.compact;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Iterator;
+import java.util.Set;
+
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.Extension;
+import jakarta.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.test.util.Utils;
+import org.jboss.weld.util.Bindings;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * The attribute sets of beans modified during {@link jakarta.enterprise.inject.spi.ProcessBeanAttributes} are replaced with the shared instances after
+ * bootstrap.
+ */
+@RunWith(Arquillian.class)
+public class CompactBeanAttributesTest {
+
+    @Inject
+    private BeanManager manager;
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(CompactBeanAttributesTest.class))
+                .addPackage(CompactBeanAttributesTest.class.getPackage()).addAsServiceProvider(Extension.class, ModifyingExtension.class);
+    }
+
+    @Test
+    public void testModifiedAttributesShared() {
+        Set<Bean<?>> beans = manager.getBeans(Object.class, Striped.Literal.INSTANCE);
+        assertEquals(2, beans.size());
+        Iterator<Bean<?>> iterator = beans.iterator();
+        Bean<?> first = iterator.next();
+        Bean<?> second = iterator.next();
+        assertNotSame(first.getBeanClass(), second.getBeanClass());
+        // each bean got its own copy of the sets during bootstrap
+        assertSame(first.getTypes(), second.getTypes());
+        assertSame(first.getQualifiers(), second.getQualifiers());
+        assertSame(first.getStereotypes(), second.getStereotypes());
+    }
+
+    @Test
+    public void testDefaultQualifiersShared() {
+        Bean<?> lion = manager.resolve(manager.getBeans(Lion.class));
+        Bean<?> horse = manager.resolve(manager.getBeans(Horse.class));
+        assertSame(Bindings.DEFAULT_QUALIFIERS, lion.getQualifiers());
+        assertSame(Bindings.DEFAULT_QUALIFIERS, horse.getQualifiers());
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.extensions.lifecycle.processBeanAttributes.compact;
+
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.spi.Extension;
+import jakarta.enterprise.inject.spi.ProcessBeanAttributes;
+
+public class ModifyingExtension implements Extension {
+
+    void modifyTiger(@Observes ProcessBeanAttributes<Tiger> event) {
+        event.configureBeanAttributes().types(Object.class).qualifiers(Striped.Literal.INSTANCE);
+    }
+
+    void modifyZebra(@Observes ProcessBeanAttributes<Zebra> event) {
+        event.configureBeanAttributes().types(Object.class).qualifiers(Striped.Literal.INSTANCE);
+    }
+
+    void modifyLion(@Observes ProcessBeanAttributes<Lion> event) {
+        // the qualifiers are equal to the default ones but not the same set
+        event.configureBeanAttributes().types(Object.class, Lion.class);
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.servlet.async.session;
+
+import static org.junit.Assert.assertEquals;
+
+import java.net.URL;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.arquillian.test.api.ArquillianResource;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.jboss.weld.test.util.Utils;
+import org.jboss.weld.tests.category.Integration;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import com.gargoylesoftware.htmlunit.Page;
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.util.Cookie;
+
+/**
+ * Verifies that the session context of an async dispatch reflects the changes made by other requests while the request was in async mode.
+ */
+@RunWith(Arquillian.class)
+@Category(Integration.class)
+public class AsyncDispatchSessionTest {
+
+    @ArquillianResource
+    private URL url;
+
+    @Deployment(testable = false)
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(WebArchive.class, Utils.getDeploymentNameAsHash(AsyncDispatchSessionTest.class, Utils.ARCHIVE_TYPE.WAR))
+                .addClasses(SessionData.class, Latch.class, StartServlet.class, AsyncServlet.class, WriteServlet.class, InvalidateServlet.class,
+                        FinishServlet.class)
+                .addAsWebInfResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Test
+    public void testConcurrentSessionWrite() throws Exception {
+        WebClient client = new WebClient();
+        // create the session but not the session bean
+        client.getPage(url + "/start");
+        WebClient other = copySession(client);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Page> async = executor.submit(() -> client.getPage(url + "/async"));
+            // the session bean is created by a concurrent request while the first one is in async mode
+            other.getPage(url + "/write?value=foo");
+            // the dispatched request must not create a second instance
+            assertEquals("foo", async.get(20, TimeUnit.SECONDS).getWebResponse().getContentAsString());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentSessionInvalidation() throws Exception {
+        WebClient client = new WebClient();
+        client.getPage(url + "/start?value=old");
+        WebClient other = copySession(client);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Page> async = executor.submit(() -> client.getPage(url + "/async"));
+            other.getPage(url + "/invalidate");
+            // the dispatched request must not see the instance from the invalidated session
+            assertEquals("null", async.get(20, TimeUnit.SECONDS).getWebResponse().getContentAsString());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static WebClient copySession(WebClient client) {
+        WebClient other = new WebClient();
+        for (Cookie cookie : client.getCookieManager().getCookies()) {
+            other.getCookieManager().addCookie(cookie);
+        }
+        return other;
+    }
+}
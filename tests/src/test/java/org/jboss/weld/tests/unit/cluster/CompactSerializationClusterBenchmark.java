@@ -0,0 +1,92 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.cluster;
+
+import static org.jboss.weld.tests.unit.cluster.CompactSerializationClusterTest.CLASSES;
+import static org.jboss.weld.tests.unit.cluster.CompactSerializationClusterTest.populateSession;
+
+import java.util.Collection;
+
+import org.jboss.arquillian.container.weld.embedded.mock.TestContainer;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.mock.cluster.AbstractClusterTest;
+import org.testng.annotations.Test;
+
+/**
+ * Compares the size of a serialized session and the time needed to serialize and deserialize it with the default and the
+ * {@link ConfigurationKey#SERIALIZATION_COMPACT_FORMAT compact} format. Not part of the default test run - run with <code>mvn test -Dbenchmark</code>.
+ */
+public class CompactSerializationClusterBenchmark extends AbstractClusterTest {
+
+    private static final int ITERATIONS = 2000;
+
+    private static final int ROUNDS = 5;
+
+    @Test
+    public void testSessionSerializationBenchmark() throws Exception {
+        TestContainer defaultContainer = bootstrapContainer(1, CLASSES, false);
+        TestContainer compactContainer = bootstrapContainer(2, CLASSES, true);
+
+        use(1);
+        populateSession(getBeanManager(defaultContainer));
+        int defaultSize = serialize(defaultContainer.getSessionStore()).length;
+        use(2);
+        populateSession(getBeanManager(compactContainer));
+        int compactSize = serialize(compactContainer.getSessionStore()).length;
+
+        // Warm up
+        use(1);
+        measure(defaultContainer);
+        use(2);
+        measure(compactContainer);
+        for (int i = 0; i < ROUNDS; i++) {
+            use(1);
+            long defaultTime = measure(defaultContainer);
+            use(2);
+            long compactTime = measure(compactContainer);
+            System.out.printf("Session serialization - default format: %d bytes, %d us per round trip; compact format: %d bytes, %d us per round trip%n",
+                    defaultSize, defaultTime / 1000, compactSize, compactTime / 1000);
+        }
+
+        use(1);
+        defaultContainer.stopContainer();
+        use(2);
+        compactContainer.stopContainer();
+    }
+
+    private TestContainer bootstrapContainer(int id, Collection<Class<?>> classes, boolean compact) {
+        System.setProperty(ConfigurationKey.SERIALIZATION_COMPACT_FORMAT.get(), Boolean.toString(compact));
+        try {
+            return bootstrapContainer(id, classes);
+        } finally {
+            System.clearProperty(ConfigurationKey.SERIALIZATION_COMPACT_FORMAT.get());
+        }
+    }
+
+    /**
+     *
+     * @return the average time of a round trip in nanoseconds
+     */
+    private long measure(TestContainer container) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            deserialize(serialize(container.getSessionStore()));
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+import jakarta.enterprise.inject.spi.Bean;
+
+import org.jboss.arquillian.container.weld.embedded.mock.TestContainer;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.contexts.SerializableContextualInstanceImpl;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.mock.cluster.AbstractClusterTest;
+import org.jboss.weld.serialization.CompactSerialForm;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Session replication with {@link ConfigurationKey#SERIALIZATION_COMPACT_FORMAT} enabled.
+ *
+ * @see CompactSerializationClusterBenchmark
+ */
+public class CompactSerializationClusterTest extends AbstractClusterTest {
+
+    static final Collection<Class<?>> CLASSES = Arrays.<Class<?>> asList(Stable.class, Horse.class, Fodder.class, Foo.class);
+
+    @AfterMethod
+    public void reset() {
+        System.clearProperty(ConfigurationKey.SERIALIZATION_COMPACT_FORMAT.get());
+    }
+
+    @Test
+    public void testSessionReplication() throws Exception {
+        TestContainer container1 = bootstrapContainer(1, CLASSES, true);
+        BeanManagerImpl beanManager1 = getBeanManager(container1);
+        TestContainer container2 = bootstrapContainer(2, CLASSES, true);
+        BeanManagerImpl beanManager2 = getBeanManager(container2);
+
+        use(1);
+        Stable stable1 = populateSession(beanManager1);
+        String serialized = new String(serialize(container1.getSessionStore()), StandardCharsets.ISO_8859_1);
+        assert serialized.contains(CompactSerialForm.class.getName());
+        assert !serialized.contains(SerializableContextualInstanceImpl.class.getName());
+
+        replicateSession(1, container1, 2, container2);
+
+        use(2);
+        Stable stable2 = getReference(beanManager2, Stable.class);
+        assert stable2.getFodder().getAmount() == stable1.getFodder().getAmount();
+        assert stable2.getHorse().getName() == null;
+        assert getReference(beanManager2, Foo.class).getName().equals("container 1");
+
+        // And back again
+        stable2.getFodder().setAmount(11);
+        replicateSession(2, container2, 1, container1);
+        use(1);
+        assert stable1.getFodder().getAmount() == 11;
+
+        use(1);
+        container1.stopContainer();
+        use(2);
+        container2.stopContainer();
+    }
+
+    @Test
+    public void testDefaultFormatReadable() throws Exception {
+        TestContainer container1 = bootstrapContainer(1, CLASSES, false);
+        BeanManagerImpl beanManager1 = getBeanManager(container1);
+        TestContainer container2 = bootstrapContainer(2, CLASSES, true);
+        BeanManagerImpl beanManager2 = getBeanManager(container2);
+
+        use(1);
+        populateSession(beanManager1);
+        replicateSession(1, container1, 2, container2);
+
+        use(2);
+        assert getReference(beanManager2, Stable.class).getFodder().getAmount() == 10;
+        assert getReference(beanManager2, Foo.class).getName().equals("container 1");
+
+        use(1);
+        container1.stopContainer();
+        use(2);
+        container2.stopContainer();
+    }
+
+    @Test
+    public void testCompactFormatSmaller() throws Exception {
+        TestContainer defaultContainer = bootstrapContainer(1, CLASSES, false);
+        TestContainer compactContainer = bootstrapContainer(2, CLASSES, true);
+
+        use(1);
+        populateSession(getBeanManager(defaultContainer));
+        byte[] defaultBytes = serialize(defaultContainer.getSessionStore());
+
+        use(2);
+        populateSession(getBeanManager(compactContainer));
+        byte[] compactBytes = serialize(compactContainer.getSessionStore());
+        assert compactBytes.length < defaultBytes.length : "Compact: " + compactBytes.length + ", default: " + defaultBytes.length;
+
+        use(1);
+        defaultContainer.stopContainer();
+        use(2);
+        compactContainer.stopContainer();
+    }
+
+    private TestContainer bootstrapContainer(int id, Collection<Class<?>> classes, boolean compact) {
+        System.setProperty(ConfigurationKey.SERIALIZATION_COMPACT_FORMAT.get(), Boolean.toString(compact));
+        try {
+            return bootstrapContainer(id, classes);
+        } finally {
+            System.clearProperty(ConfigurationKey.SERIALIZATION_COMPACT_FORMAT.get());
+        }
+    }
+
+    static Stable populateSession(BeanManagerImpl beanManager) {
+        // Session scoped beans holding a dependent instance and a client proxy of a normal scoped bean, similar to a typical JSF backing bean
+        Stable stable = getReference(beanManager, Stable.class);
+        stable.getFodder().setAmount(10);
+        stable.getHorse().setName("George");
+        getReference(beanManager, Foo.class).setName("container 1");
+        return stable;
+    }
+
+    static <T> T getReference(BeanManagerImpl beanManager, Class<T> type) {
+        Bean<?> bean = beanManager.resolve(beanManager.getBeans(type));
+        return type.cast(beanManager.getReference(bean, type, beanManager.createCreationalContext(bean)));
+    }
+
+}